@@ -16,6 +16,18 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // API base URL; point at a local FakeStore stand-in with -PfakestoreBaseUrl=http://10.0.2.2:8080/
+        val baseUrl = providers.gradleProperty("fakestoreBaseUrl").getOrElse("https://fakestoreapi.com/")
+        buildConfigField("String", "BASE_URL", "\"$baseUrl\"")
+
+        // Debug builds only: log full HTTP bodies for one in N calls (0 = headers only), e.g. -PhttpBodyLogSampleEvery=20
+        val bodyLogSampleEvery = providers.gradleProperty("httpBodyLogSampleEvery").getOrElse("0")
+        buildConfigField("int", "HTTP_BODY_LOG_SAMPLE_EVERY", bodyLogSampleEvery)
+
+        // Proactive token refresh this many milliseconds before expiry, e.g. -PtokenRefreshMarginMs=20000
+        val tokenRefreshMarginMs = providers.gradleProperty("tokenRefreshMarginMs").getOrElse("10000")
+        buildConfigField("long", "TOKEN_REFRESH_MARGIN_MS", "${tokenRefreshMarginMs}L")
     }
 
     buildTypes {
@@ -34,6 +46,11 @@ android {
     
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+
+    testOptions {
+        unitTests.isReturnDefaultValues = true
     }
 }
 
@@ -68,6 +85,7 @@ dependencies {
     
     // Testing
     testImplementation(libs.junit)
+    testImplementation(libs.okhttp.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -4,12 +4,15 @@ import android.app.Application;
 
 import androidx.appcompat.app.AppCompatDelegate;
 
+import com.mustafa.androidtesttaskjava.core.auth.TokenRefreshScheduler;
 import com.mustafa.androidtesttaskjava.core.di.component.AppComponent;
 import com.mustafa.androidtesttaskjava.core.di.component.DaggerAppComponent;
 import com.mustafa.androidtesttaskjava.core.di.module.AppModule;
+import com.mustafa.androidtesttaskjava.core.di.module.ImageModule;
 import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
 import com.mustafa.androidtesttaskjava.core.di.module.RepositoryModule;
 import com.mustafa.androidtesttaskjava.core.di.module.ViewModelModule;
+import com.mustafa.androidtesttaskjava.core.lifecycle.AppForegroundTracker;
 
 /**
  * Application class to enforce light mode and initialize Dagger.
@@ -28,9 +31,26 @@ public class App extends Application {
         // Initialize Dagger
         appComponent = DaggerAppComponent.builder()
                 .appModule(new AppModule(this))
-                .networkModule(new NetworkModule())
+                .networkModule(new NetworkModule(BuildConfig.BASE_URL, BuildConfig.DEBUG,
+                        BuildConfig.HTTP_BODY_LOG_SAMPLE_EVERY, BuildConfig.TOKEN_REFRESH_MARGIN_MS))
+                .imageModule(new ImageModule())
                 .repositoryModule(new RepositoryModule())
                 .build();
+
+        // Proactive token refresh follows token changes and runs only while the app is in foreground
+        TokenRefreshScheduler refreshScheduler = appComponent.tokenRefreshScheduler();
+        appComponent.authManager().addTokenListener(refreshScheduler);
+        registerActivityLifecycleCallbacks(new AppForegroundTracker(new AppForegroundTracker.Listener() {
+            @Override
+            public void onForeground() {
+                refreshScheduler.onForeground();
+            }
+
+            @Override
+            public void onBackground() {
+                refreshScheduler.onBackground();
+            }
+        }));
     }
 
     public AppComponent getAppComponent() {
@@ -2,17 +2,28 @@ package com.mustafa.androidtesttaskjava.core.auth;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.util.Log;
 
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicBoolean;
+import androidx.annotation.VisibleForTesting;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages authentication tokens, expiration, and refresh coordination.
  * Encapsulates all token-related logic including:
  * - Token storage with timestamp
  * - 60-second expiration check
- * - Concurrency handling for token refresh
+ * - Single-flight token refresh: one shared future per refresh generation
+ * Token state is kept in a volatile in-memory snapshot; SharedPreferences
+ * is only read once at startup and written on saveToken/clearAuth.
  */
 public class AuthManager {
     private static final String TAG = "AuthManager";
@@ -25,34 +36,78 @@ public class AuthManager {
 
     private static AuthManager instance;
     private final SharedPreferences preferences;
-    private final AtomicBoolean isRefreshing = new AtomicBoolean(false);
-    private CountDownLatch refreshLatch;
+    private final long tokenValidityDuration;
+    private final Logger logger;
+    private final AtomicReference<CompletableFuture<TokenSnapshot>> refreshFuture = new AtomicReference<>();
+    private volatile TokenSnapshot tokenSnapshot;
+    private final List<TokenListener> tokenListeners = new CopyOnWriteArrayList<>();
+
+    private AuthManager(Context context, Logger logger) {
+        this(context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE), TOKEN_VALIDITY_DURATION, logger);
+    }
+
+    @VisibleForTesting
+    public AuthManager(SharedPreferences preferences) {
+        this(preferences, TOKEN_VALIDITY_DURATION);
+    }
+
+    @VisibleForTesting
+    public AuthManager(SharedPreferences preferences, long tokenValidityDuration) {
+        this(preferences, tokenValidityDuration, Logger.NONE);
+    }
 
-    private AuthManager(Context context) {
-        preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    @VisibleForTesting
+    public AuthManager(SharedPreferences preferences, long tokenValidityDuration, Logger logger) {
+        this.preferences = preferences;
+        this.tokenValidityDuration = tokenValidityDuration;
+        this.logger = logger;
+        this.tokenSnapshot = TokenSnapshot.create(
+                preferences.getString(KEY_TOKEN, null),
+                preferences.getLong(KEY_TOKEN_SAVED_AT, 0),
+                tokenValidityDuration);
     }
 
-    public static synchronized AuthManager getInstance(Context context) {
+    public static synchronized AuthManager getInstance(Context context, Logger logger) {
         if (instance == null) {
-            instance = new AuthManager(context.getApplicationContext());
+            instance = new AuthManager(context.getApplicationContext(), logger);
         }
         return instance;
     }
 
+    /**
+     * Receives a callback whenever the token is saved or cleared
+     */
+    public interface TokenListener {
+        void onTokenChanged();
+    }
+
+    public void addTokenListener(TokenListener listener) {
+        tokenListeners.add(listener);
+    }
+
+    public void removeTokenListener(TokenListener listener) {
+        tokenListeners.remove(listener);
+    }
+
     /**
      * Save token and timestamp (tokenSavedAt)
+     * Updates the in-memory snapshot first, then writes through to preferences
      */
     public void saveToken(String token) {
         if (token == null || token.isEmpty()) {
-            Log.e(TAG, "Cannot save null or empty token");
+            logger.e(TAG, "Cannot save null or empty token");
             return;
         }
         long currentTime = System.currentTimeMillis();
+        tokenSnapshot = TokenSnapshot.create(token, currentTime, tokenValidityDuration);
         preferences.edit()
                 .putString(KEY_TOKEN, token)
                 .putLong(KEY_TOKEN_SAVED_AT, currentTime)
                 .apply();
-        Log.d(TAG, "Token saved at: " + currentTime);
+        if (logger.isDebugEnabled()) {
+            logger.d(TAG, "Token saved at: " + currentTime);
+        }
+        notifyTokenChanged();
     }
 
     /**
@@ -60,18 +115,15 @@ public class AuthManager {
      * Token is considered expired after 60 seconds from tokenSavedAt
      */
     public String getToken() {
-        String token = preferences.getString(KEY_TOKEN, null);
-        if (token == null) {
-            return null;
-        }
-
-        long savedAt = preferences.getLong(KEY_TOKEN_SAVED_AT, 0);
-        if (isTokenExpired(savedAt)) {
-            Log.d(TAG, "Token expired - elapsed time exceeds 60 seconds");
-            return null;
-        }
+        TokenSnapshot snapshot = tokenSnapshot;
+        return snapshot.isValid() ? snapshot.getToken() : null;
+    }
 
-        return token;
+    /**
+     * Get current token snapshot (may be expired or empty)
+     */
+    public TokenSnapshot getTokenSnapshot() {
+        return tokenSnapshot;
     }
 
     /**
@@ -79,20 +131,19 @@ public class AuthManager {
      * Token expires 60 seconds after tokenSavedAt timestamp
      */
     public boolean isTokenExpired() {
-        long savedAt = preferences.getLong(KEY_TOKEN_SAVED_AT, 0);
-        return isTokenExpired(savedAt);
+        return !tokenSnapshot.isValid();
     }
 
-    private boolean isTokenExpired(long savedAt) {
-        if (savedAt == 0) {
-            return true;
-        }
-        long elapsed = System.currentTimeMillis() - savedAt;
-        boolean expired = elapsed >= TOKEN_VALIDITY_DURATION;
-        if (expired) {
-            Log.d(TAG, "Token expired: " + elapsed + "ms elapsed (limit: " + TOKEN_VALIDITY_DURATION + "ms)");
+    /**
+     * Mark token as expired after the server rejected it.
+     * Ignored if the token has already been replaced by a newer one.
+     */
+    public synchronized void invalidateToken(String token) {
+        TokenSnapshot snapshot = tokenSnapshot;
+        if (token != null && token.equals(snapshot.getToken())) {
+            tokenSnapshot = snapshot.expire();
+            logger.d(TAG, "Token rejected by server, marked as expired");
         }
-        return expired;
     }
 
     /**
@@ -123,13 +174,21 @@ public class AuthManager {
      * Clear all auth data
      */
     public void clearAuth() {
+        tokenSnapshot = TokenSnapshot.EMPTY;
         preferences.edit()
                 .remove(KEY_TOKEN)
                 .remove(KEY_TOKEN_SAVED_AT)
                 .remove(KEY_USERNAME)
                 .remove(KEY_PASSWORD)
                 .apply();
-        Log.d(TAG, "Auth data cleared");
+        logger.d(TAG, "Auth data cleared");
+        notifyTokenChanged();
+    }
+
+    private void notifyTokenChanged() {
+        for (TokenListener listener : tokenListeners) {
+            listener.onTokenChanged();
+        }
     }
 
     /**
@@ -140,54 +199,101 @@ public class AuthManager {
     }
 
     /**
-     * Start refresh process - returns true if this thread should perform refresh
-     * Returns false if another thread is already refreshing
-     * Uses AtomicBoolean.compareAndSet for thread-safe concurrency handling
+     * Refresh the token through a single shared future per refresh generation.
+     * The first caller of a generation runs the refresh on its own thread, concurrent
+     * callers join the same future and wait at most timeoutMillis.
+     * On failure the leader forces logout before the outcome is published, so all
+     * waiters observe the same result at once.
+     *
+     * @return the refreshed token snapshot
+     * @throws TokenRefreshException if refresh failed, timed out or was interrupted
      */
-    public boolean startRefresh() {
-        if (isRefreshing.compareAndSet(false, true)) {
-            refreshLatch = new CountDownLatch(1);
-            Log.d(TAG, "Starting token refresh - this thread will perform refresh");
-            return true;
+    public TokenSnapshot awaitRefresh(TokenRefreshHandler refreshHandler, long timeoutMillis)
+            throws TokenRefreshException {
+        while (true) {
+            CompletableFuture<TokenSnapshot> inFlight = refreshFuture.get();
+            if (inFlight != null) {
+                return join(inFlight, timeoutMillis);
+            }
+            // A generation may have completed between the caller's expiry check and now
+            TokenSnapshot current = tokenSnapshot;
+            if (current.isValid()) {
+                return current;
+            }
+            if (getUsername() == null || getPassword() == null) {
+                throw new TokenRefreshException("Cannot refresh: not logged in");
+            }
+            CompletableFuture<TokenSnapshot> generation = new CompletableFuture<>();
+            if (refreshFuture.compareAndSet(null, generation)) {
+                logger.d(TAG, "Starting token refresh - this thread will perform refresh");
+                runRefresh(generation, refreshHandler, true);
+                return join(generation, timeoutMillis);
+            }
         }
-        Log.d(TAG, "Refresh already in progress - this thread will wait");
-        return false;
     }
 
     /**
-     * Wait for refresh to complete (for concurrent requests)
-     * Uses CountDownLatch to synchronize multiple threads waiting for refresh
+     * Start a refresh generation only if none is in flight (used for proactive refresh).
+     * Failure does not force logout because the current token may still be valid.
+     *
+     * @return true if this call refreshed the token successfully
      */
-    public void waitForRefresh() {
-        if (refreshLatch != null) {
-            try {
-                Log.d(TAG, "Waiting for token refresh to complete");
-                refreshLatch.await();
-                Log.d(TAG, "Token refresh completed, resuming request");
-            } catch (InterruptedException e) {
-                Log.e(TAG, "Interrupted while waiting for refresh", e);
-                Thread.currentThread().interrupt();
+    public boolean refreshIfIdle(TokenRefreshHandler refreshHandler) {
+        CompletableFuture<TokenSnapshot> generation = new CompletableFuture<>();
+        if (!refreshFuture.compareAndSet(null, generation)) {
+            return false;
+        }
+        runRefresh(generation, refreshHandler, false);
+        return !generation.isCompletedExceptionally();
+    }
+
+    private void runRefresh(CompletableFuture<TokenSnapshot> generation,
+                            TokenRefreshHandler refreshHandler,
+                            boolean logoutOnFailure) {
+        boolean success = false;
+        try {
+            success = refreshHandler.refreshToken();
+        } catch (RuntimeException e) {
+            logger.e(TAG, "Unexpected error during token refresh", e);
+        } finally {
+            if (!success && logoutOnFailure) {
+                refreshHandler.onRefreshFailed();
+            }
+            // Unpublish before completing so late callers see the new token state
+            refreshFuture.compareAndSet(generation, null);
+            if (success) {
+                generation.complete(tokenSnapshot);
+                logger.d(TAG, "Token refresh completed - all waiting threads notified");
+            } else {
+                generation.completeExceptionally(new TokenRefreshException(logoutOnFailure
+                        ? "Token refresh failed, user logged out"
+                        : "Token refresh failed"));
             }
         }
     }
 
-    /**
-     * Complete refresh process
-     * Releases all waiting threads via CountDownLatch
-     */
-    public void completeRefresh() {
-        isRefreshing.set(false);
-        if (refreshLatch != null) {
-            refreshLatch.countDown();
-            refreshLatch = null;
+    private TokenSnapshot join(CompletableFuture<TokenSnapshot> generation, long timeoutMillis)
+            throws TokenRefreshException {
+        try {
+            return generation.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TokenRefreshException) {
+                throw (TokenRefreshException) cause;
+            }
+            throw new TokenRefreshException("Token refresh failed", cause);
+        } catch (TimeoutException e) {
+            throw new TokenRefreshException("Timed out waiting for token refresh", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TokenRefreshException("Interrupted while waiting for token refresh", e);
         }
-        Log.d(TAG, "Token refresh completed - all waiting threads notified");
     }
 
     /**
      * Check if refresh is in progress
      */
     public boolean isRefreshing() {
-        return isRefreshing.get();
+        return refreshFuture.get() != null;
     }
 }
@@ -0,0 +1,19 @@
+package com.mustafa.androidtesttaskjava.core.auth;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a token could not be refreshed (failure, timeout or forced logout).
+ * Extends IOException so it can be raised directly from OkHttp interceptors.
+ */
+public class TokenRefreshException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+
+    public TokenRefreshException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,129 @@
+package com.mustafa.androidtesttaskjava.core.auth;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renews the token in the background before it expires.
+ * A refresh is scheduled refreshMarginMillis before the token deadline so
+ * foreground requests never have to wait for the login round trip.
+ * Proactive refreshes are at least minRefreshIntervalMillis apart, so a margin
+ * close to (or above) the token validity cannot turn saveToken into a login loop.
+ * Scheduling is paused while the app is in background and resumed on foreground.
+ * Register with {@link AuthManager#addTokenListener} to follow token changes.
+ */
+public class TokenRefreshScheduler implements AuthManager.TokenListener {
+    private static final String TAG = "TokenRefreshScheduler";
+    private static final long DEFAULT_MIN_REFRESH_INTERVAL_MS = 5 * 1000;
+
+    private final AuthManager authManager;
+    private final TokenRefreshHandler refreshHandler;
+    private final long refreshMarginMillis;
+    private final long minRefreshIntervalMillis;
+    private final ScheduledExecutorService executor;
+    private final Logger logger;
+    private ScheduledFuture<?> pendingRefresh;
+    private boolean foreground;
+    private long lastRefreshAtNanos;
+    private boolean refreshedBefore;
+
+    public TokenRefreshScheduler(AuthManager authManager,
+                                 TokenRefreshHandler refreshHandler,
+                                 long refreshMarginMillis,
+                                 Logger logger) {
+        this(authManager, refreshHandler, refreshMarginMillis, DEFAULT_MIN_REFRESH_INTERVAL_MS, logger);
+    }
+
+    /**
+     * @param refreshMarginMillis      how long before the token deadline to refresh
+     * @param minRefreshIntervalMillis minimum time between two proactive refreshes
+     */
+    public TokenRefreshScheduler(AuthManager authManager,
+                                 TokenRefreshHandler refreshHandler,
+                                 long refreshMarginMillis,
+                                 long minRefreshIntervalMillis,
+                                 Logger logger) {
+        if (refreshMarginMillis < 0) {
+            throw new IllegalArgumentException("refreshMarginMillis must be >= 0");
+        }
+        if (minRefreshIntervalMillis <= 0) {
+            throw new IllegalArgumentException("minRefreshIntervalMillis must be > 0");
+        }
+        this.authManager = authManager;
+        this.logger = logger;
+        this.refreshHandler = refreshHandler;
+        this.refreshMarginMillis = refreshMarginMillis;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * App moved to foreground - schedule refresh for the current token
+     */
+    public synchronized void onForeground() {
+        foreground = true;
+        reschedule();
+    }
+
+    /**
+     * App moved to background - stop proactive refreshes
+     */
+    public synchronized void onBackground() {
+        foreground = false;
+        cancelPending();
+    }
+
+    /**
+     * Called by AuthManager whenever the token is saved or cleared
+     */
+    @Override
+    public synchronized void onTokenChanged() {
+        reschedule();
+    }
+
+    private void reschedule() {
+        cancelPending();
+        if (!foreground) {
+            return;
+        }
+        TokenSnapshot snapshot = authManager.getTokenSnapshot();
+        if (snapshot.getToken() == null) {
+            return;
+        }
+        long delay = Math.max(0, snapshot.getRemainingMillis() - refreshMarginMillis);
+        if (refreshedBefore) {
+            long sinceLastRefresh = (System.nanoTime() - lastRefreshAtNanos) / 1_000_000L;
+            delay = Math.max(delay, minRefreshIntervalMillis - sinceLastRefresh);
+        }
+        pendingRefresh = executor.schedule(this::refreshAhead, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPending() {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+            pendingRefresh = null;
+        }
+    }
+
+    private void refreshAhead() {
+        synchronized (this) {
+            // Recorded before refreshing: the new token reschedules us from inside refreshIfIdle
+            lastRefreshAtNanos = System.nanoTime();
+            refreshedBefore = true;
+        }
+        // Skipped if a refresh is already in flight; its saveToken will reschedule us.
+        // On failure the token may still be valid; the interceptor handles expiry reactively
+        if (!authManager.refreshIfIdle(refreshHandler)) {
+            logger.w(TAG, "Proactive token refresh skipped or failed");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mustafa.androidtesttaskjava.core.auth;
+
+/**
+ * Immutable in-memory view of the current token.
+ * Holds the token, the wall-clock time it was saved (for persistence) and
+ * a monotonic deadline (System.nanoTime based) used for expiration checks,
+ * so validity is not affected by wall-clock changes.
+ */
+public final class TokenSnapshot {
+    static final TokenSnapshot EMPTY = new TokenSnapshot(null, 0L, 0L);
+
+    private final String token;
+    private final long savedAtMillis;
+    private final long expiresAtNanos;
+
+    private TokenSnapshot(String token, long savedAtMillis, long expiresAtNanos) {
+        this.token = token;
+        this.savedAtMillis = savedAtMillis;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Create snapshot for a token saved at savedAtMillis (wall clock).
+     * Remaining validity is mapped onto the monotonic clock.
+     */
+    static TokenSnapshot create(String token, long savedAtMillis, long validityMillis) {
+        if (token == null || savedAtMillis == 0) {
+            return EMPTY;
+        }
+        long remainingMillis = validityMillis - (System.currentTimeMillis() - savedAtMillis);
+        if (remainingMillis <= 0) {
+            return new TokenSnapshot(token, savedAtMillis, System.nanoTime());
+        }
+        long expiresAtNanos = System.nanoTime() + remainingMillis * 1_000_000L;
+        return new TokenSnapshot(token, savedAtMillis, expiresAtNanos);
+    }
+
+    /**
+     * Copy of this snapshot that is already past its deadline
+     */
+    TokenSnapshot expire() {
+        return token == null ? EMPTY : new TokenSnapshot(token, savedAtMillis, System.nanoTime());
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public long getSavedAtMillis() {
+        return savedAtMillis;
+    }
+
+    /**
+     * Check if token exists and has not reached its deadline
+     */
+    public boolean isValid() {
+        return token != null && System.nanoTime() - expiresAtNanos < 0;
+    }
+
+    /**
+     * Remaining validity in milliseconds, 0 if expired or missing
+     */
+    public long getRemainingMillis() {
+        if (token == null) {
+            return 0;
+        }
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        return remainingNanos > 0 ? remainingNanos / 1_000_000L : 0;
+    }
+}
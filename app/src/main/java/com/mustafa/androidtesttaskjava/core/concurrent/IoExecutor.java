@@ -0,0 +1,323 @@
+package com.mustafa.androidtesttaskjava.core.concurrent;
+
+import com.mustafa.androidtesttaskjava.core.network.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * App-wide pool of a fixed number of named I/O threads ("io-1", "io-2", ...).
+ * Queued work runs by Lane (USER_VISIBLE before PREFETCH), then in submission order.
+ * Callers such as ViewModels take a Scope: it runs up to its parallelism of tasks at a
+ * time, starting them in submission order (user-visible first), and Scope.cancel drops
+ * everything it still has queued. A scope with parallelism 1 runs its tasks one at a
+ * time, so per-caller state needs no locking. Idle threads exit after IDLE_TIMEOUT_SECONDS.
+ * Per-lane queue depth and wait time (from execute to start) are kept for metrics.
+ */
+public class IoExecutor implements Executor {
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Priority of queued work; lower ordinals run first
+     */
+    public enum Lane {
+        USER_VISIBLE, PREFETCH
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong sequence = new AtomicLong();
+    private final EnumMap<Lane, LaneMetrics> metrics = new EnumMap<>(Lane.class);
+
+    public IoExecutor(String name, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // Unbounded queue: the pool never grows past threads, only the queue does
+        this.pool = new ThreadPoolExecutor(threads, threads, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), threadFactory);
+        this.pool.allowCoreThreadTimeOut(true);
+        for (Lane lane : Lane.values()) {
+            metrics.put(lane, new LaneMetrics());
+        }
+    }
+
+    /**
+     * Run command on the pool as user-visible work, not tied to any Scope
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(Lane.USER_VISIBLE, command);
+    }
+
+    public void execute(Lane lane, Runnable command) {
+        pool.execute(new Task(null, lane, command));
+    }
+
+    /**
+     * New serial queue of tasks on this pool, cancelled as a unit
+     */
+    public Scope newScope() {
+        return newScope(1);
+    }
+
+    /**
+     * New queue of tasks on this pool running up to parallelism of them at once, cancelled as a unit;
+     * for callers whose tasks are independent of each other and guard their own shared state
+     */
+    public Scope newScope(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        return new Scope(parallelism);
+    }
+
+    /**
+     * Metrics of one lane since the executor was created
+     */
+    public LaneSnapshot snapshot(Lane lane) {
+        return metrics.get(lane).snapshot();
+    }
+
+    /**
+     * Tasks submitted through one caller, run up to parallelism at a time on the shared pool.
+     * At most parallelism tasks of a scope are ever queued in the pool; the rest wait here,
+     * so a busy scope cannot starve other callers of threads.
+     */
+    public final class Scope implements Executor {
+        private final int parallelism;
+        private final EnumMap<Lane, ArrayDeque<Task>> pending = new EnumMap<>(Lane.class);
+        private final List<Task> active = new ArrayList<>();
+        private boolean cancelled;
+
+        private Scope(int parallelism) {
+            this.parallelism = parallelism;
+            for (Lane lane : Lane.values()) {
+                pending.put(lane, new ArrayDeque<>());
+            }
+        }
+
+        /**
+         * Run command as user-visible work, started after the scope's earlier tasks
+         */
+        @Override
+        public void execute(Runnable command) {
+            execute(Lane.USER_VISIBLE, command);
+        }
+
+        /**
+         * Run command, started after the scope's earlier tasks of the same lane; ignored once cancelled
+         */
+        public void execute(Lane lane, Runnable command) {
+            Task task = new Task(this, lane, command);
+            synchronized (this) {
+                if (!cancelled) {
+                    pending.get(lane).add(task);
+                    scheduleNext();
+                    return;
+                }
+            }
+            task.cancel();
+        }
+
+        /**
+         * Executor view that submits to lane, e.g. for a pager's prefetches
+         */
+        public Executor lane(Lane lane) {
+            return command -> execute(lane, command);
+        }
+
+        /**
+         * Drop every queued task and ignore later ones; a running task finishes
+         */
+        public void cancel() {
+            List<Task> dropped = new ArrayList<>();
+            synchronized (this) {
+                cancelled = true;
+                for (ArrayDeque<Task> tasks : pending.values()) {
+                    dropped.addAll(tasks);
+                    tasks.clear();
+                }
+                for (Iterator<Task> queued = active.iterator(); queued.hasNext(); ) {
+                    Task task = queued.next();
+                    if (pool.remove(task)) {
+                        dropped.add(task);
+                        queued.remove();
+                    }
+                }
+            }
+            for (Task task : dropped) {
+                task.cancel();
+            }
+        }
+
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void scheduleNext() {
+            while (active.size() < parallelism && !cancelled) {
+                Task next = pollPending();
+                if (next == null) {
+                    return;
+                }
+                active.add(next);
+                pool.execute(next);
+            }
+        }
+
+        private Task pollPending() {
+            for (Lane lane : Lane.values()) {
+                Task next = pending.get(lane).poll();
+                if (next != null) {
+                    return next;
+                }
+            }
+            return null;
+        }
+
+        private synchronized void onFinished(Task task) {
+            active.remove(task);
+            scheduleNext();
+        }
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+        private final Scope scope;
+        private final Lane lane;
+        private final Runnable command;
+        private final long order = sequence.getAndIncrement();
+        private final long queuedAtNanos = System.nanoTime();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        Task(Scope scope, Lane lane, Runnable command) {
+            this.scope = scope;
+            this.lane = lane;
+            this.command = command;
+            metrics.get(lane).onQueued();
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            metrics.get(lane).onStarted(System.nanoTime() - queuedAtNanos);
+            try {
+                command.run();
+            } finally {
+                metrics.get(lane).onCompleted();
+                if (scope != null) {
+                    scope.onFinished(this);
+                }
+            }
+        }
+
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                metrics.get(lane).onCancelled();
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byLane = lane.compareTo(other.lane);
+            return byLane != 0 ? byLane : Long.compare(order, other.order);
+        }
+    }
+
+    private static class LaneMetrics {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LatencyHistogram wait = new LatencyHistogram();
+
+        void onQueued() {
+            submitted.increment();
+            queued.incrementAndGet();
+        }
+
+        void onStarted(long waitNanos) {
+            queued.decrementAndGet();
+            wait.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void onCompleted() {
+            completed.increment();
+        }
+
+        void onCancelled() {
+            queued.decrementAndGet();
+            cancelled.increment();
+        }
+
+        LaneSnapshot snapshot() {
+            return new LaneSnapshot(queued.get(), submitted.sum(), completed.sum(), cancelled.sum(),
+                    wait.snapshot());
+        }
+    }
+
+    /**
+     * Point-in-time metrics of one lane
+     */
+    public static class LaneSnapshot {
+        private final int queueDepth;
+        private final long submitted;
+        private final long completed;
+        private final long cancelled;
+        private final LatencyHistogram.Snapshot wait;
+
+        LaneSnapshot(int queueDepth, long submitted, long completed, long cancelled,
+                     LatencyHistogram.Snapshot wait) {
+            this.queueDepth = queueDepth;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.cancelled = cancelled;
+            this.wait = wait;
+        }
+
+        /**
+         * Tasks submitted but not yet started or cancelled
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public long getSubmittedCount() {
+            return submitted;
+        }
+
+        public long getCompletedCount() {
+            return completed;
+        }
+
+        /**
+         * Tasks dropped before they started, by Scope.cancel or submitted to a cancelled scope
+         */
+        public long getCancelledCount() {
+            return cancelled;
+        }
+
+        /**
+         * Time from execute to the task starting, including time behind earlier tasks of its scope
+         */
+        public LatencyHistogram.Snapshot getWait() {
+            return wait;
+        }
+    }
+}
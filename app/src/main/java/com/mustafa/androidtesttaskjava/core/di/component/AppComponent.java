@@ -3,11 +3,17 @@ package com.mustafa.androidtesttaskjava.core.di.component;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.auth.TokenRefreshScheduler;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
 import com.mustafa.androidtesttaskjava.core.di.module.AppModule;
+import com.mustafa.androidtesttaskjava.core.di.module.ImageModule;
 import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
 import com.mustafa.androidtesttaskjava.core.di.module.RepositoryModule;
 import com.mustafa.androidtesttaskjava.core.di.module.ViewModelModule;
 import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.image.ImageLoader;
+import com.mustafa.androidtesttaskjava.core.network.HttpCacheMetrics;
+import com.mustafa.androidtesttaskjava.core.network.NetworkMetrics;
 import com.mustafa.androidtesttaskjava.feature.auth.data.repository.AuthRepository;
 import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
 
@@ -17,10 +23,16 @@ import dagger.Component;
  * Dagger component for application-level dependencies.
  */
 @AppScope
-@Component(modules = {AppModule.class, NetworkModule.class, RepositoryModule.class, ViewModelModule.class})
+@Component(modules = {AppModule.class, NetworkModule.class, ImageModule.class, RepositoryModule.class,
+        ViewModelModule.class})
 public interface AppComponent {
     AuthManager authManager();
+    TokenRefreshScheduler tokenRefreshScheduler();
     AuthRepository authRepository();
     ProductRepository productRepository();
+    HttpCacheMetrics httpCacheMetrics();
+    NetworkMetrics networkMetrics();
+    ImageLoader imageLoader();
+    IoExecutor ioExecutor();
     ViewModelProvider.Factory viewModelFactory();
 }
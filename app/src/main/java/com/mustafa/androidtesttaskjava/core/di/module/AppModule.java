@@ -4,7 +4,17 @@ import android.app.Application;
 import android.content.Context;
 
 import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
 import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Named;
 
 import dagger.Module;
 import dagger.Provides;
@@ -14,6 +24,9 @@ import dagger.Provides;
  */
 @Module
 public class AppModule {
+    private static final int IO_THREADS = 4;
+    private static final int IMAGE_THREADS = 3;
+    private static final long IMAGE_IDLE_TIMEOUT_SECONDS = 30;
     private final Application application;
 
     public AppModule(Application application) {
@@ -34,7 +47,35 @@ public class AppModule {
 
     @Provides
     @AppScope
-    AuthManager provideAuthManager(Context context) {
-        return AuthManager.getInstance(context);
+    AuthManager provideAuthManager(Context context, Logger logger) {
+        return AuthManager.getInstance(context, logger);
+    }
+
+    /**
+     * Shared by all ViewModels, each through its own IoExecutor.Scope
+     */
+    @Provides
+    @AppScope
+    IoExecutor provideIoExecutor() {
+        return new IoExecutor("io", IO_THREADS);
+    }
+
+    /**
+     * Image downloads and decodes on their own named threads ("image-1", ...), so a screen
+     * of thumbnails never queues page loads behind it; idle threads exit like the io pool's
+     */
+    @Provides
+    @AppScope
+    @Named("image")
+    ExecutorService provideImageExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(IMAGE_THREADS, IMAGE_THREADS,
+                IMAGE_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "image-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 }
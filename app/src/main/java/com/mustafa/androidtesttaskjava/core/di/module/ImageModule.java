@@ -0,0 +1,46 @@
+package com.mustafa.androidtesttaskjava.core.di.module;
+
+import android.content.Context;
+
+import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.image.ImageDiskCache;
+import com.mustafa.androidtesttaskjava.core.image.ImageFetcher;
+import com.mustafa.androidtesttaskjava.core.image.ImageLoader;
+import com.mustafa.androidtesttaskjava.core.network.NetworkEventListener;
+import com.mustafa.androidtesttaskjava.core.network.NetworkMetrics;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
+import javax.inject.Named;
+
+import dagger.Module;
+import dagger.Provides;
+import okhttp3.OkHttpClient;
+
+/**
+ * Dagger module for product image loading.
+ * Images load through the shared root OkHttpClient, with their own disk and memory caches.
+ */
+@Module
+public class ImageModule {
+    private static final String IMAGE_CACHE_DIR = "image_cache";
+    private static final long IMAGE_CACHE_SIZE_BYTES = 50L * 1024 * 1024;
+    private static final String IMAGE_ENDPOINT = "image";
+
+    @Provides
+    @AppScope
+    ImageLoader provideImageLoader(Context context, OkHttpClient rootClient, NetworkMetrics networkMetrics,
+                                   @Named("image") ExecutorService imageExecutor) {
+        // Images need no auth and are cached by ImageDiskCache, not the HTTP cache.
+        // Every image URL is distinct, so all of them are timed as one endpoint
+        OkHttpClient imageClient = rootClient.newBuilder()
+                .cache(null)
+                .eventListenerFactory(new NetworkEventListener.Factory(networkMetrics, IMAGE_ENDPOINT))
+                .build();
+        ImageDiskCache diskCache = new ImageDiskCache(
+                new File(context.getCacheDir(), IMAGE_CACHE_DIR), IMAGE_CACHE_SIZE_BYTES);
+        ImageFetcher fetcher = new ImageFetcher(imageClient, diskCache, imageExecutor);
+        return new ImageLoader(fetcher, ImageLoader.defaultMemoryCacheBytes());
+    }
+}
@@ -2,34 +2,200 @@ package com.mustafa.androidtesttaskjava.core.di.module;
 
 import android.content.Context;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.auth.TokenRefreshScheduler;
 import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.logging.AndroidLogger;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.logging.SampledHttpLoggingInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.CachePolicyInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.HttpCacheMetrics;
+import com.mustafa.androidtesttaskjava.core.network.NetworkEventListener;
+import com.mustafa.androidtesttaskjava.core.network.NetworkMetrics;
 import com.mustafa.androidtesttaskjava.core.network.RetrofitClient;
+import com.mustafa.androidtesttaskjava.core.network.StaleWhileRevalidateInterceptor;
 import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
 import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandlerImpl;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequest;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequestTypeAdapter;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginResponse;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginResponseTypeAdapter;
 import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.ProductTypeAdapter;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.RatingTypeAdapter;
 import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
 
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Named;
 
 import dagger.Module;
 import dagger.Provides;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Dagger module for network dependencies.
+ * A single root OkHttpClient owns the connection pool and dispatcher;
+ * every other client is derived from it with newBuilder().
+ * Product responses are kept in a bounded disk cache and revalidated with
+ * conditional requests.
+ * Every call derived from the root client reports per-phase timings to NetworkMetrics.
+ * All Retrofit instances share one Gson with hand-written adapters for the
+ * API models, so parsing does not go through reflection.
+ * The Logger is chosen by build type: release builds drop debug messages and
+ * install no HTTP logging; debug builds log headers and optionally sampled bodies.
  */
 @Module
 public class NetworkModule {
-    private static final String BASE_URL = "https://fakestoreapi.com/";
+    private static final String DEFAULT_BASE_URL = "https://fakestoreapi.com/";
+    private static final long DEFAULT_TOKEN_REFRESH_MARGIN_MS = 10 * 1000; // refresh 10 seconds before expiry
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 32;
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 20;
+    private static final long WRITE_TIMEOUT_SECONDS = 20;
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+    private static final int PRODUCTS_MAX_AGE_SECONDS = 60;
+    private static final int PRODUCTS_STALE_WHILE_REVALIDATE_SECONDS = 10 * 60;
+
+    private final String baseUrl;
+    private final boolean debugLogging;
+    private final int httpBodyLogSampleEvery;
+    private final long tokenRefreshMarginMillis;
+
+    public NetworkModule() {
+        this(DEFAULT_BASE_URL);
+    }
+
+    /**
+     * @param baseUrl API base URL ending with '/', e.g. a local FakeStore stand-in for load tests
+     */
+    public NetworkModule(String baseUrl) {
+        this(baseUrl, false, 0);
+    }
+
+    /**
+     * @param debugLogging           true in debug builds; enables debug messages and HTTP header logging
+     * @param httpBodyLogSampleEvery log full bodies for one in this many calls when debugLogging, 0 for never
+     */
+    public NetworkModule(String baseUrl, boolean debugLogging, int httpBodyLogSampleEvery) {
+        this(baseUrl, debugLogging, httpBodyLogSampleEvery, DEFAULT_TOKEN_REFRESH_MARGIN_MS);
+    }
+
+    /**
+     * @param tokenRefreshMarginMillis refresh the token this long before it expires
+     */
+    public NetworkModule(String baseUrl, boolean debugLogging, int httpBodyLogSampleEvery,
+                         long tokenRefreshMarginMillis) {
+        this.baseUrl = baseUrl;
+        this.debugLogging = debugLogging;
+        this.httpBodyLogSampleEvery = httpBodyLogSampleEvery;
+        this.tokenRefreshMarginMillis = tokenRefreshMarginMillis;
+    }
+
+    @Provides
+    @AppScope
+    Logger provideLogger() {
+        return new AndroidLogger(debugLogging);
+    }
+
+    @Provides
+    @AppScope
+    SampledHttpLoggingInterceptor provideHttpLoggingInterceptor(Logger logger) {
+        return new SampledHttpLoggingInterceptor(logger, httpBodyLogSampleEvery);
+    }
+
+    @Provides
+    @AppScope
+    Cache provideHttpCache(Context context) {
+        return new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES);
+    }
+
+    @Provides
+    @AppScope
+    HttpCacheMetrics provideHttpCacheMetrics() {
+        return new HttpCacheMetrics();
+    }
+
+    @Provides
+    @AppScope
+    NetworkMetrics provideNetworkMetrics() {
+        return new NetworkMetrics();
+    }
+
+    @Provides
+    @AppScope
+    StaleWhileRevalidateInterceptor provideStaleWhileRevalidateInterceptor(HttpCacheMetrics metrics, Logger logger) {
+        return new StaleWhileRevalidateInterceptor(PRODUCTS_STALE_WHILE_REVALIDATE_SECONDS, metrics, logger);
+    }
+
+    @Provides
+    @AppScope
+    OkHttpClient provideRootOkHttpClient(Cache cache, NetworkMetrics networkMetrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .cache(cache)
+                .eventListenerFactory(new NetworkEventListener.Factory(networkMetrics))
+                .addNetworkInterceptor(new CachePolicyInterceptor(
+                        PRODUCTS_MAX_AGE_SECONDS, PRODUCTS_STALE_WHILE_REVALIDATE_SECONDS))
+                .build();
+    }
+
+    @Provides
+    @AppScope
+    Gson provideGson(CategoryDictionary categoryDictionary) {
+        return createGson(categoryDictionary);
+    }
+
+    /**
+     * Gson with the hand-written model adapters, interning categories in a dictionary of its own
+     */
+    public static Gson createGson() {
+        return createGson(new CategoryDictionary());
+    }
+
+    /**
+     * Gson with the hand-written model adapters, shared by all API clients
+     */
+    public static Gson createGson(CategoryDictionary categoryDictionary) {
+        return new GsonBuilder()
+                .registerTypeAdapter(Product.class, new ProductTypeAdapter(categoryDictionary))
+                .registerTypeAdapter(Product.Rating.class, new RatingTypeAdapter())
+                .registerTypeAdapter(LoginRequest.class, new LoginRequestTypeAdapter())
+                .registerTypeAdapter(LoginResponse.class, new LoginResponseTypeAdapter())
+                .create();
+    }
 
     @Provides
     @AppScope
     @Named("temp")
-    Retrofit provideTempRetrofit() {
+    Retrofit provideTempRetrofit(OkHttpClient rootClient, Gson gson) {
+        // Refresh client shares connections and threads with the main client
         return new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addConverterFactory(GsonConverterFactory.create())
+                .baseUrl(baseUrl)
+                .client(rootClient.newBuilder().build())
+                .addConverterFactory(GsonConverterFactory.create(gson))
                 .build();
     }
 
@@ -42,25 +208,48 @@ public class NetworkModule {
 
     @Provides
     @AppScope
-    TokenRefreshHandler provideTokenRefreshHandler(Context context, @Named("temp") AuthApiService tempAuthApiService) {
-        return new TokenRefreshHandlerImpl(context, tempAuthApiService);
+    TokenRefreshHandler provideTokenRefreshHandler(AuthManager authManager,
+                                                   @Named("temp") AuthApiService tempAuthApiService,
+                                                   Logger logger) {
+        return new TokenRefreshHandlerImpl(authManager, tempAuthApiService, logger);
+    }
+
+    @Provides
+    @Named("tokenRefreshMargin")
+    long provideTokenRefreshMarginMillis() {
+        return tokenRefreshMarginMillis;
+    }
+
+    /**
+     * The scheduler only follows token changes once registered with
+     * AuthManager.addTokenListener, which App does next to the foreground tracker
+     */
+    @Provides
+    @AppScope
+    TokenRefreshScheduler provideTokenRefreshScheduler(AuthManager authManager,
+                                                       TokenRefreshHandler tokenRefreshHandler,
+                                                       @Named("tokenRefreshMargin") long refreshMarginMillis,
+                                                       Logger logger) {
+        return new TokenRefreshScheduler(authManager, tokenRefreshHandler, refreshMarginMillis, logger);
     }
 
     @Provides
     @AppScope
-    RetrofitClient provideRetrofitClient(Context context, TokenRefreshHandler tokenRefreshHandler) {
-        return RetrofitClient.getInstance(context, tokenRefreshHandler);
+    RetrofitClient provideRetrofitClient(AuthManager authManager,
+                                         OkHttpClient rootClient,
+                                         Gson gson,
+                                         TokenRefreshHandler tokenRefreshHandler,
+                                         StaleWhileRevalidateInterceptor staleWhileRevalidateInterceptor,
+                                         SampledHttpLoggingInterceptor httpLoggingInterceptor,
+                                         Logger logger) {
+        return RetrofitClient.getInstance(authManager, baseUrl, rootClient, gson, tokenRefreshHandler,
+                staleWhileRevalidateInterceptor, httpLoggingInterceptor, logger);
     }
 
     @Provides
     @AppScope
-    AuthApiService provideAuthApiService(RetrofitClient retrofitClient, TokenRefreshHandler tokenRefreshHandler) {
-        AuthApiService authApiService = retrofitClient.create(AuthApiService.class);
-        // Update TokenRefreshHandler with the real AuthApiService
-        if (tokenRefreshHandler instanceof TokenRefreshHandlerImpl) {
-            ((TokenRefreshHandlerImpl) tokenRefreshHandler).setAuthApiService(authApiService);
-        }
-        return authApiService;
+    AuthApiService provideAuthApiService(RetrofitClient retrofitClient) {
+        return retrofitClient.create(AuthApiService.class);
     }
 
     @Provides
@@ -2,10 +2,22 @@ package com.mustafa.androidtesttaskjava.core.di.module;
 
 import android.content.Context;
 
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
 import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
-import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
 import com.mustafa.androidtesttaskjava.feature.auth.data.repository.AuthRepository;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryFacetIndex;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
 import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.feature.products.data.search.ProductSearchIndex;
+
+import java.io.File;
+import java.util.List;
 
 import dagger.Module;
 import dagger.Provides;
@@ -15,16 +27,63 @@ import dagger.Provides;
  */
 @Module
 public class RepositoryModule {
+    private static final long PRODUCT_CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
+    private static final int PRODUCT_CACHE_MAX_ENTRIES = 64;
+    private static final String PRODUCT_STORE_FILE = "products.bin";
+
+    @Provides
+    @AppScope
+    AuthRepository provideAuthRepository(AuthManager authManager, AuthApiService authApiService, Logger logger) {
+        return new AuthRepository(authManager, authApiService, logger);
+    }
+
+    @Provides
+    @AppScope
+    ProductDiskStore provideProductDiskStore(Context context, CategoryDictionary categoryDictionary, Logger logger) {
+        return new ProductDiskStore(new File(context.getFilesDir(), PRODUCT_STORE_FILE), categoryDictionary, logger);
+    }
+
+    @Provides
+    @AppScope
+    ProductRepository provideProductRepository(ProductApiService productApiService,
+                                               ProductDiskStore productDiskStore,
+                                               CategoryDictionary categoryDictionary,
+                                               Logger logger) {
+        return new ProductRepository(productApiService, productDiskStore, categoryDictionary, PRODUCT_CACHE_TTL_MS,
+                PRODUCT_CACHE_MAX_ENTRIES, logger);
+    }
+
+    @Provides
+    @AppScope
+    ProductSearchIndex provideProductSearchIndex(ProductRepository productRepository, IoExecutor ioExecutor) {
+        // Serial scope, so deliveries are indexed in order, on the lane that never delays page loads
+        ProductSearchIndex index = new ProductSearchIndex(ioExecutor.newScope().lane(IoExecutor.Lane.PREFETCH));
+        productRepository.addProductsListener(index);
+        // Products loaded before the index existed, e.g. by the detail screen
+        List<Product> loaded = productRepository.getLoadedProducts();
+        if (!loaded.isEmpty()) {
+            index.onProductsLoaded(loaded);
+        }
+        return index;
+    }
 
     @Provides
     @AppScope
-    AuthRepository provideAuthRepository(Context context, TokenRefreshHandler tokenRefreshHandler) {
-        return new AuthRepository(context, tokenRefreshHandler);
+    CategoryDictionary provideCategoryDictionary() {
+        // Shared with the Gson and ProductDiskStore, which intern while parsing
+        return new CategoryDictionary();
     }
 
     @Provides
     @AppScope
-    ProductRepository provideProductRepository(Context context, TokenRefreshHandler tokenRefreshHandler) {
-        return new ProductRepository(context, tokenRefreshHandler);
+    CategoryFacetIndex provideCategoryFacetIndex(ProductRepository productRepository,
+                                                 CategoryDictionary categoryDictionary) {
+        CategoryFacetIndex index = new CategoryFacetIndex(categoryDictionary);
+        productRepository.addProductsListener(index);
+        List<Product> loaded = productRepository.getLoadedProducts();
+        if (!loaded.isEmpty()) {
+            index.addAll(loaded);
+        }
+        return index;
     }
 }
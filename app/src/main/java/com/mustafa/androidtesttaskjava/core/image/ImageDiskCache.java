@@ -0,0 +1,138 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of encoded image bytes, one file per URL.
+ * Files are written to a temp file and renamed, so a crash never leaves a partial image.
+ * Least recently used files are deleted once the total size exceeds maxBytes.
+ */
+public class ImageDiskCache {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+    // File name -> size, in access order
+    private Map<String, Long> entries;
+    private long totalBytes;
+
+    public ImageDiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cached bytes for url, null if not cached or unreadable
+     */
+    public synchronized byte[] get(String url) {
+        ensureLoaded();
+        String name = fileName(url);
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            file.setLastModified(System.currentTimeMillis());
+            return bytes;
+        } catch (IOException e) {
+            remove(name);
+            return null;
+        }
+    }
+
+    public synchronized void put(String url, byte[] bytes) throws IOException {
+        ensureLoaded();
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        String name = fileName(url);
+        File temp = new File(directory, name + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(bytes);
+        }
+        File file = new File(directory, name);
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Cannot write " + file);
+        }
+        Long previous = entries.put(name, (long) bytes.length);
+        totalBytes += bytes.length - (previous != null ? previous : 0);
+        trim();
+    }
+
+    public synchronized long size() {
+        ensureLoaded();
+        return totalBytes;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(directory, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void remove(String name) {
+        Long size = entries.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        new File(directory, name).delete();
+    }
+
+    /**
+     * Index existing files oldest first, dropping leftovers of interrupted writes
+     */
+    private void ensureLoaded() {
+        if (entries != null) {
+            return;
+        }
+        entries = new LinkedHashMap<>(64, 0.75f, true);
+        totalBytes = 0;
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                file.delete();
+                continue;
+            }
+            entries.put(file.getName(), file.length());
+            totalBytes += file.length();
+        }
+        trim();
+    }
+
+    private static String fileName(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return name.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+/**
+ * Decode sample size for loading an image no larger than needed for its view.
+ */
+public final class ImageDownsampler {
+
+    private ImageDownsampler() {
+    }
+
+    /**
+     * Largest power of two that keeps both decoded dimensions at least the requested size
+     * (BitmapFactory.Options.inSampleSize); 1 when the request size is unknown
+     */
+    public static int sampleSize(int sourceWidth, int sourceHeight, int requestedWidth, int requestedHeight) {
+        if (requestedWidth <= 0 || requestedHeight <= 0) {
+            return 1;
+        }
+        int sampleSize = 1;
+        while (sourceWidth / (sampleSize * 2) >= requestedWidth
+                && sourceHeight / (sampleSize * 2) >= requestedHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
@@ -0,0 +1,178 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Fetches encoded image bytes from the disk cache or the network on a worker executor.
+ * Concurrent fetches of the same URL share one load; a load whose callers all
+ * cancelled is abandoned and its HTTP call cancelled.
+ * Callbacks run on the worker thread, so callers can decode there.
+ */
+public class ImageFetcher {
+    private final OkHttpClient client;
+    private final ImageDiskCache diskCache;
+    private final ExecutorService executor;
+    private final Map<String, Fetch> inFlight = new HashMap<>();
+    private final AtomicLong networkLoads = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    public ImageFetcher(OkHttpClient client, ImageDiskCache diskCache, ExecutorService executor) {
+        this.client = client;
+        this.diskCache = diskCache;
+        this.executor = executor;
+    }
+
+    /**
+     * Start or join the load of url
+     *
+     * @return handle to stop receiving the result
+     */
+    public Handle fetch(String url, Callback callback) {
+        synchronized (inFlight) {
+            Fetch fetch = inFlight.get(url);
+            if (fetch == null) {
+                fetch = new Fetch(url);
+                inFlight.put(url, fetch);
+                Fetch started = fetch;
+                fetch.future = executor.submit(started::run);
+            } else {
+                deduplicated.incrementAndGet();
+            }
+            fetch.callbacks.add(callback);
+            return new Handle(fetch, callback);
+        }
+    }
+
+    /**
+     * Number of images downloaded
+     */
+    public long getNetworkLoadCount() {
+        return networkLoads.get();
+    }
+
+    /**
+     * Number of images served from the disk cache
+     */
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    /**
+     * Number of fetches that joined a load already in flight
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    private byte[] load(Fetch fetch) throws IOException {
+        byte[] cached = diskCache.get(fetch.url);
+        if (cached != null) {
+            diskHits.incrementAndGet();
+            return cached;
+        }
+        Call call = client.newCall(new Request.Builder().url(fetch.url).build());
+        synchronized (inFlight) {
+            if (fetch.cancelled) {
+                throw new IOException("Canceled");
+            }
+            fetch.call = call;
+        }
+        networkLoads.incrementAndGet();
+        try (Response response = call.execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("Image request failed: " + response.code());
+            }
+            byte[] bytes = body.bytes();
+            diskCache.put(fetch.url, bytes);
+            return bytes;
+        }
+    }
+
+    private class Fetch {
+        final String url;
+        final List<Callback> callbacks = new ArrayList<>(2);
+        Future<?> future;
+        Call call;
+        boolean cancelled;
+
+        Fetch(String url) {
+            this.url = url;
+        }
+
+        void run() {
+            byte[] bytes = null;
+            IOException error = null;
+            try {
+                bytes = load(this);
+            } catch (IOException e) {
+                error = e;
+            }
+            List<Callback> receivers;
+            synchronized (inFlight) {
+                inFlight.remove(url, this);
+                if (cancelled) {
+                    return;
+                }
+                receivers = new ArrayList<>(callbacks);
+                callbacks.clear();
+            }
+            for (Callback callback : receivers) {
+                if (bytes != null) {
+                    callback.onLoaded(bytes);
+                } else {
+                    callback.onFailed(error);
+                }
+            }
+        }
+    }
+
+    public class Handle {
+        private final Fetch fetch;
+        private final Callback callback;
+
+        Handle(Fetch fetch, Callback callback) {
+            this.fetch = fetch;
+            this.callback = callback;
+        }
+
+        /**
+         * Stop delivering to this caller; cancels the load if no other caller is waiting
+         */
+        public void cancel() {
+            Call call = null;
+            synchronized (inFlight) {
+                if (!fetch.callbacks.remove(callback) || !fetch.callbacks.isEmpty() || fetch.cancelled) {
+                    return;
+                }
+                fetch.cancelled = true;
+                inFlight.remove(fetch.url, fetch);
+                fetch.future.cancel(false);
+                call = fetch.call;
+            }
+            if (call != null) {
+                call.cancel();
+            }
+        }
+    }
+
+    public interface Callback {
+        void onLoaded(byte[] bytes);
+
+        void onFailed(IOException error);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Loads product images into ImageViews.
+ * Decoded bitmaps are kept in an LRU memory cache keyed by URL and target size;
+ * misses go through ImageFetcher (disk cache, then the shared OkHttpClient) and are
+ * decoded and downsampled to the target size on the fetch thread.
+ * load/cancel must be called on the main thread; loading a new image into a view
+ * cancels its previous request.
+ */
+public class ImageLoader {
+    private final ImageFetcher fetcher;
+    private final LruCache<String, Bitmap> memoryCache;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Pending request per view, main thread only
+    private final Map<ImageView, Request> requests = new WeakHashMap<>();
+
+    public ImageLoader(ImageFetcher fetcher, int memoryCacheBytes) {
+        this.fetcher = fetcher;
+        this.memoryCache = new LruCache<String, Bitmap>(memoryCacheBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * One eighth of the heap the app may use, the usual share for a bitmap cache
+     */
+    public static int defaultMemoryCacheBytes() {
+        return (int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Show url in view, decoded to about widthPx x heightPx; clears the view while loading
+     */
+    public void load(String url, ImageView view, int widthPx, int heightPx) {
+        cancel(view);
+        if (url == null || url.isEmpty()) {
+            view.setImageDrawable(null);
+            return;
+        }
+        String key = url + '#' + widthPx + 'x' + heightPx;
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        view.setImageDrawable(null);
+
+        Request request = new Request();
+        requests.put(view, request);
+        request.handle = fetcher.fetch(url, new ImageFetcher.Callback() {
+            @Override
+            public void onLoaded(byte[] bytes) {
+                Bitmap bitmap = decode(bytes, widthPx, heightPx);
+                if (bitmap != null) {
+                    memoryCache.put(key, bitmap);
+                }
+                mainHandler.post(() -> {
+                    if (requests.get(view) == request) {
+                        requests.remove(view);
+                        view.setImageBitmap(bitmap);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(IOException error) {
+                mainHandler.post(() -> {
+                    if (requests.get(view) == request) {
+                        requests.remove(view);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Stop loading into view, e.g. when its ViewHolder is recycled
+     */
+    public void cancel(ImageView view) {
+        Request request = requests.remove(view);
+        if (request != null && request.handle != null) {
+            request.handle.cancel();
+        }
+    }
+
+    private static Bitmap decode(byte[] bytes, int widthPx, int heightPx) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        options.inSampleSize = ImageDownsampler.sampleSize(options.outWidth, options.outHeight, widthPx, heightPx);
+        options.inJustDecodeBounds = false;
+        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+    }
+
+    private static class Request {
+        ImageFetcher.Handle handle;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mustafa.androidtesttaskjava.core.lifecycle;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Tracks whether the app has any started activity.
+ * Notifies the listener when the app enters foreground or background.
+ */
+public class AppForegroundTracker implements Application.ActivityLifecycleCallbacks {
+    private final Listener listener;
+    private int startedActivities;
+
+    public AppForegroundTracker(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+        if (startedActivities++ == 0) {
+            listener.onForeground();
+        }
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+        if (startedActivities > 0 && --startedActivities == 0 && !activity.isChangingConfigurations()) {
+            listener.onBackground();
+        }
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+
+    public interface Listener {
+        void onForeground();
+
+        void onBackground();
+    }
+}
@@ -0,0 +1,47 @@
+package com.mustafa.androidtesttaskjava.core.logging;
+
+import android.util.Log;
+
+/**
+ * Logger backed by android.util.Log.
+ * Debug messages are dropped unless debug is enabled; warnings and errors are always logged.
+ */
+public class AndroidLogger implements Logger {
+    private final boolean debug;
+
+    public AndroidLogger(boolean debug) {
+        this.debug = debug;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return debug;
+    }
+
+    @Override
+    public void d(String tag, String message) {
+        if (debug) {
+            Log.d(tag, message);
+        }
+    }
+
+    @Override
+    public void w(String tag, String message) {
+        Log.w(tag, message);
+    }
+
+    @Override
+    public void w(String tag, String message, Throwable throwable) {
+        Log.w(tag, message, throwable);
+    }
+
+    @Override
+    public void e(String tag, String message) {
+        Log.e(tag, message);
+    }
+
+    @Override
+    public void e(String tag, String message, Throwable throwable) {
+        Log.e(tag, message, throwable);
+    }
+}
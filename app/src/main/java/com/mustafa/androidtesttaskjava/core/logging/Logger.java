@@ -0,0 +1,51 @@
+package com.mustafa.androidtesttaskjava.core.logging;
+
+/**
+ * Logging facade for the network, auth and data layers.
+ * Implementations are selected by build type (see NetworkModule).
+ * Debug messages that need string building should be guarded with
+ * isDebugEnabled() so release builds do not pay for the concatenation.
+ */
+public interface Logger {
+    /**
+     * Discards everything; for tests and tools
+     */
+    Logger NONE = new Logger() {
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public void d(String tag, String message) {
+        }
+
+        @Override
+        public void w(String tag, String message) {
+        }
+
+        @Override
+        public void w(String tag, String message, Throwable throwable) {
+        }
+
+        @Override
+        public void e(String tag, String message) {
+        }
+
+        @Override
+        public void e(String tag, String message, Throwable throwable) {
+        }
+    };
+
+    boolean isDebugEnabled();
+
+    void d(String tag, String message);
+
+    void w(String tag, String message);
+
+    void w(String tag, String message, Throwable throwable);
+
+    void e(String tag, String message);
+
+    void e(String tag, String message, Throwable throwable);
+}
@@ -0,0 +1,50 @@
+package com.mustafa.androidtesttaskjava.core.logging;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * HTTP logging for debug builds.
+ * Logs request/response headers, and full bodies for one in bodySampleEvery calls
+ * (0 disables body logging). Body logging buffers the whole response, so sampled
+ * calls lose streaming. Disabled entirely when the Logger has debug off.
+ */
+public class SampledHttpLoggingInterceptor implements Interceptor {
+    private static final String TAG = "OkHttp";
+
+    private final boolean enabled;
+    private final int bodySampleEvery;
+    private final HttpLoggingInterceptor headers;
+    private final HttpLoggingInterceptor bodies;
+    private final AtomicLong callCount = new AtomicLong();
+
+    public SampledHttpLoggingInterceptor(Logger logger, int bodySampleEvery) {
+        this.enabled = logger.isDebugEnabled();
+        this.bodySampleEvery = bodySampleEvery;
+        HttpLoggingInterceptor.Logger sink = message -> logger.d(TAG, message);
+        this.headers = new HttpLoggingInterceptor(sink).setLevel(HttpLoggingInterceptor.Level.HEADERS);
+        this.bodies = new HttpLoggingInterceptor(sink).setLevel(HttpLoggingInterceptor.Level.BODY);
+    }
+
+    /**
+     * False in release builds; the interceptor should then not be installed at all
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!enabled) {
+            return chain.proceed(chain.request());
+        }
+        if (bodySampleEvery > 0 && callCount.incrementAndGet() % bodySampleEvery == 0) {
+            return bodies.intercept(chain);
+        }
+        return headers.intercept(chain);
+    }
+}
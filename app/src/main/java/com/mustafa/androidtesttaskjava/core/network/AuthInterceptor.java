@@ -1,31 +1,40 @@
 package com.mustafa.androidtesttaskjava.core.network;
 
-import android.content.Context;
-import android.util.Log;
-
 import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.auth.TokenRefreshException;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
 
 import java.io.IOException;
 
 import okhttp3.Interceptor;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * OkHttp Interceptor that automatically adds Authorization header with Bearer token.
  * Handles token expiration and refresh flow:
  * - Never sends expired tokens
+ * - Short-circuits requests that cannot be authenticated with a local 401
+ * - Lets only-if-cached requests through untouched, so cache hits never wait for a refresh
  * - Automatically triggers refresh when token expires
- * - Handles concurrency: only one refresh runs, others wait
+ * - Handles concurrency: only one refresh runs, others wait with a bounded timeout
  */
 public class AuthInterceptor implements Interceptor {
     private static final String TAG = "AuthInterceptor";
+    /**
+     * How long a request waits for a token refresh; shared with TokenAuthenticator
+     */
+    static final long REFRESH_TIMEOUT_MS = 15 * 1000;
     private final AuthManager authManager;
     private final TokenRefreshHandler tokenRefreshHandler;
+    private final Logger logger;
 
-    public AuthInterceptor(Context context, TokenRefreshHandler tokenRefreshHandler) {
-        this.authManager = AuthManager.getInstance(context);
+    public AuthInterceptor(AuthManager authManager, TokenRefreshHandler tokenRefreshHandler, Logger logger) {
+        this.authManager = authManager;
         this.tokenRefreshHandler = tokenRefreshHandler;
+        this.logger = logger;
     }
 
     @Override
@@ -35,59 +44,51 @@ public class AuthInterceptor implements Interceptor {
 
         // Skip auth for login endpoint
         if (path.contains("/auth/login")) {
-            Log.d(TAG, "Skipping auth for login endpoint");
+            return chain.proceed(originalRequest);
+        }
+
+        // Cache-only probes (StaleWhileRevalidateInterceptor) never reach the network,
+        // so they must not wait for a token refresh
+        if (originalRequest.cacheControl().onlyIfCached()) {
             return chain.proceed(originalRequest);
         }
 
         // CRITICAL: Check if token is expired BEFORE adding Authorization header
         if (authManager.isTokenExpired()) {
-            Log.d(TAG, "Token expired, attempting refresh before sending request");
-
-            // Handle concurrent requests - ensure only one refresh runs
-            if (authManager.isRefreshing()) {
-                // Another thread is already refreshing, wait for it
-                Log.d(TAG, "Another thread is refreshing, waiting...");
-                authManager.waitForRefresh();
-            } else {
-                // This thread should perform refresh
-                if (authManager.startRefresh()) {
-                    try {
-                        Log.d(TAG, "This thread will perform token refresh");
-                        boolean refreshSuccess = tokenRefreshHandler.refreshToken();
-                        if (!refreshSuccess) {
-                            // Refresh failed, force logout (prevent infinite retry)
-                            Log.e(TAG, "Token refresh failed, forcing logout");
-                            tokenRefreshHandler.onRefreshFailed();
-                            // Return response without Authorization header
-                            return chain.proceed(originalRequest.newBuilder()
-                                    .removeHeader("Authorization")
-                                    .build());
-                        }
-                        Log.d(TAG, "Token refresh succeeded");
-                    } finally {
-                        authManager.completeRefresh();
-                    }
-                } else {
-                    // Race condition: another thread started refresh between check and start
-                    Log.d(TAG, "Another thread started refresh, waiting...");
-                    authManager.waitForRefresh();
-                }
+            // Single-flight refresh: one thread refreshes, others join the same future
+            try {
+                authManager.awaitRefresh(tokenRefreshHandler, REFRESH_TIMEOUT_MS);
+            } catch (TokenRefreshException e) {
+                logger.e(TAG, "Token refresh failed", e);
+                return unauthenticated(originalRequest);
             }
         }
 
-        // Get valid token (after potential refresh)
+        // Get valid token (after potential refresh) - single volatile read, no preferences access
         String token = authManager.getToken();
         if (token != null && !token.isEmpty()) {
             // CRITICAL: Only add Authorization header if token is valid
             Request authenticatedRequest = originalRequest.newBuilder()
                     .header("Authorization", "Bearer " + token)
                     .build();
-            Log.d(TAG, "Adding Authorization header with valid token");
             return chain.proceed(authenticatedRequest);
         }
 
-        // No valid token available, proceed without Authorization header
-        Log.w(TAG, "No valid token available, proceeding without Authorization header");
-        return chain.proceed(originalRequest);
+        // No valid token available - a request without Authorization is guaranteed to fail
+        logger.w(TAG, "No valid token available, short-circuiting request");
+        return unauthenticated(originalRequest);
+    }
+
+    /**
+     * Local 401 response so unauthenticated requests never touch the network
+     */
+    private static Response unauthenticated(Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(401)
+                .message("Unauthenticated")
+                .body(ResponseBody.create("", null))
+                .build();
     }
 }
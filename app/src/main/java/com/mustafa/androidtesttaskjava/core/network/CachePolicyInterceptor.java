@@ -0,0 +1,65 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * OkHttp network interceptor that applies a client-side cache policy to product responses.
+ * Overrides weak server cache headers (missing or zero max-age, no-cache) with
+ * max-age and stale-while-revalidate values so responses are stored and
+ * later revalidated with conditional requests (ETag / Last-Modified).
+ */
+public class CachePolicyInterceptor implements Interceptor {
+    private static final String PRODUCTS_SEGMENT = "products";
+
+    private final int maxAgeSeconds;
+    private final int staleWhileRevalidateSeconds;
+
+    public CachePolicyInterceptor(int maxAgeSeconds, int staleWhileRevalidateSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!isProductRequest(request) || !isCacheable(response)) {
+            return response;
+        }
+
+        CacheControl serverPolicy = response.cacheControl();
+        if (serverPolicy.noStore() || serverPolicy.maxAgeSeconds() > 0 && !serverPolicy.noCache()) {
+            // Server sent an explicit policy, keep it
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAgeSeconds
+                        + ", stale-while-revalidate=" + staleWhileRevalidateSeconds)
+                .build();
+    }
+
+    static boolean isProductRequest(Request request) {
+        if (!"GET".equals(request.method())) {
+            return false;
+        }
+        if (request.tag(Invocation.class) != null) {
+            // Retrofit template is relative to the base URL, e.g. "products/{id}"
+            return NetworkEventListener.endpointTemplate(request).startsWith(PRODUCTS_SEGMENT);
+        }
+        // Outside Retrofit the base URL may add leading segments, e.g. "/api/products"
+        return request.url().pathSegments().contains(PRODUCTS_SEGMENT);
+    }
+
+    private static boolean isCacheable(Response response) {
+        return response.isSuccessful() || response.code() == 304;
+    }
+}
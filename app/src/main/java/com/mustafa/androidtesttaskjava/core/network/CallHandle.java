@@ -0,0 +1,50 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets a caller give up on repository calls, e.g. from a ViewModel's onCleared.
+ * One handle may cover several calls. Cancel listeners run once, on the cancelling
+ * thread; a listener added after cancel runs immediately.
+ */
+public class CallHandle {
+    private final List<Runnable> listeners = new ArrayList<>();
+    private boolean cancelled;
+
+    public void cancel() {
+        List<Runnable> notified;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            notified = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (Runnable listener : notified) {
+            listener.run();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Run listener when the handle is cancelled; remove it with removeOnCancel once the call is done
+     */
+    public void onCancel(Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    public synchronized void removeOnCancel(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
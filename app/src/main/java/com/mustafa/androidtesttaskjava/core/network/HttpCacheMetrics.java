@@ -0,0 +1,85 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the product HTTP cache.
+ * Tracks hits, misses and conditional revalidations, plus an estimate of
+ * response bytes that did not have to be downloaded.
+ */
+public class HttpCacheMetrics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    void recordHit(long bodyBytes, boolean stale) {
+        hits.incrementAndGet();
+        if (stale) {
+            staleHits.incrementAndGet();
+        }
+        addBytesSaved(bodyBytes);
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordRevalidation(boolean unchanged, long bodyBytes) {
+        revalidations.incrementAndGet();
+        if (unchanged) {
+            notModified.incrementAndGet();
+            addBytesSaved(bodyBytes);
+        }
+    }
+
+    private void addBytesSaved(long bodyBytes) {
+        if (bodyBytes > 0) {
+            bytesSaved.addAndGet(bodyBytes);
+        }
+    }
+
+    /**
+     * Responses served from cache without a network round trip (fresh or stale)
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Cache hits served stale while a background revalidation ran
+     */
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    /**
+     * Responses downloaded without any usable cache entry
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Conditional requests sent with If-None-Match / If-Modified-Since
+     */
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    /**
+     * Conditional requests answered with 304 Not Modified
+     */
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    /**
+     * Estimated response body bytes not downloaded thanks to the cache
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+}
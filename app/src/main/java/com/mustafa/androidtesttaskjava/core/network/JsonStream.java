@@ -0,0 +1,65 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Incrementally parsed JSON array response.
+ * Elements are read from the network body on demand in chunks, so the first
+ * items are available before the whole payload has been downloaded and the
+ * raw JSON is never buffered in memory.
+ * Must be closed to release the underlying connection.
+ */
+public class JsonStream<T> implements Closeable {
+    private final ResponseBody body;
+    private final JsonReader reader;
+    private final TypeAdapter<T> adapter;
+    private boolean started;
+    private boolean finished;
+
+    public JsonStream(ResponseBody body, JsonReader reader, TypeAdapter<T> adapter) {
+        this.body = body;
+        this.reader = reader;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Read up to maxItems next elements, blocking until they arrive.
+     * Returns an empty list once the array is exhausted.
+     */
+    public List<T> nextChunk(int maxItems) throws IOException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+        if (!started) {
+            reader.beginArray();
+            started = true;
+        }
+        List<T> chunk = new ArrayList<>(maxItems);
+        while (chunk.size() < maxItems && reader.hasNext()) {
+            chunk.add(adapter.read(reader));
+        }
+        if (chunk.size() < maxItems) {
+            reader.endArray();
+            finished = true;
+        }
+        return chunk;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void close() {
+        body.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter factory for JsonStream&lt;T&gt; return types.
+ * Hands the unbuffered response body to a JsonStream instead of
+ * materializing the whole array. Must be added before the Gson converter.
+ */
+public class JsonStreamConverterFactory extends Converter.Factory {
+    private final Gson gson;
+
+    private JsonStreamConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    public static JsonStreamConverterFactory create(Gson gson) {
+        return new JsonStreamConverterFactory(gson);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (!(type instanceof ParameterizedType)
+                || ((ParameterizedType) type).getRawType() != JsonStream.class) {
+            return null;
+        }
+        Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(elementType));
+        return body -> newStream(body, adapter);
+    }
+
+    private <T> JsonStream<T> newStream(ResponseBody body, TypeAdapter<T> adapter) {
+        return new JsonStream<>(body, gson.newJsonReader(body.charStream()), adapter);
+    }
+}
@@ -0,0 +1,118 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear microsecond buckets
+ * (8 sub-buckets per power of two, i.e. at most 12.5% relative error).
+ * Recording is a few atomic increments and never blocks; snapshots are
+ * taken without stopping writers and may be off by in-flight records.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40; // ~12 days in microseconds
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long duration, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(duration));
+        buckets.incrementAndGet(bucketIndex(micros));
+        sumMicros.add(micros);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    /**
+     * The count is summed from the buckets, so it always matches the percentiles
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        return new Snapshot(counts, total, sumMicros.sum(), maxMicros.get());
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Largest value (inclusive) that falls into the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable point-in-time view of a histogram
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return count == 0 ? 0 : sumMicros / 1000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxMicros / 1000.0;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile (0-100), in milliseconds
+         */
+        public double getPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxMicros) / 1000.0;
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Per-call EventListener that records phase timings into NetworkMetrics.
+ * Timestamps are plain fields: OkHttp delivers the events of one call sequentially.
+ * The endpoint template is taken from the Retrofit method annotation
+ * (e.g. "products/{id}"); calls made outside Retrofit fall back to the URL path
+ * with numeric segments replaced by "{id}" if that matches a template seen on a
+ * Retrofit call, else to OTHER_ENDPOINT, so arbitrary URLs cannot grow NetworkMetrics.
+ * Clients with a single kind of traffic (e.g. images) can record under one fixed endpoint instead.
+ */
+public class NetworkEventListener extends EventListener {
+    /**
+     * Endpoint of calls made outside Retrofit whose path matches no known template
+     */
+    public static final String OTHER_ENDPOINT = "other";
+    private static final ConcurrentHashMap<Method, String> TEMPLATES = new ConcurrentHashMap<>();
+    // Every non-empty template returned by annotatedPath
+    private static final Set<String> KNOWN_TEMPLATES = ConcurrentHashMap.newKeySet();
+
+    private final NetworkMetrics.EndpointMetrics metrics;
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private long requestHeadersStartNanos;
+    private long responseBodyStartNanos;
+    private boolean connectedInCall;
+
+    NetworkEventListener(NetworkMetrics.EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.record(NetworkMetrics.Phase.DNS, System.nanoTime() - dnsStartNanos);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+        connectedInCall = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.record(NetworkMetrics.Phase.TLS, System.nanoTime() - secureConnectStartNanos);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        metrics.record(NetworkMetrics.Phase.CONNECT, System.nanoTime() - connectStartNanos);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                              Protocol protocol, IOException ioe) {
+        metrics.record(NetworkMetrics.Phase.CONNECT, System.nanoTime() - connectStartNanos);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        metrics.recordConnectionAcquired(!connectedInCall);
+        connectedInCall = false;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestHeadersStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (requestHeadersStartNanos != 0) {
+            metrics.record(NetworkMetrics.Phase.TTFB, System.nanoTime() - requestHeadersStartNanos);
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        // Follow-ups (e.g. authenticator replays) measure their own TTFB
+        requestHeadersStartNanos = 0;
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        metrics.record(NetworkMetrics.Phase.RESPONSE_BODY, System.nanoTime() - responseBodyStartNanos);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.recordCall(System.nanoTime() - callStartNanos, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.recordCall(System.nanoTime() - callStartNanos, true);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        metrics.recordCancelled();
+    }
+
+    /**
+     * Endpoint template for a request, e.g. "products/{id}" or "auth/login"
+     */
+    static String endpointTemplate(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            String template = TEMPLATES.computeIfAbsent(invocation.method(), NetworkEventListener::annotatedPath);
+            if (!template.isEmpty()) {
+                KNOWN_TEMPLATES.add(template);
+                return template;
+            }
+        }
+        String fromPath = templateFromPath(request.url());
+        for (String known : KNOWN_TEMPLATES) {
+            // The base URL may add leading segments, e.g. "api/products/{id}"
+            if (fromPath.equals(known) || fromPath.endsWith("/" + known)) {
+                return known;
+            }
+        }
+        return OTHER_ENDPOINT;
+    }
+
+    private static String annotatedPath(Method method) {
+        if (method.isAnnotationPresent(GET.class)) {
+            return method.getAnnotation(GET.class).value();
+        } else if (method.isAnnotationPresent(POST.class)) {
+            return method.getAnnotation(POST.class).value();
+        } else if (method.isAnnotationPresent(PUT.class)) {
+            return method.getAnnotation(PUT.class).value();
+        } else if (method.isAnnotationPresent(DELETE.class)) {
+            return method.getAnnotation(DELETE.class).value();
+        } else if (method.isAnnotationPresent(PATCH.class)) {
+            return method.getAnnotation(PATCH.class).value();
+        }
+        return "";
+    }
+
+    private static String templateFromPath(HttpUrl url) {
+        StringBuilder template = new StringBuilder();
+        for (String segment : url.pathSegments()) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (template.length() > 0) {
+                template.append('/');
+            }
+            template.append(isNumeric(segment) ? "{id}" : segment);
+        }
+        return template.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates one listener per call, resolving the endpoint once at call creation
+     */
+    public static class Factory implements EventListener.Factory {
+        private final NetworkMetrics networkMetrics;
+        private final NetworkMetrics.EndpointMetrics fixedEndpoint;
+
+        public Factory(NetworkMetrics networkMetrics) {
+            this.networkMetrics = networkMetrics;
+            this.fixedEndpoint = null;
+        }
+
+        /**
+         * Record every call under endpoint, whatever its URL
+         */
+        public Factory(NetworkMetrics networkMetrics, String endpoint) {
+            this.networkMetrics = networkMetrics;
+            this.fixedEndpoint = networkMetrics.endpoint(endpoint);
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            return new NetworkEventListener(fixedEndpoint != null
+                    ? fixedEndpoint
+                    : networkMetrics.endpoint(endpointTemplate(call.request())));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint HTTP timing metrics fed by NetworkEventListener.
+ * Endpoints are keyed by their template (e.g. "products/{id}"), each holding one
+ * lock-free histogram per phase plus call and connection reuse counters.
+ * Safe to snapshot at any time, e.g. from a debug screen or a test.
+ */
+public class NetworkMetrics {
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Request phases; CONNECT includes TLS, TTFB runs from writing the request
+     * headers to receiving the response headers, TOTAL is the whole call
+     */
+    public enum Phase {
+        DNS, CONNECT, TLS, TTFB, RESPONSE_BODY, TOTAL
+    }
+
+    EndpointMetrics endpoint(String template) {
+        EndpointMetrics metrics = endpoints.get(template);
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(template, key -> new EndpointMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Snapshot of all endpoints seen so far, sorted by template
+     */
+    public Map<String, EndpointSnapshot> snapshot() {
+        Map<String, EndpointSnapshot> snapshot = new TreeMap<>();
+        for (Map.Entry<String, EndpointMetrics> entry : endpoints.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Snapshot of one endpoint, null if it was never called
+     */
+    public EndpointSnapshot snapshot(String template) {
+        EndpointMetrics metrics = endpoints.get(template);
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    static class EndpointMetrics {
+        private final EnumMap<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder cancellations = new LongAdder();
+        private final LongAdder newConnections = new LongAdder();
+        private final LongAdder reusedConnections = new LongAdder();
+
+        EndpointMetrics() {
+            for (Phase phase : Phase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(Phase phase, long nanos) {
+            histograms.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void recordCall(long totalNanos, boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+            record(Phase.TOTAL, totalNanos);
+        }
+
+        void recordCancelled() {
+            cancellations.increment();
+        }
+
+        void recordConnectionAcquired(boolean reused) {
+            if (reused) {
+                reusedConnections.increment();
+            } else {
+                newConnections.increment();
+            }
+        }
+
+        EndpointSnapshot snapshot() {
+            EnumMap<Phase, LatencyHistogram.Snapshot> phases = new EnumMap<>(Phase.class);
+            for (Map.Entry<Phase, LatencyHistogram> entry : histograms.entrySet()) {
+                phases.put(entry.getKey(), entry.getValue().snapshot());
+            }
+            return new EndpointSnapshot(phases, calls.sum(), failures.sum(), cancellations.sum(),
+                    newConnections.sum(), reusedConnections.sum());
+        }
+    }
+
+    /**
+     * Point-in-time metrics of one endpoint
+     */
+    public static class EndpointSnapshot {
+        private final Map<Phase, LatencyHistogram.Snapshot> phases;
+        private final long callCount;
+        private final long failureCount;
+        private final long cancelledCount;
+        private final long newConnectionCount;
+        private final long reusedConnectionCount;
+
+        EndpointSnapshot(Map<Phase, LatencyHistogram.Snapshot> phases, long callCount, long failureCount,
+                         long cancelledCount, long newConnectionCount, long reusedConnectionCount) {
+            this.phases = phases;
+            this.callCount = callCount;
+            this.failureCount = failureCount;
+            this.cancelledCount = cancelledCount;
+            this.newConnectionCount = newConnectionCount;
+            this.reusedConnectionCount = reusedConnectionCount;
+        }
+
+        public LatencyHistogram.Snapshot getPhase(Phase phase) {
+            return phases.get(phase);
+        }
+
+        /**
+         * Completed calls, including failed ones
+         */
+        public long getCallCount() {
+            return callCount;
+        }
+
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Calls cancelled by the app, e.g. when a screen closed; they also count as failures
+         */
+        public long getCancelledCount() {
+            return cancelledCount;
+        }
+
+        /**
+         * Connections that had to be opened (TCP and TLS handshake) for this endpoint
+         */
+        public long getNewConnectionCount() {
+            return newConnectionCount;
+        }
+
+        /**
+         * Connections taken from the pool without a handshake
+         */
+        public long getReusedConnectionCount() {
+            return reusedConnectionCount;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical requests.
+ * The first caller for a key runs the loader; callers arriving while it is
+ * in flight wait for and share the same result instead of issuing their own call.
+ * Keys must identify endpoint and arguments, and map to a single result type.
+ * A caller may cancel through its CallHandle. A caller that joined a load stops waiting
+ * at once. The caller running the load (the owner) runs the loader on its own thread, so
+ * it only returns when the loader does: at once if it was the last caller, since the load
+ * is then aborted, but only after the full load if other callers still wait for it.
+ * Once every caller of a load has cancelled, the load's shared handle is cancelled so it
+ * can abort its network call.
+ * A load may carry a progress object (e.g. a fan-out of streamed chunks) shared by the
+ * caller running it and every caller joining it.
+ */
+public class RequestCoalescer {
+    private final ConcurrentHashMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong abortedCount = new AtomicLong();
+
+    public <T> T execute(String key, Supplier<T> loader) {
+        // Never cancelled, so the cancelled result is never used
+        return execute(key, new CallHandle(), shared -> loader.get(), () -> null);
+    }
+
+    /**
+     * Run or join the load for key on behalf of caller.
+     * The loader gets the load's shared handle, cancelled when all of its callers cancelled.
+     * A caller that cancels before the result arrives gets cancelled.get() instead; if it
+     * runs the load, only once the loader returned (see the class doc).
+     */
+    public <T> T execute(String key, CallHandle caller, Function<CallHandle, T> loader, Supplier<T> cancelled) {
+        return execute(key, caller, () -> null, progress -> { }, (shared, progress) -> loader.apply(shared),
+                cancelled);
+    }
+
+    /**
+     * Same as execute(key, caller, loader, cancelled) for loads that report progress.
+     * newProgress creates the progress object of a new load; onJoin gets the progress of the
+     * load this caller runs or joins, before the loader starts or the caller starts waiting.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, P> T execute(String key, CallHandle caller, Supplier<P> newProgress, Consumer<P> onJoin,
+                            BiFunction<CallHandle, P, T> loader, Supplier<T> cancelled) {
+        if (caller.isCancelled()) {
+            cancelledCount.incrementAndGet();
+            return cancelled.get();
+        }
+        InFlight<T> created = new InFlight<>(newProgress.get());
+        created.subscribe();
+        while (true) {
+            InFlight<T> existing = (InFlight<T>) inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                break;
+            }
+            if (existing.subscribe()) {
+                coalescedCount.incrementAndGet();
+                onJoin.accept((P) existing.progress);
+                return await(existing, caller, cancelled);
+            }
+            // Every caller of that load cancelled; it is aborting, so start a new one
+            inFlight.remove(key, existing);
+        }
+
+        executedCount.incrementAndGet();
+        P progress = (P) created.progress;
+        onJoin.accept(progress);
+        Runnable onCancel = () -> created.unsubscribe(true);
+        caller.onCancel(onCancel);
+        try {
+            T result = loader.apply(created.shared, progress);
+            created.result.complete(result);
+            if (created.isOwnerCancelled()) {
+                cancelledCount.incrementAndGet();
+                return cancelled.get();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            created.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            caller.removeOnCancel(onCancel);
+            inFlight.remove(key, created);
+        }
+    }
+
+    private <T> T await(InFlight<T> load, CallHandle caller, Supplier<T> cancelled) {
+        CompletableFuture<T> view = new CompletableFuture<>();
+        load.result.whenComplete((result, error) -> {
+            if (error != null) {
+                view.completeExceptionally(error);
+            } else {
+                view.complete(result);
+            }
+        });
+        Runnable onCancel = () -> {
+            if (view.cancel(false)) {
+                load.unsubscribe(false);
+            }
+        };
+        caller.onCancel(onCancel);
+        try {
+            return join(view);
+        } catch (CancellationException e) {
+            cancelledCount.incrementAndGet();
+            return cancelled.get();
+        } finally {
+            caller.removeOnCancel(onCancel);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Number of loads that actually ran
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * Number of callers that shared an in-flight load instead of running their own
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Number of callers that cancelled before their result arrived
+     */
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    /**
+     * Number of loads whose shared handle was cancelled because all of their callers cancelled
+     */
+    public long getAbortedCount() {
+        return abortedCount.get();
+    }
+
+    private class InFlight<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CallHandle shared = new CallHandle();
+        final Object progress;
+        private int subscribers;
+        private boolean ownerCancelled;
+        private boolean aborting;
+
+        InFlight(Object progress) {
+            this.progress = progress;
+        }
+
+        /**
+         * Join the load; false if it is already aborting
+         */
+        synchronized boolean subscribe() {
+            if (aborting) {
+                return false;
+            }
+            subscribers++;
+            return true;
+        }
+
+        /**
+         * A caller gave up; abort the load if it was the last one and the load is still running
+         */
+        void unsubscribe(boolean owner) {
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                ownerCancelled |= owner;
+                if (--subscribers > 0) {
+                    return;
+                }
+                aborting = true;
+            }
+            abortedCount.incrementAndGet();
+            shared.cancel();
+        }
+
+        /**
+         * True if the caller running the load cancelled before it finished
+         */
+        synchronized boolean isOwnerCancelled() {
+            return ownerCancelled;
+        }
+    }
+}
@@ -1,53 +1,74 @@
 package com.mustafa.androidtesttaskjava.core.network;
 
-import android.content.Context;
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.logging.SampledHttpLoggingInterceptor;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Retrofit client factory with authentication interceptor.
  * Ensures all requests go through AuthInterceptor for token handling.
+ * The OkHttpClient is derived from the shared root client, so it reuses
+ * its connection pool, dispatcher and TLS sessions.
+ * Uses the shared Gson instance for both the streaming and regular converters.
+ * HTTP logging is only installed in debug builds (see SampledHttpLoggingInterceptor).
  */
 public class RetrofitClient {
-    private static final String BASE_URL = "https://fakestoreapi.com/";
     private static RetrofitClient instance;
     private final Retrofit retrofit;
     private final OkHttpClient okHttpClient;
-    private TokenRefreshHandler refreshHandler;
-
-    private RetrofitClient(Context context, TokenRefreshHandler handler) {
-        this.refreshHandler = handler;
-        
-        // Logging interceptor
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
 
+    private RetrofitClient(AuthManager authManager,
+                           String baseUrl,
+                           OkHttpClient rootClient,
+                           Gson gson,
+                           TokenRefreshHandler handler,
+                           StaleWhileRevalidateInterceptor staleWhileRevalidateInterceptor,
+                           SampledHttpLoggingInterceptor loggingInterceptor,
+                           Logger logger) {
         // Auth interceptor - handles token expiration and refresh
-        AuthInterceptor authInterceptor = new AuthInterceptor(context, refreshHandler);
+        AuthInterceptor authInterceptor = new AuthInterceptor(authManager, handler, logger);
+
+        // Authenticator - recovers from server-side 401 by refreshing and replaying once
+        TokenAuthenticator tokenAuthenticator = new TokenAuthenticator(authManager, handler, logger);
 
-        // OkHttp client with interceptors
-        okHttpClient = new OkHttpClient.Builder()
+        // OkHttp client with interceptors, sharing pool and dispatcher with the root client.
+        // Stale-while-revalidate runs first so cached products are served without waiting
+        // for a token refresh; its network calls still pass through the auth interceptor.
+        OkHttpClient.Builder builder = rootClient.newBuilder()
+                .addInterceptor(staleWhileRevalidateInterceptor)
                 .addInterceptor(authInterceptor)
-                .addInterceptor(loggingInterceptor)
-                .build();
+                .authenticator(tokenAuthenticator);
+        if (loggingInterceptor.isEnabled()) {
+            builder.addInterceptor(loggingInterceptor);
+        }
+        okHttpClient = builder.build();
 
         // Retrofit instance
         retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
+                .baseUrl(baseUrl)
                 .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(JsonStreamConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(gson))
                 .build();
     }
 
-    public static synchronized RetrofitClient getInstance(Context context, TokenRefreshHandler handler) {
+    public static synchronized RetrofitClient getInstance(AuthManager authManager,
+                                                          String baseUrl,
+                                                          OkHttpClient rootClient,
+                                                          Gson gson,
+                                                          TokenRefreshHandler handler,
+                                                          StaleWhileRevalidateInterceptor staleWhileRevalidateInterceptor,
+                                                          SampledHttpLoggingInterceptor loggingInterceptor,
+                                                          Logger logger) {
+        // The interceptor and authenticator capture the handler, so the first one wins
         if (instance == null) {
-            instance = new RetrofitClient(context.getApplicationContext(), handler);
-        } else if (handler != null && instance.refreshHandler != handler) {
-            // Update handler if different
-            instance.refreshHandler = handler;
+            instance = new RetrofitClient(authManager, baseUrl, rootClient, gson, handler,
+                    staleWhileRevalidateInterceptor, loggingInterceptor, logger);
         }
         return instance;
     }
@@ -59,4 +80,8 @@ public class RetrofitClient {
     public Retrofit getRetrofit() {
         return retrofit;
     }
+
+    public OkHttpClient getOkHttpClient() {
+        return okHttpClient;
+    }
 }
@@ -0,0 +1,125 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.CacheControl;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp application interceptor implementing stale-while-revalidate for product requests.
+ * A cached response within the stale window is returned immediately; if it is stale,
+ * a background conditional request refreshes the cache entry.
+ * Also classifies every product response into hit, miss or revalidation in HttpCacheMetrics.
+ */
+public class StaleWhileRevalidateInterceptor implements Interceptor {
+    private static final String TAG = "StaleWhileRevalidate";
+
+    private final int staleWhileRevalidateSeconds;
+    private final HttpCacheMetrics metrics;
+    private final Logger logger;
+    // Urls with a background revalidation in flight, so a stale entry is refreshed once
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    // The cloned calls doing those revalidations; only they skip the cache probe
+    private final Set<Call> revalidationCalls = ConcurrentHashMap.newKeySet();
+
+    public StaleWhileRevalidateInterceptor(int staleWhileRevalidateSeconds, HttpCacheMetrics metrics, Logger logger) {
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+        this.metrics = metrics;
+        this.logger = logger;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!CachePolicyInterceptor.isProductRequest(request)) {
+            return chain.proceed(request);
+        }
+
+        if (!revalidationCalls.contains(chain.call())) {
+            Response cached = chain.proceed(request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale(staleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                            .build())
+                    .build());
+            if (cached.cacheResponse() != null && cached.networkResponse() == null && cached.isSuccessful()) {
+                boolean stale = isStale(cached);
+                metrics.recordHit(contentLength(cached), stale);
+                if (stale) {
+                    revalidateInBackground(chain.call(), request.url().toString());
+                }
+                return cached;
+            }
+            cached.close();
+        }
+
+        Response response = chain.proceed(request);
+        Response networkResponse = response.networkResponse();
+        Response cacheResponse = response.cacheResponse();
+        if (networkResponse != null && cacheResponse != null) {
+            metrics.recordRevalidation(networkResponse.code() == 304, contentLength(cacheResponse));
+        } else if (networkResponse != null) {
+            metrics.recordMiss();
+        } else if (cacheResponse != null) {
+            metrics.recordHit(contentLength(cacheResponse), false);
+        }
+        return response;
+    }
+
+    private void revalidateInBackground(Call call, String url) {
+        if (!revalidating.add(url)) {
+            return;
+        }
+        Call revalidation = call.clone();
+        revalidationCalls.add(revalidation);
+        revalidation.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                finish(call, url);
+                logger.w(TAG, "Background revalidation failed", e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                finish(call, url);
+                response.close();
+            }
+        });
+    }
+
+    private void finish(Call revalidation, String url) {
+        revalidationCalls.remove(revalidation);
+        revalidating.remove(url);
+    }
+
+    private static boolean isStale(Response response) {
+        // OkHttp marks stale cache hits with warning 110
+        for (String warning : response.headers("Warning")) {
+            if (warning.startsWith("110")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long contentLength(Response response) {
+        String length = response.header("Content-Length");
+        if (length == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(length);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.auth.TokenRefreshException;
+import com.mustafa.androidtesttaskjava.core.auth.TokenSnapshot;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * OkHttp Authenticator that recovers from server-side 401 responses.
+ * Refreshes through the same single-flight path as AuthInterceptor
+ * and replays the original request once with the new token.
+ */
+public class TokenAuthenticator implements Authenticator {
+    private static final String TAG = "TokenAuthenticator";
+
+    private final AuthManager authManager;
+    private final TokenRefreshHandler tokenRefreshHandler;
+    private final Logger logger;
+
+    public TokenAuthenticator(AuthManager authManager, TokenRefreshHandler tokenRefreshHandler, Logger logger) {
+        this.authManager = authManager;
+        this.tokenRefreshHandler = tokenRefreshHandler;
+        this.logger = logger;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) {
+        Request failedRequest = response.request();
+
+        // Never retry login itself, and replay at most once
+        if (failedRequest.url().encodedPath().contains("/auth/login") || response.priorResponse() != null) {
+            return null;
+        }
+
+        String failedHeader = failedRequest.header("Authorization");
+        TokenSnapshot current = authManager.getTokenSnapshot();
+        if (current.isValid() && !("Bearer " + current.getToken()).equals(failedHeader)) {
+            // Token was already refreshed by another request since this one was sent
+            return withToken(failedRequest, current.getToken());
+        }
+
+        // Server rejected a token we believed valid - drop it and refresh
+        if (failedHeader != null && failedHeader.startsWith("Bearer ")) {
+            authManager.invalidateToken(failedHeader.substring("Bearer ".length()));
+        }
+        try {
+            TokenSnapshot refreshed = authManager.awaitRefresh(tokenRefreshHandler, AuthInterceptor.REFRESH_TIMEOUT_MS);
+            logger.d(TAG, "Replaying request after 401 with refreshed token");
+            return withToken(failedRequest, refreshed.getToken());
+        } catch (TokenRefreshException e) {
+            logger.e(TAG, "Cannot recover from 401", e);
+            return null;
+        }
+    }
+
+    private static Request withToken(Request request, String token) {
+        return request.newBuilder()
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+}
@@ -1,9 +1,7 @@
 package com.mustafa.androidtesttaskjava.core.network;
 
-import android.content.Context;
-import android.util.Log;
-
 import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
 import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequest;
 import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginResponse;
 import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
@@ -20,15 +18,15 @@ import retrofit2.Response;
  */
 public class TokenRefreshHandlerImpl implements TokenRefreshHandler {
     private static final String TAG = "TokenRefreshHandlerImpl";
-    private final Context context;
     private AuthApiService authApiService;
     private final AuthManager authManager;
+    private final Logger logger;
     private OnRefreshFailedListener onRefreshFailedListener;
 
-    public TokenRefreshHandlerImpl(Context context, AuthApiService authApiService) {
-        this.context = context.getApplicationContext();
+    public TokenRefreshHandlerImpl(AuthManager authManager, AuthApiService authApiService, Logger logger) {
+        this.authManager = authManager;
         this.authApiService = authApiService;
-        this.authManager = AuthManager.getInstance(this.context);
+        this.logger = logger;
     }
 
     public void setAuthApiService(AuthApiService authApiService) {
@@ -45,7 +43,7 @@ public class TokenRefreshHandlerImpl implements TokenRefreshHandler {
         String password = authManager.getPassword();
 
         if (username == null || password == null) {
-            Log.e(TAG, "Cannot refresh: credentials not found");
+            logger.e(TAG, "Cannot refresh: credentials not found");
             return false;
         }
 
@@ -58,24 +56,24 @@ public class TokenRefreshHandlerImpl implements TokenRefreshHandler {
                 String token = response.body().getToken();
                 if (token != null && !token.isEmpty()) {
                     authManager.saveToken(token);
-                    Log.d(TAG, "Token refreshed successfully");
+                    logger.d(TAG, "Token refreshed successfully");
                     return true;
                 }
             }
-            Log.e(TAG, "Token refresh failed: " + response.code());
+            logger.e(TAG, "Token refresh failed: " + response.code());
             return false;
         } catch (IOException e) {
-            Log.e(TAG, "Token refresh network error", e);
+            logger.e(TAG, "Token refresh network error", e);
             return false;
         } catch (Exception e) {
-            Log.e(TAG, "Unexpected error during token refresh", e);
+            logger.e(TAG, "Unexpected error during token refresh", e);
             return false;
         }
     }
 
     @Override
     public void onRefreshFailed() {
-        Log.e(TAG, "Token refresh failed, forcing logout");
+        logger.e(TAG, "Token refresh failed, forcing logout");
         authManager.clearAuth();
         if (onRefreshFailedListener != null) {
             onRefreshFailedListener.onRefreshFailed();
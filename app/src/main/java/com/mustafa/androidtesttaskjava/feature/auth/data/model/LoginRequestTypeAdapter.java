@@ -0,0 +1,56 @@
+package com.mustafa.androidtesttaskjava.feature.auth.data.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson adapter for LoginRequest
+ */
+public class LoginRequestTypeAdapter extends TypeAdapter<LoginRequest> {
+
+    @Override
+    public void write(JsonWriter out, LoginRequest request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("username").value(request.getUsername());
+        out.name("password").value(request.getPassword());
+        out.endObject();
+    }
+
+    @Override
+    public LoginRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        LoginRequest request = new LoginRequest(null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "username":
+                    request.setUsername(in.nextString());
+                    break;
+                case "password":
+                    request.setPassword(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mustafa.androidtesttaskjava.feature.auth.data.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson adapter for LoginResponse
+ */
+public class LoginResponseTypeAdapter extends TypeAdapter<LoginResponse> {
+
+    @Override
+    public void write(JsonWriter out, LoginResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("token").value(response.getToken());
+        out.endObject();
+    }
+
+    @Override
+    public LoginResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        LoginResponse response = new LoginResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.skipValue();
+                continue;
+            }
+            if ("token".equals(name)) {
+                response.setToken(in.nextString());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+}
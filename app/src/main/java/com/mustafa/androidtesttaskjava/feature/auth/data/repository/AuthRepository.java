@@ -1,11 +1,7 @@
 package com.mustafa.androidtesttaskjava.feature.auth.data.repository;
 
-import android.content.Context;
-import android.util.Log;
-
 import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
-import com.mustafa.androidtesttaskjava.core.network.RetrofitClient;
-import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
 import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequest;
 import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginResponse;
 import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
@@ -24,13 +20,12 @@ public class AuthRepository {
     private static final String TAG = "AuthRepository";
     private final AuthApiService apiService;
     private final AuthManager authManager;
-    private final Context context;
+    private final Logger logger;
 
-    public AuthRepository(Context context, TokenRefreshHandler refreshHandler) {
-        this.context = context.getApplicationContext();
-        this.authManager = AuthManager.getInstance(context);
-        RetrofitClient retrofitClient = RetrofitClient.getInstance(context, refreshHandler);
-        this.apiService = retrofitClient.create(AuthApiService.class);
+    public AuthRepository(AuthManager authManager, AuthApiService apiService, Logger logger) {
+        this.authManager = authManager;
+        this.apiService = apiService;
+        this.logger = logger;
     }
 
     /**
@@ -49,7 +44,7 @@ public class AuthRepository {
                     authManager.saveToken(token);
                     // Save credentials for refresh simulation
                     authManager.saveCredentials(username, password);
-                    Log.d(TAG, "Login successful, token saved");
+                    logger.d(TAG, "Login successful, token saved");
                     return new LoginResult(true, null);
                 } else {
                     return new LoginResult(false, "Invalid response from server");
@@ -58,10 +53,10 @@ public class AuthRepository {
                 return new LoginResult(false, "Invalid credentials");
             }
         } catch (IOException e) {
-            Log.e(TAG, "Login error", e);
+            logger.e(TAG, "Login error", e);
             return new LoginResult(false, "Network error: " + e.getMessage());
         } catch (Exception e) {
-            Log.e(TAG, "Unexpected error during login", e);
+            logger.e(TAG, "Unexpected error during login", e);
             return new LoginResult(false, "Unexpected error: " + e.getMessage());
         }
     }
@@ -75,7 +70,7 @@ public class AuthRepository {
         String password = authManager.getPassword();
 
         if (username == null || password == null) {
-            Log.e(TAG, "Cannot refresh: credentials not found");
+            logger.e(TAG, "Cannot refresh: credentials not found");
             return false;
         }
 
@@ -88,17 +83,17 @@ public class AuthRepository {
                 String token = response.body().getToken();
                 if (token != null && !token.isEmpty()) {
                     authManager.saveToken(token);
-                    Log.d(TAG, "Token refreshed successfully");
+                    logger.d(TAG, "Token refreshed successfully");
                     return true;
                 }
             }
-            Log.e(TAG, "Token refresh failed: " + response.code());
+            logger.e(TAG, "Token refresh failed: " + response.code());
             return false;
         } catch (IOException e) {
-            Log.e(TAG, "Token refresh network error", e);
+            logger.e(TAG, "Token refresh network error", e);
             return false;
         } catch (Exception e) {
-            Log.e(TAG, "Unexpected error during token refresh", e);
+            logger.e(TAG, "Unexpected error during token refresh", e);
             return false;
         }
     }
@@ -108,7 +103,7 @@ public class AuthRepository {
      */
     public void logout() {
         authManager.clearAuth();
-        Log.d(TAG, "User logged out");
+        logger.d(TAG, "User logged out");
     }
 
     /**
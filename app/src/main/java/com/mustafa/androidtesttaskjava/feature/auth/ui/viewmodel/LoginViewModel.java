@@ -7,31 +7,29 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
 import com.mustafa.androidtesttaskjava.feature.auth.data.repository.AuthRepository;
 
 import javax.inject.Inject;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 /**
  * ViewModel for Login feature following MVVM architecture.
  * Uses Dagger 2 for Dependency Injection.
+ * Work runs on the shared IoExecutor through a scope cancelled in onCleared.
  */
-@AppScope
 public class LoginViewModel extends AndroidViewModel {
     private final AuthRepository authRepository;
-    private final ExecutorService executorService;
+    private final IoExecutor.Scope ioScope;
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<Boolean> loginSuccess = new MutableLiveData<>();
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
 
     @Inject
-    public LoginViewModel(@NonNull Application application, AuthRepository authRepository) {
+    public LoginViewModel(@NonNull Application application, AuthRepository authRepository,
+                          IoExecutor ioExecutor) {
         super(application);
         this.authRepository = authRepository;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.ioScope = ioExecutor.newScope();
     }
 
     public void login(String username, String password) {
@@ -48,7 +46,7 @@ public class LoginViewModel extends AndroidViewModel {
         isLoading.setValue(true);
         errorMessage.setValue(null);
 
-        executorService.execute(() -> {
+        ioScope.execute(() -> {
             AuthRepository.LoginResult result = authRepository.login(username.trim(), password);
             isLoading.postValue(false);
 
@@ -76,6 +74,6 @@ public class LoginViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        executorService.shutdown();
+        ioScope.cancel();
     }
 }
@@ -0,0 +1,71 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory LRU cache for product data with a freshness TTL.
+ * Entries past the TTL are still returned (as stale) so callers can render
+ * the last known value while revalidating in the background.
+ */
+public class ProductMemoryCache<K, V> {
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ProductMemoryCache(long ttlMillis, final int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get entry for key (fresh or stale), null if not cached
+     */
+    public synchronized Entry<V> get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Put a value that is already stale, e.g. one restored from disk
+     */
+    public synchronized void putStale(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Cached value with its freshness deadline
+     */
+    public static class Entry<V> {
+        private final V value;
+        private final long freshUntilNanos;
+
+        Entry(V value, long freshUntilNanos) {
+            this.value = value;
+            this.freshUntilNanos = freshUntilNanos;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - freshUntilNanos < 0;
+        }
+    }
+}
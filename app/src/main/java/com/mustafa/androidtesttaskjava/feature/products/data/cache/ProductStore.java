@@ -0,0 +1,97 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.cache;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Id-indexed store of every product loaded by the list or detail calls.
+ * Lets the detail screen render from products the list already downloaded.
+ * Each entry carries the same freshness TTL as the list cache.
+ */
+public class ProductStore {
+    private final long ttlNanos;
+    private final Map<Integer, ProductMemoryCache.Entry<Product>> productsById = new ConcurrentHashMap<>();
+
+    public ProductStore(long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Add or replace loaded products (a full list, a page or a category) without
+     * dropping products indexed earlier, e.g. by a detail call
+     */
+    public void putAll(List<Product> products) {
+        long freshUntil = System.nanoTime() + ttlNanos;
+        for (Product product : products) {
+            productsById.put(product.getId(), new ProductMemoryCache.Entry<>(product, freshUntil));
+        }
+    }
+
+    /**
+     * Drop every product missing from a full list load, which the server no longer returns
+     *
+     * @return ids of the dropped products
+     */
+    public Set<Integer> retainAll(List<Product> products) {
+        Set<Integer> listed = new HashSet<>(products.size() * 2);
+        for (Product product : products) {
+            listed.add(product.getId());
+        }
+        Set<Integer> removed = new HashSet<>();
+        for (Iterator<Integer> ids = productsById.keySet().iterator(); ids.hasNext(); ) {
+            Integer id = ids.next();
+            if (!listed.contains(id)) {
+                ids.remove();
+                removed.add(id);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Index products restored from disk; they are stale until revalidated,
+     * so products already loaded from the network are kept
+     */
+    public void putAllStale(List<Product> products) {
+        long freshUntil = System.nanoTime();
+        for (Product product : products) {
+            productsById.putIfAbsent(product.getId(), new ProductMemoryCache.Entry<>(product, freshUntil));
+        }
+    }
+
+    /**
+     * Add or replace a single product
+     */
+    public void put(Product product) {
+        productsById.put(product.getId(), new ProductMemoryCache.Entry<>(product, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Get indexed product (fresh or stale), null if never loaded
+     */
+    public ProductMemoryCache.Entry<Product> get(int id) {
+        return productsById.get(id);
+    }
+
+    /**
+     * Snapshot of every indexed product (fresh or stale), in no particular order
+     */
+    public List<Product> getAll() {
+        List<Product> products = new ArrayList<>(productsById.size());
+        for (ProductMemoryCache.Entry<Product> entry : productsById.values()) {
+            products.add(entry.getValue());
+        }
+        return products;
+    }
+
+    public void clear() {
+        productsById.clear();
+    }
+}
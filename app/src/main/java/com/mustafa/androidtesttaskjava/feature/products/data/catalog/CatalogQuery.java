@@ -0,0 +1,116 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import java.util.Objects;
+
+/**
+ * Immutable category, sort order and price range for listing a ProductCatalog.
+ * A null sort order keeps catalog order; the price range includes its minimum but not
+ * its maximum, so adjacent ranges such as [25, 100) and [100, 500) share no product.
+ */
+public final class CatalogQuery {
+    public static final CatalogQuery ALL = new CatalogQuery(
+            CategoryDictionary.NONE, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final int categoryOrdinal;
+    private final ProductCatalog.SortOrder sortOrder;
+    private final double minPrice;
+    private final double maxPrice;
+
+    private CatalogQuery(int categoryOrdinal, ProductCatalog.SortOrder sortOrder, double minPrice, double maxPrice) {
+        this.categoryOrdinal = categoryOrdinal;
+        this.sortOrder = sortOrder;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Only list one category; CategoryDictionary.NONE lists all
+     */
+    public CatalogQuery withCategory(int categoryOrdinal) {
+        return new CatalogQuery(categoryOrdinal, sortOrder, minPrice, maxPrice);
+    }
+
+    public CatalogQuery withSortOrder(ProductCatalog.SortOrder sortOrder) {
+        return new CatalogQuery(categoryOrdinal, sortOrder, minPrice, maxPrice);
+    }
+
+    public CatalogQuery withPriceRange(double minPrice, double maxPrice) {
+        return new CatalogQuery(categoryOrdinal, sortOrder, minPrice, maxPrice);
+    }
+
+    public CatalogQuery withoutPriceRange() {
+        return withPriceRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    public int getCategoryOrdinal() {
+        return categoryOrdinal;
+    }
+
+    public ProductCatalog.SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != Double.NEGATIVE_INFINITY || maxPrice != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean hasCategory() {
+        return categoryOrdinal != CategoryDictionary.NONE;
+    }
+
+    /**
+     * True if the query lists the catalog unchanged
+     */
+    public boolean isIdentity() {
+        return !hasCategory() && sortOrder == null && !hasPriceRange();
+    }
+
+    /**
+     * True if the query only narrows to a category, keeping catalog order
+     */
+    public boolean isCategoryOnly() {
+        return hasCategory() && sortOrder == null && !hasPriceRange();
+    }
+
+    /**
+     * Matching rows of catalog, in query order; filters first so only matches are sorted
+     */
+    public int[] apply(ProductCatalog catalog) {
+        int[] rows = hasCategory() ? catalog.rowsInCategory(categoryOrdinal) : catalog.allRows();
+        if (hasPriceRange()) {
+            rows = catalog.filterByPrice(rows, minPrice, maxPrice);
+        }
+        if (sortOrder != null) {
+            rows = catalog.sort(rows, sortOrder);
+        }
+        return rows;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogQuery)) {
+            return false;
+        }
+        CatalogQuery other = (CatalogQuery) o;
+        return categoryOrdinal == other.categoryOrdinal
+                && sortOrder == other.sortOrder
+                && Double.compare(minPrice, other.minPrice) == 0
+                && Double.compare(maxPrice, other.maxPrice) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryOrdinal, sortOrder, minPrice, maxPrice);
+    }
+}
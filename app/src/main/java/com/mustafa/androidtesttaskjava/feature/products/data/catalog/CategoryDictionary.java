@@ -0,0 +1,73 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary of product category names.
+ * Every distinct name gets a small int ordinal the first time it is parsed, and all
+ * products share one String instance per category. Ordinals are stable for the life
+ * of the dictionary, so catalogs and facet indexes can store and compare ints; the app
+ * shares one instance (RepositoryModule) between parsing, the disk store and the indexes.
+ * Thread-safe; lookups of known names do not lock.
+ */
+public final class CategoryDictionary {
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+
+    public CategoryDictionary() {
+    }
+
+    /**
+     * Shared instance of name, registering it if new; null stays null
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        // Resolve the ordinal first: it may grow names
+        int ordinal = ordinalOf(name);
+        return names[ordinal];
+    }
+
+    /**
+     * Ordinal of name, assigning the next one if it is new
+     */
+    public int ordinalOf(String name) {
+        Integer ordinal = ordinals.get(name);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (this) {
+            ordinal = ordinals.get(name);
+            if (ordinal == null) {
+                ordinal = names.length;
+                String[] grown = Arrays.copyOf(names, ordinal + 1);
+                grown[ordinal] = name;
+                // Publish the name before the ordinal, so anyone holding an ordinal can resolve it
+                names = grown;
+                ordinals.put(name, ordinal);
+            }
+            return ordinal;
+        }
+    }
+
+    /**
+     * Ordinal of name, NONE if it was never seen
+     */
+    public int find(String name) {
+        Integer ordinal = name != null ? ordinals.get(name) : null;
+        return ordinal != null ? ordinal : NONE;
+    }
+
+    public String nameOf(int ordinal) {
+        return names[ordinal];
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,164 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Products grouped by category ordinal (CategoryDictionary), updated incrementally as the
+ * repository delivers products. Each category keeps a posting list in arrival order,
+ * so listing a category costs the number of its products rather than the catalog size,
+ * and its facet count is the posting list size.
+ * A product delivered again replaces its previous version, moving to its new category
+ * if that changed, and a product the repository reports as removed leaves its category.
+ * Thread-safe.
+ */
+public class CategoryFacetIndex implements ProductRepository.ProductsListener {
+    private final CategoryDictionary dictionary;
+    // Postings per ordinal, keyed by product id for replacement
+    private final List<Map<Integer, Product>> postings = new ArrayList<>();
+    private final Map<Integer, Integer> ordinalByProductId = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private int version;
+
+    public CategoryFacetIndex(CategoryDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Index delivered products on the loading thread (O(delivered)), then notify listeners
+     */
+    @Override
+    public void onProductsLoaded(List<Product> products) {
+        addAll(products);
+        for (Listener listener : listeners) {
+            listener.onFacetsUpdated();
+        }
+    }
+
+    /**
+     * Drop removed products on the loading thread, then notify listeners
+     */
+    @Override
+    public void onProductsRemoved(Set<Integer> ids) {
+        removeAll(ids);
+        for (Listener listener : listeners) {
+            listener.onFacetsUpdated();
+        }
+    }
+
+    public synchronized void addAll(List<Product> products) {
+        for (Product product : products) {
+            int ordinal = dictionary.ordinalOf(product.getCategory() != null ? product.getCategory() : "");
+            Integer previous = ordinalByProductId.put(product.getId(), ordinal);
+            if (previous != null && previous != ordinal) {
+                postings.get(previous).remove(product.getId());
+            }
+            postingsOf(ordinal).put(product.getId(), product);
+        }
+        version++;
+    }
+
+    public synchronized void removeAll(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            Integer ordinal = ordinalByProductId.remove(id);
+            if (ordinal != null) {
+                postings.get(ordinal).remove(id);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Products of the category in arrival order, empty if none were loaded
+     */
+    public synchronized List<Product> getProducts(int ordinal) {
+        if (ordinal < 0 || ordinal >= postings.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(postings.get(ordinal).values());
+    }
+
+    public synchronized int getCount(int ordinal) {
+        return ordinal >= 0 && ordinal < postings.size() ? postings.get(ordinal).size() : 0;
+    }
+
+    /**
+     * Loaded product count per category ordinal; categories with no products are left out
+     */
+    public synchronized List<Facet> getFacets() {
+        List<Facet> facets = new ArrayList<>();
+        for (int ordinal = 0; ordinal < postings.size(); ordinal++) {
+            int count = postings.get(ordinal).size();
+            if (count > 0) {
+                facets.add(new Facet(ordinal, dictionary.nameOf(ordinal), count));
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * Incremented on every update, to tell whether a listing taken from the index is current
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private Map<Integer, Product> postingsOf(int ordinal) {
+        while (postings.size() <= ordinal) {
+            postings.add(new LinkedHashMap<>());
+        }
+        return postings.get(ordinal);
+    }
+
+    /**
+     * A category with the number of its loaded products
+     */
+    public static class Facet {
+        private final int ordinal;
+        private final String name;
+        private final int count;
+
+        public Facet(int ordinal, String name, int count) {
+            this.ordinal = ordinal;
+            this.name = name;
+            this.count = count;
+        }
+
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Notified on the loading thread after delivered products were indexed
+     */
+    public interface Listener {
+        void onFacetsUpdated();
+    }
+}
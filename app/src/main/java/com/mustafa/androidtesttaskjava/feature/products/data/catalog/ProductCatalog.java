@@ -0,0 +1,326 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable column-oriented snapshot of a product list for sorting and filtering.
+ * Ids, prices, rates, rating counts and category ordinals live in primitive arrays,
+ * one entry per row (the row is the product's position in the source list); categories
+ * are CategoryDictionary ordinals, with each category's rows listed up front. Filters
+ * and sorts take and return row arrays, so they never touch Product objects or
+ * allocate comparators; getProducts maps rows back to products.
+ * Each sort key's rank per row is computed once. Large selections are sorted by walking
+ * the catalog-wide order for the key (computed on first use) and keeping the selected
+ * rows, which is linear and compares nothing; small ones by a primitive sort of
+ * (rank, row) pairs.
+ */
+public final class ProductCatalog {
+    private final Product[] products;
+    private final int[] ids;
+    private final double[] prices;
+    private final float[] rates;
+    private final int[] ratingCounts;
+    private final int[] categoryOrdinals;
+    private final CategoryDictionary dictionary;
+    // Rows per category ordinal, in source order
+    private final int[][] categoryRows;
+    private final int[] priceRanks;
+    private final int[] rateRanks;
+    private final int[] ratingCountRanks;
+    // Every row in each SortOrder, built on first use
+    private final int[][] sortedRows = new int[SortOrder.values().length][];
+
+    private ProductCatalog(Product[] products, int[] ids, double[] prices, float[] rates, int[] ratingCounts,
+                           int[] categoryOrdinals, CategoryDictionary dictionary) {
+        this.products = products;
+        this.ids = ids;
+        this.prices = prices;
+        this.rates = rates;
+        this.ratingCounts = ratingCounts;
+        this.categoryOrdinals = categoryOrdinals;
+        this.dictionary = dictionary;
+        this.categoryRows = groupRows(categoryOrdinals, dictionary.size());
+        this.priceRanks = ranks(prices);
+        this.rateRanks = ranks(toDoubles(rates));
+        this.ratingCountRanks = ranks(toDoubles(ratingCounts));
+    }
+
+    /**
+     * Snapshot of products with a CategoryDictionary of its own
+     */
+    public static ProductCatalog of(List<Product> products) {
+        return of(products, new CategoryDictionary());
+    }
+
+    /**
+     * Snapshot of products; products without a rating count as rate 0 with 0 ratings,
+     * products without a category are in category ""
+     */
+    public static ProductCatalog of(List<Product> products, CategoryDictionary dictionary) {
+        int size = products.size();
+        Product[] rows = products.toArray(new Product[0]);
+        int[] ids = new int[size];
+        double[] prices = new double[size];
+        float[] rates = new float[size];
+        int[] ratingCounts = new int[size];
+        int[] categoryOrdinals = new int[size];
+        for (int row = 0; row < size; row++) {
+            Product product = rows[row];
+            ids[row] = product.getId();
+            prices[row] = product.getPrice();
+            if (product.getRating() != null) {
+                rates[row] = (float) product.getRating().getRate();
+                ratingCounts[row] = product.getRating().getCount();
+            }
+            categoryOrdinals[row] = dictionary.ordinalOf(product.getCategory() != null ? product.getCategory() : "");
+        }
+        return new ProductCatalog(rows, ids, prices, rates, ratingCounts, categoryOrdinals, dictionary);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Every row, in source order
+     */
+    public int[] allRows() {
+        int[] rows = new int[ids.length];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Rows in the category, in source order; costs the number of matches, not the catalog size
+     */
+    public int[] rowsInCategory(int categoryOrdinal) {
+        return categoryOrdinal >= 0 && categoryOrdinal < categoryRows.length
+                ? categoryRows[categoryOrdinal].clone()
+                : new int[0];
+    }
+
+    /**
+     * Rows whose price is within [min, max), in the order given; adjacent ranges do not overlap
+     */
+    public int[] filterByPrice(int[] rows, double min, double max) {
+        int[] matches = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            double price = prices[row];
+            if (price >= min && price < max) {
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Rows in the given category ordinal, in the order given
+     */
+    public int[] filterByCategory(int[] rows, int categoryOrdinal) {
+        int[] matches = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (categoryOrdinals[row] == categoryOrdinal) {
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Rows reordered by sortOrder; ties keep source order
+     */
+    public int[] sort(int[] rows, SortOrder sortOrder) {
+        // Walking the full order costs size(); sorting the selection about rows * log2(rows)
+        if (rows.length > 0 && (long) rows.length * (32 - Integer.numberOfLeadingZeros(rows.length)) > ids.length) {
+            int[] order = sortedRows(sortOrder);
+            boolean[] selected = new boolean[ids.length];
+            for (int row : rows) {
+                selected[row] = true;
+            }
+            int[] sorted = new int[rows.length];
+            int count = 0;
+            for (int row : order) {
+                if (selected[row]) {
+                    sorted[count++] = row;
+                }
+            }
+            return sorted;
+        }
+        return sortByRank(rows, sortOrder);
+    }
+
+    private synchronized int[] sortedRows(SortOrder sortOrder) {
+        int[] order = sortedRows[sortOrder.ordinal()];
+        if (order == null) {
+            order = sortByRank(allRows(), sortOrder);
+            sortedRows[sortOrder.ordinal()] = order;
+        }
+        return order;
+    }
+
+    private int[] sortByRank(int[] rows, SortOrder sortOrder) {
+        int[] ranks;
+        boolean descending;
+        switch (sortOrder) {
+            case PRICE_ASCENDING:
+                ranks = priceRanks;
+                descending = false;
+                break;
+            case PRICE_DESCENDING:
+                ranks = priceRanks;
+                descending = true;
+                break;
+            case RATING:
+                ranks = rateRanks;
+                descending = true;
+                break;
+            case POPULARITY:
+                ranks = ratingCountRanks;
+                descending = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sort order: " + sortOrder);
+        }
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            int rank = descending ? ids.length - 1 - ranks[row] : ranks[row];
+            keys[i] = ((long) rank << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * Products of rows[from, to)
+     */
+    public List<Product> getProducts(int[] rows, int from, int to) {
+        List<Product> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(products[rows[i]]);
+        }
+        return result;
+    }
+
+    public Product getProduct(int row) {
+        return products[row];
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public double getPrice(int row) {
+        return prices[row];
+    }
+
+    public float getRate(int row) {
+        return rates[row];
+    }
+
+    public int getRatingCount(int row) {
+        return ratingCounts[row];
+    }
+
+    public int getCategoryOrdinal(int row) {
+        return categoryOrdinals[row];
+    }
+
+    /**
+     * Category name of an ordinal; products without a category have ""
+     */
+    public String getCategory(int ordinal) {
+        return dictionary.nameOf(ordinal);
+    }
+
+    /**
+     * Number of products in the category
+     */
+    public int getCategorySize(int categoryOrdinal) {
+        return categoryOrdinal >= 0 && categoryOrdinal < categoryRows.length
+                ? categoryRows[categoryOrdinal].length
+                : 0;
+    }
+
+    /**
+     * Counting sort of rows by ordinal
+     */
+    private static int[][] groupRows(int[] ordinals, int ordinalCount) {
+        int[] counts = new int[ordinalCount];
+        for (int ordinal : ordinals) {
+            counts[ordinal]++;
+        }
+        int[][] groups = new int[ordinalCount][];
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            groups[ordinal] = new int[counts[ordinal]];
+            counts[ordinal] = 0;
+        }
+        for (int row = 0; row < ordinals.length; row++) {
+            int ordinal = ordinals[row];
+            groups[ordinal][counts[ordinal]++] = row;
+        }
+        return groups;
+    }
+
+    /**
+     * Position of each row's value among all values, equal values sharing the lowest position
+     */
+    private static int[] ranks(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int[] ranks = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            ranks[row] = lowerBound(sorted, values[row]);
+        }
+        return ranks;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double[] toDoubles(float[] values) {
+        double[] doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    private static double[] toDoubles(int[] values) {
+        double[] doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    public enum SortOrder {
+        PRICE_ASCENDING,
+        PRICE_DESCENDING,
+        RATING,
+        POPULARITY
+    }
+}
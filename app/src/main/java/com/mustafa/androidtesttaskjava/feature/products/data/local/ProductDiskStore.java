@@ -0,0 +1,287 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.local;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent product catalog in a compact append-only binary file.
+ * Sync appends only new, changed or deleted rows plus the id order when it
+ * changes (see ProductSyncDiff);
+ * the file is compacted into a fresh snapshot once stale records dominate.
+ * A truncated tail (e.g. process killed mid-write) is ignored on load and
+ * removed by the next compaction.
+ */
+public class ProductDiskStore {
+    private static final String TAG = "ProductDiskStore";
+    private static final int MAGIC = 0x50524f44; // "PROD"
+    private static final int VERSION = 1;
+    private static final int RECORD_UPSERT = 1;
+    private static final int RECORD_DELETE = 2;
+    private static final int RECORD_ORDER = 3;
+    private static final int COMPACTION_MIN_RECORDS = 256;
+    private static final int MAX_STRING_BYTES = 1024 * 1024;
+    private static final int MAX_ORDER_SIZE = 10_000_000;
+
+    private final File file;
+    private final CategoryDictionary categoryDictionary;
+    private final Logger logger;
+    private Map<Integer, StoredRow> rows;
+    private int[] order;
+    private int recordCount;
+    private boolean needsRewrite;
+
+    public ProductDiskStore(File file, Logger logger) {
+        this(file, new CategoryDictionary(), logger);
+    }
+
+    /**
+     * @param categoryDictionary interns the category of every loaded product
+     */
+    public ProductDiskStore(File file, CategoryDictionary categoryDictionary, Logger logger) {
+        this.file = file;
+        this.categoryDictionary = categoryDictionary;
+        this.logger = logger;
+    }
+
+    /**
+     * Load stored products in catalog order, empty list if nothing stored
+     */
+    public synchronized List<Product> load() {
+        ensureLoaded();
+        List<Product> products = new ArrayList<>(order.length);
+        for (int id : order) {
+            StoredRow row = rows.get(id);
+            if (row != null) {
+                products.add(row.product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Bring the stored catalog in line with products, writing only changed rows
+     *
+     * @return number of product rows written or deleted
+     */
+    public synchronized int sync(List<Product> products) throws IOException {
+        ensureLoaded();
+        Map<Integer, Long> storedHashes = new HashMap<>(rows.size() * 2);
+        for (StoredRow row : rows.values()) {
+            storedHashes.put(row.product.getId(), row.contentHash);
+        }
+        ProductSyncDiff diff = ProductSyncDiff.compute(storedHashes, order, products);
+        if (diff.isEmpty()) {
+            return 0;
+        }
+
+        for (Integer id : diff.getDeletedIds()) {
+            rows.remove(id);
+        }
+        for (ProductSyncDiff.Row row : diff.getUpserts()) {
+            rows.put(row.getProduct().getId(), new StoredRow(row.getProduct(), row.getContentHash()));
+        }
+        if (diff.getNewOrder() != null) {
+            order = diff.getNewOrder();
+        }
+
+        int changes = diff.getUpserts().size() + diff.getDeletedIds().size();
+        try {
+            if (needsRewrite || !file.exists() || recordCount + changes > rows.size() * 2 + COMPACTION_MIN_RECORDS) {
+                rewrite();
+            } else {
+                append(diff);
+            }
+        } catch (IOException e) {
+            // Memory already holds the new state; write a full snapshot next time
+            needsRewrite = true;
+            throw e;
+        }
+        return changes;
+    }
+
+    private void ensureLoaded() {
+        if (rows != null) {
+            return;
+        }
+        rows = new HashMap<>();
+        order = new int[0];
+        recordCount = 0;
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.w(TAG, "Unknown product store format, discarding");
+                needsRewrite = true;
+                return;
+            }
+            int type;
+            while ((type = in.read()) != -1) {
+                if (type == RECORD_UPSERT) {
+                    StoredRow row = readRow(in);
+                    rows.put(row.product.getId(), row);
+                } else if (type == RECORD_DELETE) {
+                    rows.remove(in.readInt());
+                } else if (type == RECORD_ORDER) {
+                    order = readOrder(in);
+                } else {
+                    throw new IOException("Unknown record type " + type);
+                }
+                recordCount++;
+            }
+        } catch (EOFException e) {
+            logger.w(TAG, "Product store has a truncated tail, keeping " + rows.size() + " rows");
+            needsRewrite = true;
+        } catch (IOException e) {
+            logger.e(TAG, "Cannot read product store, discarding", e);
+            rows.clear();
+            order = new int[0];
+            needsRewrite = true;
+        }
+    }
+
+    private void append(ProductSyncDiff diff) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            for (Integer id : diff.getDeletedIds()) {
+                out.writeByte(RECORD_DELETE);
+                out.writeInt(id);
+            }
+            for (ProductSyncDiff.Row row : diff.getUpserts()) {
+                writeRow(out, row.getProduct(), row.getContentHash());
+            }
+            if (diff.getNewOrder() != null) {
+                writeOrder(out, diff.getNewOrder());
+            }
+        }
+        recordCount += diff.getUpserts().size() + diff.getDeletedIds().size()
+                + (diff.getNewOrder() != null ? 1 : 0);
+    }
+
+    private void rewrite() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (StoredRow row : rows.values()) {
+                writeRow(out, row.product, row.contentHash);
+            }
+            writeOrder(out, order);
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Cannot replace " + file);
+        }
+        recordCount = rows.size() + 1;
+        needsRewrite = false;
+    }
+
+    private static void writeRow(DataOutputStream out, Product product, long contentHash)
+            throws IOException {
+        out.writeByte(RECORD_UPSERT);
+        out.writeInt(product.getId());
+        out.writeLong(contentHash);
+        writeString(out, product.getTitle());
+        out.writeDouble(product.getPrice());
+        writeString(out, product.getDescription());
+        writeString(out, product.getCategory());
+        writeString(out, product.getImage());
+        Product.Rating rating = product.getRating();
+        out.writeBoolean(rating != null);
+        if (rating != null) {
+            out.writeDouble(rating.getRate());
+            out.writeInt(rating.getCount());
+        }
+    }
+
+    private StoredRow readRow(DataInputStream in) throws IOException {
+        Product product = new Product();
+        product.setId(in.readInt());
+        long contentHash = in.readLong();
+        product.setTitle(readString(in));
+        product.setPrice(in.readDouble());
+        product.setDescription(readString(in));
+        product.setCategory(categoryDictionary.intern(readString(in)));
+        product.setImage(readString(in));
+        if (in.readBoolean()) {
+            Product.Rating rating = new Product.Rating();
+            rating.setRate(in.readDouble());
+            rating.setCount(in.readInt());
+            product.setRating(rating);
+        }
+        return new StoredRow(product, contentHash);
+    }
+
+    private static void writeOrder(DataOutputStream out, int[] ids) throws IOException {
+        out.writeByte(RECORD_ORDER);
+        out.writeInt(ids.length);
+        for (int id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    private static int[] readOrder(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ORDER_SIZE) {
+            throw new IOException("Corrupt order size " + count);
+        }
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.readInt();
+        }
+        return ids;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class StoredRow {
+        final Product product;
+        final long contentHash;
+
+        StoredRow(Product product, long contentHash) {
+            this.product = product;
+            this.contentHash = contentHash;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.local;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Difference between the locally stored catalog and a freshly loaded one.
+ * Rows are matched by id and compared by a 64-bit content hash, so only new
+ * or changed products are rewritten. Catalog order is tracked separately as
+ * an id sequence, so a moved or removed product does not rewrite its neighbours.
+ */
+public class ProductSyncDiff {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<Row> upserts;
+    private final List<Integer> deletedIds;
+    private final int[] newOrder;
+
+    private ProductSyncDiff(List<Row> upserts, List<Integer> deletedIds, int[] newOrder) {
+        this.upserts = upserts;
+        this.deletedIds = deletedIds;
+        this.newOrder = newOrder;
+    }
+
+    /**
+     * Compute diff of remote products against stored id -> content hash and stored id order
+     */
+    public static ProductSyncDiff compute(Map<Integer, Long> storedHashes, int[] storedOrder, List<Product> products) {
+        List<Row> upserts = new ArrayList<>();
+        Set<Integer> remoteIds = new HashSet<>(products.size() * 2);
+        int[] order = new int[products.size()];
+        for (int position = 0; position < products.size(); position++) {
+            Product product = products.get(position);
+            order[position] = product.getId();
+            remoteIds.add(product.getId());
+            long hash = contentHash(product);
+            Long storedHash = storedHashes.get(product.getId());
+            if (storedHash == null || storedHash != hash) {
+                upserts.add(new Row(product, hash));
+            }
+        }
+
+        List<Integer> deletedIds = new ArrayList<>();
+        for (Integer storedId : storedHashes.keySet()) {
+            if (!remoteIds.contains(storedId)) {
+                deletedIds.add(storedId);
+            }
+        }
+        return new ProductSyncDiff(Collections.unmodifiableList(upserts),
+                Collections.unmodifiableList(deletedIds),
+                Arrays.equals(order, storedOrder) ? null : order);
+    }
+
+    /**
+     * FNV-1a hash over every product field
+     */
+    public static long contentHash(Product product) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, product.getId());
+        hash = mix(hash, product.getTitle());
+        hash = mix(hash, Double.doubleToLongBits(product.getPrice()));
+        hash = mix(hash, product.getDescription());
+        hash = mix(hash, product.getCategory());
+        hash = mix(hash, product.getImage());
+        Product.Rating rating = product.getRating();
+        hash = mix(hash, rating != null ? Double.doubleToLongBits(rating.getRate()) : -1L);
+        hash = mix(hash, rating != null ? rating.getCount() : -1L);
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash, value.length());
+    }
+
+    public List<Row> getUpserts() {
+        return upserts;
+    }
+
+    public List<Integer> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * New catalog order as product ids, null if unchanged
+     */
+    public int[] getNewOrder() {
+        return newOrder;
+    }
+
+    public boolean isEmpty() {
+        return upserts.isEmpty() && deletedIds.isEmpty() && newOrder == null;
+    }
+
+    /**
+     * Product to write together with its content hash
+     */
+    public static class Row {
+        private final Product product;
+        private final long contentHash;
+
+        Row(Product product, long contentHash) {
+            this.product = product;
+            this.contentHash = contentHash;
+        }
+
+        public Product getProduct() {
+            return product;
+        }
+
+        public long getContentHash() {
+            return contentHash;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson adapter for Product.
+ * Same JSON shape as Gson's reflective adapter: unknown fields are skipped
+ * and null values leave the field at its default.
+ * Category names are interned in the CategoryDictionary while parsing, so every
+ * product of a category shares one String and the category has an ordinal.
+ */
+public class ProductTypeAdapter extends TypeAdapter<Product> {
+    private final RatingTypeAdapter ratingAdapter = new RatingTypeAdapter();
+    private final CategoryDictionary categories;
+
+    public ProductTypeAdapter() {
+        this(new CategoryDictionary());
+    }
+
+    public ProductTypeAdapter(CategoryDictionary categories) {
+        this.categories = categories;
+    }
+
+    @Override
+    public void write(JsonWriter out, Product product) throws IOException {
+        if (product == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(product.getId());
+        out.name("title").value(product.getTitle());
+        out.name("price").value(product.getPrice());
+        out.name("description").value(product.getDescription());
+        out.name("category").value(product.getCategory());
+        out.name("image").value(product.getImage());
+        out.name("rating");
+        ratingAdapter.write(out, product.getRating());
+        out.endObject();
+    }
+
+    @Override
+    public Product read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Product product = new Product();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    product.setId(in.nextInt());
+                    break;
+                case "title":
+                    product.setTitle(in.nextString());
+                    break;
+                case "price":
+                    product.setPrice(in.nextDouble());
+                    break;
+                case "description":
+                    product.setDescription(in.nextString());
+                    break;
+                case "category":
+                    product.setCategory(categories.intern(in.nextString()));
+                    break;
+                case "image":
+                    product.setImage(in.nextString());
+                    break;
+                case "rating":
+                    product.setRating(ratingAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return product;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson adapter for Product.Rating
+ */
+public class RatingTypeAdapter extends TypeAdapter<Product.Rating> {
+
+    @Override
+    public void write(JsonWriter out, Product.Rating rating) throws IOException {
+        if (rating == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("rate").value(rating.getRate());
+        out.name("count").value(rating.getCount());
+        out.endObject();
+    }
+
+    @Override
+    public Product.Rating read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Product.Rating rating = new Product.Rating();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rate":
+                    rating.setRate(in.nextDouble());
+                    break;
+                case "count":
+                    rating.setCount(in.nextInt());
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return rating;
+    }
+}
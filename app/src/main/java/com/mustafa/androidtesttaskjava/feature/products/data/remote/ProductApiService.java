@@ -1,5 +1,6 @@
 package com.mustafa.androidtesttaskjava.feature.products.data.remote;
 
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
 
 import java.util.List;
@@ -7,6 +8,7 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * API service for product endpoints.
@@ -16,6 +18,31 @@ public interface ProductApiService {
     @GET("products")
     Call<List<Product>> getProducts();
 
+    /**
+     * Same endpoint as getProducts, parsed incrementally as the body downloads
+     */
+    @GET("products")
+    Call<JsonStream<Product>> streamProducts();
+
+    /**
+     * First limit products of the catalog, parsed incrementally.
+     * FakeStore has no offset parameter, so pages are cut locally from a growing limit.
+     */
+    @GET("products")
+    Call<JsonStream<Product>> streamProducts(@Query("limit") int limit);
+
     @GET("products/{id}")
     Call<Product> getProduct(@Path("id") int id);
+
+    /**
+     * Names of all categories
+     */
+    @GET("products/categories")
+    Call<List<String>> getCategories();
+
+    /**
+     * Products of one category, parsed incrementally
+     */
+    @GET("products/category/{name}")
+    Call<JsonStream<Product>> streamProductsInCategory(@Path("name") String category);
 }
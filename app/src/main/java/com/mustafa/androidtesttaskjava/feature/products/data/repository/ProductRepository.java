@@ -1,15 +1,24 @@
 package com.mustafa.androidtesttaskjava.feature.products.data.repository;
 
-import android.content.Context;
-import android.util.Log;
-
-import com.mustafa.androidtesttaskjava.core.network.RetrofitClient;
-import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.CallHandle;
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
+import com.mustafa.androidtesttaskjava.core.network.RequestCoalescer;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.ProductCatalog;
+import com.mustafa.androidtesttaskjava.feature.products.data.cache.ProductMemoryCache;
+import com.mustafa.androidtesttaskjava.feature.products.data.cache.ProductStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
 import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import retrofit2.Call;
 import retrofit2.Response;
@@ -17,60 +26,655 @@ import retrofit2.Response;
 /**
  * Repository for product operations.
  * All requests are protected and go through AuthInterceptor.
+ * Keeps the last loaded product list in a bounded in-memory cache
+ * (stale-while-revalidate), and indexes every loaded product by id so the
+ * detail screen can render without refetching.
+ * The catalog is also persisted in ProductDiskStore, so a cold start renders
+ * the last synced list before the network answers.
+ * The product list is parsed incrementally (JsonStream) in chunks of STREAM_CHUNK_SIZE,
+ * so the first products reach callers early and the raw JSON is never buffered; the parsed
+ * list itself is kept (memory cache, id index, disk sync), so memory grows with the catalog.
+ * Large catalogs can be read page by page with getProductPage (cut from one full list load
+ * after the first page), or as a column
+ * snapshot (getCatalog) for sorting and filtering, and one category at a time
+ * (getProductsInCategory) to prefetch what a category filter shows.
+ * Every delivered product (list, page, disk or single product) is also passed to
+ * ProductsListeners, e.g. to keep a search index up to date. A full list load is
+ * authoritative: products it no longer contains are dropped from the id index and
+ * reported to ProductsListeners as removed.
+ * Network methods take an optional CallHandle. Cancelling it returns a cancelled result;
+ * the HTTP call and its parsing stop when no other caller shares the call. A caller that
+ * joined another caller's call returns at once, the caller running the call only once the
+ * call stopped or, if others still share it, finished (see RequestCoalescer).
  */
 public class ProductRepository {
     private static final String TAG = "ProductRepository";
+    private static final String KEY_PRODUCTS = "products";
+    private static final String KEY_CATEGORIES = "products/categories";
+    private static final int STREAM_CHUNK_SIZE = 50;
     private final ProductApiService apiService;
+    private final ProductMemoryCache<String, List<Product>> cache;
+    private final ProductStore productStore;
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ProductDiskStore diskStore;
+    private final CategoryDictionary categoryDictionary;
+    private final Logger logger;
+    private final List<ProductsListener> productsListeners = new CopyOnWriteArrayList<>();
+    private List<Product> catalogSource;
+    private ProductCatalog catalog;
+
+    public ProductRepository(ProductApiService apiService,
+                             ProductDiskStore diskStore,
+                             long cacheTtlMillis,
+                             int cacheMaxEntries,
+                             Logger logger) {
+        this(apiService, diskStore, new CategoryDictionary(), cacheTtlMillis, cacheMaxEntries, logger);
+    }
 
-    public ProductRepository(Context context, TokenRefreshHandler refreshHandler) {
-        RetrofitClient retrofitClient = RetrofitClient.getInstance(context, refreshHandler);
-        this.apiService = retrofitClient.create(ProductApiService.class);
+    /**
+     * @param categoryDictionary interns category names and numbers them for catalogs;
+     *                           share it with the Gson and disk store that parse products
+     */
+    public ProductRepository(ProductApiService apiService,
+                             ProductDiskStore diskStore,
+                             CategoryDictionary categoryDictionary,
+                             long cacheTtlMillis,
+                             int cacheMaxEntries,
+                             Logger logger) {
+        this.apiService = apiService;
+        this.logger = logger;
+        this.diskStore = diskStore;
+        this.categoryDictionary = categoryDictionary;
+        this.cache = new ProductMemoryCache<>(cacheTtlMillis, cacheMaxEntries);
+        this.productStore = new ProductStore(cacheTtlMillis);
     }
 
     /**
-     * Get all products
+     * Get all products with stale-while-revalidate caching.
+     * Delivers the cached list immediately if there is one (memory first, then disk).
+     * If it is stale or missing, loads from network on the calling thread and delivers
+     * the fresh list as a second result.
+     * A failed refresh after a cached result is not delivered, so the cached list stays visible.
+     */
+    public void getProducts(ResultCallback<List<Product>> callback) {
+        getProducts(null, callback);
+    }
+
+    /**
+     * Same as getProducts(callback); when nothing cached could be delivered,
+     * parsed products are also passed to chunkCallback as they arrive,
+     * before the final full result. A caller sharing a load already in flight
+     * first gets the products parsed so far as one chunk.
+     */
+    public void getProducts(ChunkCallback<Product> chunkCallback, ResultCallback<List<Product>> callback) {
+        getProducts(chunkCallback, callback, new CallHandle());
+    }
+
+    /**
+     * Same as getProducts(chunkCallback, callback); cancelling handle stops the network load
+     */
+    public void getProducts(ChunkCallback<Product> chunkCallback, ResultCallback<List<Product>> callback,
+                            CallHandle handle) {
+        boolean delivered = false;
+        ProductMemoryCache.Entry<List<Product>> cached = cache.get(KEY_PRODUCTS);
+        if (cached != null) {
+            callback.onResult(new ProductResult<>(true, cached.getValue(), null, true));
+            if (cached.isFresh()) {
+                return;
+            }
+            delivered = true;
+        } else {
+            List<Product> stored = restoreFromDisk();
+            if (!stored.isEmpty()) {
+                callback.onResult(new ProductResult<>(true, stored, null, true));
+                delivered = true;
+            }
+        }
+
+        ProductResult<List<Product>> result = loadProducts(delivered ? null : chunkCallback, handle);
+        if (result.isSuccess() || !delivered) {
+            callback.onResult(result);
+        } else if (!result.isCancelled()) {
+            logger.w(TAG, "Background refresh failed, keeping cached products: " + result.getErrorMessage());
+        }
+    }
+
+    /**
+     * Get all products from network and update the cache.
+     * Concurrent callers share one in-flight call and its parsed result.
      */
     public ProductResult<List<Product>> getProducts() {
+        return getProducts(new CallHandle());
+    }
+
+    public ProductResult<List<Product>> getProducts(CallHandle handle) {
+        return loadProducts(null, handle);
+    }
+
+    /**
+     * Run or join the list load; every caller with a chunkCallback gets the load's chunks
+     */
+    private ProductResult<List<Product>> loadProducts(ChunkCallback<Product> chunkCallback, CallHandle handle) {
+        return coalescer.execute(KEY_PRODUCTS, handle, ChunkFanOut::new, chunks -> {
+            if (chunkCallback != null) {
+                chunks.subscribe(chunkCallback, handle);
+            }
+        }, this::fetchProducts, ProductResult::cancelled);
+    }
+
+    private ProductResult<List<Product>> fetchProducts(CallHandle shared, ChunkFanOut chunks) {
         try {
-            Call<List<Product>> call = apiService.getProducts();
-            Response<List<Product>> response = call.execute();
+            Call<JsonStream<Product>> call = apiService.streamProducts();
+            shared.onCancel(call::cancel);
+            Response<JsonStream<Product>> response = call.execute();
 
-            if (response.isSuccessful() && response.body() != null) {
-                return new ProductResult<>(true, response.body(), null);
-            } else {
+            if (!response.isSuccessful() || response.body() == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                return new ProductResult<>(false, null, "Failed to load products: " + response.code());
+            }
+            try (JsonStream<Product> stream = response.body()) {
+                while (!stream.isFinished() && !shared.isCancelled()) {
+                    List<Product> chunk = stream.nextChunk(STREAM_CHUNK_SIZE);
+                    if (!chunk.isEmpty()) {
+                        chunks.publish(chunk);
+                    }
+                }
+            }
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            List<Product> products = chunks.getReceived();
+            cache.put(KEY_PRODUCTS, products);
+            productStore.putAll(products);
+            Set<Integer> removedIds = productStore.retainAll(products);
+            syncDiskStore(products);
+            notifyProductsLoaded(products);
+            notifyProductsRemoved(removedIds);
+            return new ProductResult<>(true, products, null);
+        } catch (IOException e) {
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            logger.e(TAG, "Error loading products", e);
+            return new ProductResult<>(false, null, "Network error: " + e.getMessage());
+        } catch (Exception e) {
+            logger.e(TAG, "Unexpected error loading products", e);
+            return new ProductResult<>(false, null, "Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Load the disk store into the memory cache as a stale entry, so it is read only once
+     */
+    private List<Product> restoreFromDisk() {
+        List<Product> stored = diskStore.load();
+        if (!stored.isEmpty()) {
+            cache.putStale(KEY_PRODUCTS, stored);
+            productStore.putAllStale(stored);
+            notifyProductsLoaded(stored);
+        }
+        return stored;
+    }
+
+    private void syncDiskStore(List<Product> products) {
+        try {
+            int written = diskStore.sync(products);
+            if (logger.isDebugEnabled()) {
+                logger.d(TAG, "Product store synced, rows written: " + written);
+            }
+        } catch (IOException e) {
+            logger.e(TAG, "Failed to persist products", e);
+        }
+    }
+
+    /**
+     * Get one page of the catalog (page 0 first).
+     * Cut from the cached full list, fresh or stale (memory first, then disk); callers
+     * revalidate a stale list with getProducts, see isProductListFresh.
+     * With nothing cached, page 0 is fetched alone with limit=pageSize so the first rows
+     * show quickly. The endpoint has no offset, so later pages are cut from one full list
+     * load, shared with getProducts, that updates the memory cache, the id index and the
+     * disk store.
+     * Concurrent callers for the same page share one call.
+     */
+    public ProductResult<Page> getProductPage(int page, int pageSize) {
+        return getProductPage(page, pageSize, new CallHandle());
+    }
+
+    public ProductResult<Page> getProductPage(int page, int pageSize, CallHandle handle) {
+        List<Product> cached = cachedProducts();
+        if (cached != null) {
+            return new ProductResult<>(true, pageOf(cached, page, pageSize), null, true);
+        }
+        if (page == 0) {
+            return coalescer.execute(KEY_PRODUCTS + "?limit=" + pageSize, handle,
+                    shared -> fetchFirstPage(pageSize, shared), ProductResult::cancelled);
+        }
+        ProductResult<List<Product>> result = loadProducts(null, handle);
+        if (result.isCancelled()) {
+            return ProductResult.cancelled();
+        }
+        if (!result.isSuccess()) {
+            return new ProductResult<>(false, null, result.getErrorMessage());
+        }
+        return new ProductResult<>(true, pageOf(result.getData(), page, pageSize), null);
+    }
+
+    /**
+     * True while the cached product list is within its TTL
+     */
+    public boolean isProductListFresh() {
+        ProductMemoryCache.Entry<List<Product>> cached = cache.get(KEY_PRODUCTS);
+        return cached != null && cached.isFresh();
+    }
+
+    /**
+     * The cached product list (fresh or stale), else the disk store's, else null
+     */
+    private List<Product> cachedProducts() {
+        ProductMemoryCache.Entry<List<Product>> cached = cache.get(KEY_PRODUCTS);
+        if (cached != null) {
+            return cached.getValue();
+        }
+        List<Product> stored = restoreFromDisk();
+        return stored.isEmpty() ? null : stored;
+    }
+
+    private static Page pageOf(List<Product> all, int page, int pageSize) {
+        int from = Math.min(page * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        return new Page(page, new ArrayList<>(all.subList(from, to)), to == all.size());
+    }
+
+    /**
+     * First page only; not cached or persisted, since it is not the full list
+     */
+    private ProductResult<Page> fetchFirstPage(int pageSize, CallHandle shared) {
+        try {
+            Call<JsonStream<Product>> call = apiService.streamProducts(pageSize);
+            shared.onCancel(call::cancel);
+            Response<JsonStream<Product>> response = call.execute();
+
+            if (!response.isSuccessful() || response.body() == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
                 return new ProductResult<>(false, null, "Failed to load products: " + response.code());
             }
+            List<Product> products;
+            try (JsonStream<Product> stream = response.body()) {
+                products = stream.nextChunk(pageSize);
+            }
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            productStore.putAll(products);
+            notifyProductsLoaded(products);
+            return new ProductResult<>(true, new Page(0, products, products.size() < pageSize), null);
         } catch (IOException e) {
-            Log.e(TAG, "Error loading products", e);
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            logger.e(TAG, "Error loading product page", e);
             return new ProductResult<>(false, null, "Network error: " + e.getMessage());
         } catch (Exception e) {
-            Log.e(TAG, "Unexpected error loading products", e);
+            logger.e(TAG, "Unexpected error loading product page", e);
             return new ProductResult<>(false, null, "Unexpected error: " + e.getMessage());
         }
     }
 
     /**
-     * Get product by ID
+     * Column snapshot of the full product list.
+     * Built from the cached list (fresh or stale), else the last snapshot, else the disk
+     * store, else the network; rebuilt only after a new list was loaded.
+     */
+    public ProductResult<ProductCatalog> getCatalog() {
+        return getCatalog(new CallHandle());
+    }
+
+    public ProductResult<ProductCatalog> getCatalog(CallHandle handle) {
+        ProductMemoryCache.Entry<List<Product>> cached = cache.get(KEY_PRODUCTS);
+        if (cached != null) {
+            return new ProductResult<>(true, catalogOf(cached.getValue()), null, true);
+        }
+        ProductCatalog built = currentCatalog();
+        if (built != null) {
+            return new ProductResult<>(true, built, null, true);
+        }
+        List<Product> stored = restoreFromDisk();
+        if (!stored.isEmpty()) {
+            return new ProductResult<>(true, catalogOf(stored), null, true);
+        }
+        ProductResult<List<Product>> result = getProducts(handle);
+        if (result.isCancelled()) {
+            return ProductResult.cancelled();
+        }
+        if (!result.isSuccess()) {
+            return new ProductResult<>(false, null, result.getErrorMessage());
+        }
+        return new ProductResult<>(true, catalogOf(result.getData()), null);
+    }
+
+    private synchronized ProductCatalog currentCatalog() {
+        return catalog;
+    }
+
+    private synchronized ProductCatalog catalogOf(List<Product> products) {
+        if (catalogSource != products) {
+            catalog = ProductCatalog.of(products, categoryDictionary);
+            catalogSource = products;
+        }
+        return catalog;
+    }
+
+    /**
+     * Get product from the id index without any network call.
+     * Returns null if the product was never loaded; the entry may be stale.
+     */
+    public ProductMemoryCache.Entry<Product> getIndexedProduct(int id) {
+        return productStore.get(id);
+    }
+
+    /**
+     * Every product loaded so far, fresh or stale, in list order followed by products
+     * loaded only by page, category or detail calls; e.g. to seed a ProductsListener
+     * added after products were delivered
+     */
+    public List<Product> getLoadedProducts() {
+        ProductMemoryCache.Entry<List<Product>> cached = cache.get(KEY_PRODUCTS);
+        List<Product> listed = cached != null ? cached.getValue() : Collections.emptyList();
+        List<Product> indexed = productStore.getAll();
+        List<Product> loaded = new ArrayList<>(Math.max(listed.size(), indexed.size()));
+        Set<Integer> ids = new HashSet<>();
+        for (Product product : listed) {
+            ProductMemoryCache.Entry<Product> latest = productStore.get(product.getId());
+            if (ids.add(product.getId())) {
+                loaded.add(latest != null ? latest.getValue() : product);
+            }
+        }
+        for (Product product : indexed) {
+            if (ids.add(product.getId())) {
+                loaded.add(product);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Get product by ID from network and update the id index.
+     * Concurrent callers for the same id share one in-flight call.
      */
     public ProductResult<Product> getProduct(int id) {
+        return getProduct(id, new CallHandle());
+    }
+
+    /**
+     * Same as getProduct(id); cancelling handle returns a cancelled result
+     */
+    public ProductResult<Product> getProduct(int id, CallHandle handle) {
+        return coalescer.execute(KEY_PRODUCTS + "/" + id, handle, shared -> fetchProduct(id, shared),
+                ProductResult::cancelled);
+    }
+
+    private ProductResult<Product> fetchProduct(int id, CallHandle shared) {
         try {
             Call<Product> call = apiService.getProduct(id);
+            shared.onCancel(call::cancel);
             Response<Product> response = call.execute();
 
             if (response.isSuccessful() && response.body() != null) {
+                productStore.put(response.body());
+                notifyProductsLoaded(Collections.singletonList(response.body()));
                 return new ProductResult<>(true, response.body(), null);
             } else {
                 return new ProductResult<>(false, null, "Failed to load product: " + response.code());
             }
         } catch (IOException e) {
-            Log.e(TAG, "Error loading product", e);
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            logger.e(TAG, "Error loading product", e);
+            return new ProductResult<>(false, null, "Network error: " + e.getMessage());
+        } catch (Exception e) {
+            logger.e(TAG, "Unexpected error loading product", e);
+            return new ProductResult<>(false, null, "Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Category names from the server, interned in CategoryDictionary.
+     * Concurrent callers share one in-flight call.
+     */
+    public ProductResult<List<String>> getCategories() {
+        return getCategories(new CallHandle());
+    }
+
+    public ProductResult<List<String>> getCategories(CallHandle handle) {
+        return coalescer.execute(KEY_CATEGORIES, handle, this::fetchCategories, ProductResult::cancelled);
+    }
+
+    private ProductResult<List<String>> fetchCategories(CallHandle shared) {
+        try {
+            Call<List<String>> call = apiService.getCategories();
+            shared.onCancel(call::cancel);
+            Response<List<String>> response = call.execute();
+
+            if (!response.isSuccessful() || response.body() == null) {
+                return new ProductResult<>(false, null, "Failed to load categories: " + response.code());
+            }
+            List<String> categories = new ArrayList<>(response.body().size());
+            for (String category : response.body()) {
+                if (category != null) {
+                    categories.add(categoryDictionary.intern(category));
+                }
+            }
+            return new ProductResult<>(true, categories, null);
+        } catch (IOException e) {
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            logger.e(TAG, "Error loading categories", e);
+            return new ProductResult<>(false, null, "Network error: " + e.getMessage());
+        } catch (Exception e) {
+            logger.e(TAG, "Unexpected error loading categories", e);
+            return new ProductResult<>(false, null, "Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get every product of one category from network and add them to the id index.
+     * Concurrent callers for the same category share one in-flight call.
+     */
+    public ProductResult<List<Product>> getProductsInCategory(String category) {
+        return getProductsInCategory(category, new CallHandle());
+    }
+
+    public ProductResult<List<Product>> getProductsInCategory(String category, CallHandle handle) {
+        return coalescer.execute(KEY_PRODUCTS + "/category/" + category, handle,
+                shared -> fetchProductsInCategory(category, shared), ProductResult::cancelled);
+    }
+
+    private ProductResult<List<Product>> fetchProductsInCategory(String category, CallHandle shared) {
+        try {
+            Call<JsonStream<Product>> call = apiService.streamProductsInCategory(category);
+            shared.onCancel(call::cancel);
+            Response<JsonStream<Product>> response = call.execute();
+
+            if (!response.isSuccessful() || response.body() == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                return new ProductResult<>(false, null, "Failed to load category: " + response.code());
+            }
+            List<Product> products = new ArrayList<>();
+            try (JsonStream<Product> stream = response.body()) {
+                while (!stream.isFinished() && !shared.isCancelled()) {
+                    products.addAll(stream.nextChunk(STREAM_CHUNK_SIZE));
+                }
+            }
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            productStore.putAll(products);
+            notifyProductsLoaded(products);
+            return new ProductResult<>(true, products, null);
+        } catch (IOException e) {
+            if (shared.isCancelled()) {
+                return ProductResult.cancelled();
+            }
+            logger.e(TAG, "Error loading category " + category, e);
             return new ProductResult<>(false, null, "Network error: " + e.getMessage());
         } catch (Exception e) {
-            Log.e(TAG, "Unexpected error loading product", e);
+            logger.e(TAG, "Unexpected error loading category " + category, e);
             return new ProductResult<>(false, null, "Unexpected error: " + e.getMessage());
         }
     }
 
+    public void addProductsListener(ProductsListener listener) {
+        productsListeners.add(listener);
+    }
+
+    public void removeProductsListener(ProductsListener listener) {
+        productsListeners.remove(listener);
+    }
+
+    private void notifyProductsLoaded(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        List<Product> delivered = Collections.unmodifiableList(products);
+        for (ProductsListener listener : productsListeners) {
+            listener.onProductsLoaded(delivered);
+        }
+    }
+
+    private void notifyProductsRemoved(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Integer> removed = Collections.unmodifiableSet(ids);
+        for (ProductsListener listener : productsListeners) {
+            listener.onProductsRemoved(removed);
+        }
+    }
+
+    /**
+     * Number of product calls that were served by sharing another caller's in-flight call
+     */
+    public long getCoalescedCallCount() {
+        return coalescer.getCoalescedCount();
+    }
+
+    /**
+     * Number of product calls actually sent
+     */
+    public long getExecutedCallCount() {
+        return coalescer.getExecutedCount();
+    }
+
+    /**
+     * Number of product calls whose caller cancelled before the result arrived
+     */
+    public long getCancelledCallCount() {
+        return coalescer.getCancelledCount();
+    }
+
+    /**
+     * Number of product calls stopped mid-flight because every caller sharing them cancelled
+     */
+    public long getAbortedCallCount() {
+        return coalescer.getAbortedCount();
+    }
+
+    /**
+     * Callback for operations that may deliver a cached and then a fresh result
+     */
+    public interface ResultCallback<T> {
+        void onResult(ProductResult<T> result);
+    }
+
+    /**
+     * Callback for items parsed so far from a streamed response, called on the loading thread
+     * (or, for the chunks received before a caller joined, on that caller's thread)
+     */
+    public interface ChunkCallback<T> {
+        void onChunk(List<T> chunk);
+    }
+
+    /**
+     * Receives every product list the repository loads, called on the loading thread;
+     * listeners should hand heavy work to their own thread
+     */
+    public interface ProductsListener {
+        void onProductsLoaded(List<Product> products);
+
+        /**
+         * Products missing from a full list load, so no longer on the server
+         */
+        void onProductsRemoved(Set<Integer> ids);
+    }
+
+    /**
+     * Chunks of one list load, delivered to every caller sharing it whose handle is not cancelled.
+     * Also collects the full list the load returns.
+     */
+    private static class ChunkFanOut {
+        private final List<Product> received = new ArrayList<>();
+        private final List<ChunkCallback<Product>> callbacks = new ArrayList<>();
+        private final List<CallHandle> handles = new ArrayList<>();
+
+        synchronized void subscribe(ChunkCallback<Product> callback, CallHandle handle) {
+            if (!received.isEmpty()) {
+                callback.onChunk(Collections.unmodifiableList(new ArrayList<>(received)));
+            }
+            callbacks.add(callback);
+            handles.add(handle);
+        }
+
+        synchronized void publish(List<Product> chunk) {
+            received.addAll(chunk);
+            List<Product> delivered = Collections.unmodifiableList(chunk);
+            for (int i = 0; i < callbacks.size(); i++) {
+                if (!handles.get(i).isCancelled()) {
+                    callbacks.get(i).onChunk(delivered);
+                }
+            }
+        }
+
+        synchronized List<Product> getReceived() {
+            return received;
+        }
+    }
+
+    /**
+     * One page of the catalog; last is true when no page follows it
+     */
+    public static class Page {
+        private final int index;
+        private final List<Product> products;
+        private final boolean last;
+
+        public Page(int index, List<Product> products, boolean last) {
+            this.index = index;
+            this.products = products;
+            this.last = last;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+
+        public boolean isLast() {
+            return last;
+        }
+    }
+
     /**
      * Result wrapper for product operations
      */
@@ -78,11 +682,30 @@ public class ProductRepository {
         private final boolean success;
         private final T data;
         private final String errorMessage;
+        private final boolean fromCache;
+        private final boolean cancelled;
 
         public ProductResult(boolean success, T data, String errorMessage) {
+            this(success, data, errorMessage, false);
+        }
+
+        public ProductResult(boolean success, T data, String errorMessage, boolean fromCache) {
+            this(success, data, errorMessage, fromCache, false);
+        }
+
+        private ProductResult(boolean success, T data, String errorMessage, boolean fromCache, boolean cancelled) {
             this.success = success;
             this.data = data;
             this.errorMessage = errorMessage;
+            this.fromCache = fromCache;
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Result of a call cancelled through its CallHandle; not successful, and not worth showing
+         */
+        public static <T> ProductResult<T> cancelled() {
+            return new ProductResult<>(false, null, "Cancelled", false, true);
         }
 
         public boolean isSuccess() {
@@ -96,5 +719,13 @@ public class ProductRepository {
         public String getErrorMessage() {
             return errorMessage;
         }
+
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
     }
 }
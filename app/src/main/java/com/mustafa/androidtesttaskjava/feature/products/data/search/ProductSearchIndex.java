@@ -0,0 +1,390 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.search;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+
+import java.text.Normalizer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over product title, category and description for as-you-type search.
+ * Products are indexed incrementally on indexExecutor whenever the repository delivers
+ * them; a product delivered again with changed text replaces its previous version,
+ * and a product the repository reports as removed stops matching.
+ * Text is lowercased, stripped of accents and split on anything that is not a letter
+ * or digit. Every query token must match: the last one as a prefix of a term (the user
+ * may still be typing it), the others as whole terms. Results are ranked by the
+ * field weight of the matched terms, scaled by how rare each term is.
+ * Searches share a read lock, so they run concurrently with each other but not with indexing.
+ */
+public class ProductSearchIndex implements ProductRepository.ProductsListener {
+    private static final int TITLE_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final float EXACT_TERM_BOOST = 1.5f;
+
+    private final Executor indexExecutor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sorted, so the terms starting with a prefix are one contiguous range
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final List<Product> docs = new ArrayList<>();
+    private final Map<Integer, Integer> docByProductId = new HashMap<>();
+    // Docs of replaced or removed products, skipped by search until the next rebuild
+    private final BitSet replacedDocs = new BitSet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public ProductSearchIndex(Executor indexExecutor) {
+        this.indexExecutor = indexExecutor;
+    }
+
+    /**
+     * Index delivered products on indexExecutor, then notify listeners
+     */
+    @Override
+    public void onProductsLoaded(List<Product> products) {
+        indexExecutor.execute(() -> {
+            addAll(products);
+            for (Listener listener : listeners) {
+                listener.onIndexUpdated();
+            }
+        });
+    }
+
+    /**
+     * Index products on the calling thread
+     */
+    public void addAll(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                add(product);
+            }
+            if (replacedDocs.cardinality() > docs.size() / 2) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop removed products on indexExecutor, then notify listeners
+     */
+    @Override
+    public void onProductsRemoved(Set<Integer> ids) {
+        indexExecutor.execute(() -> {
+            removeAll(ids);
+            for (Listener listener : listeners) {
+                listener.onIndexUpdated();
+            }
+        });
+    }
+
+    /**
+     * Remove products on the calling thread
+     */
+    public void removeAll(Collection<Integer> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                Integer doc = docByProductId.remove(id);
+                if (doc != null) {
+                    replacedDocs.set(doc);
+                }
+            }
+            if (replacedDocs.cardinality() > docs.size() / 2) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for query, best first; empty for a blank query
+     */
+    public List<Product> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            int liveCount = docCount - replacedDocs.cardinality();
+            float[] scores = new float[docCount];
+            // Query tokens matched so far per doc; a doc that missed a token can never match
+            int[] matched = new int[docCount];
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+
+            int lastToken = tokens.size() - 1;
+            for (int t = 0; t <= lastToken; t++) {
+                String token = tokens.get(t);
+                Collection<Map.Entry<String, Postings>> expansions = t == lastToken
+                        ? terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()
+                        : exactTerm(token);
+                if (expansions.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                for (Map.Entry<String, Postings> expansion : expansions) {
+                    Postings postings = expansion.getValue();
+                    float termScore = (float) Math.log(1 + (double) liveCount / postings.size);
+                    if (expansion.getKey().length() == token.length()) {
+                        termScore *= EXACT_TERM_BOOST;
+                    }
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        if (matched[doc] < t) {
+                            continue;
+                        }
+                        if (matched[doc] == t) {
+                            matched[doc] = t + 1;
+                            if (t == lastToken && !replacedDocs.get(doc)) {
+                                if (candidateCount == candidates.length) {
+                                    candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                                }
+                                candidates[candidateCount++] = doc;
+                            }
+                        }
+                        scores[doc] += postings.weights[i] * termScore;
+                    }
+                }
+            }
+
+            int[] top = topDocs(candidates, candidateCount, scores, limit);
+            List<Product> results = new ArrayList<>(top.length);
+            for (int doc : top) {
+                results.add(docs.get(doc));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size() - replacedDocs.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Lowercased, accent-free terms of text, in order
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String decomposed = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private void add(Product product) {
+        Integer previous = docByProductId.get(product.getId());
+        if (previous != null) {
+            Product indexed = docs.get(previous);
+            if (Objects.equals(indexed.getTitle(), product.getTitle())
+                    && Objects.equals(indexed.getCategory(), product.getCategory())
+                    && Objects.equals(indexed.getDescription(), product.getDescription())) {
+                docs.set(previous, product);
+                return;
+            }
+            replacedDocs.set(previous);
+        }
+        int doc = docs.size();
+        docs.add(product);
+        docByProductId.put(product.getId(), doc);
+
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, product.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Postings postings = terms.get(entry.getKey());
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(entry.getKey(), postings);
+            }
+            postings.add(doc, entry.getValue());
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Drop replaced versions once they make up most of the index
+     */
+    private void rebuild() {
+        List<Product> live = new ArrayList<>(docs.size() - replacedDocs.cardinality());
+        for (int doc = 0; doc < docs.size(); doc++) {
+            if (!replacedDocs.get(doc)) {
+                live.add(docs.get(doc));
+            }
+        }
+        terms.clear();
+        docs.clear();
+        docByProductId.clear();
+        replacedDocs.clear();
+        for (Product product : live) {
+            add(product);
+        }
+    }
+
+    private Collection<Map.Entry<String, Postings>> exactTerm(String token) {
+        Postings postings = terms.get(token);
+        return postings == null
+                ? Collections.emptyList()
+                : Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>(token, postings));
+    }
+
+    /**
+     * Up to limit docs by descending score (earlier indexed first on ties), via a bounded min-heap
+     */
+    private static int[] topDocs(int[] candidates, int count, float[] scores, int limit) {
+        int size = Math.min(count, limit);
+        int[] heap = new int[size];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            if (heapSize < size) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksBefore(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+        // Pop the worst to the back until the array is best first
+        for (int end = heapSize - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, end, scores);
+        }
+        return heap;
+    }
+
+    private static boolean ranksBefore(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!ranksBefore(heap[parent], heap[index], scores)) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(heap[worst], heap[left], scores)) {
+                worst = left;
+            }
+            if (right < size && ranksBefore(heap[worst], heap[right], scores)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Docs containing one term, in indexing order, with the field weight of the term in each
+     */
+    private static class Postings {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * Notified on the indexing thread after delivered products were indexed
+     */
+    public interface Listener {
+        void onIndexUpdated();
+    }
+}
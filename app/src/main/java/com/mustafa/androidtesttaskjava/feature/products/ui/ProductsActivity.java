@@ -2,6 +2,8 @@ package com.mustafa.androidtesttaskjava.feature.products.ui;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
@@ -10,8 +12,10 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
@@ -21,21 +25,51 @@ import com.mustafa.androidtesttaskjava.App;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 import com.mustafa.androidtesttaskjava.R;
 import com.mustafa.androidtesttaskjava.feature.auth.ui.LoginActivity;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CatalogQuery;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryFacetIndex;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.ProductCatalog;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
 import com.mustafa.androidtesttaskjava.feature.products.ui.adapter.ProductAdapter;
 import com.mustafa.androidtesttaskjava.feature.products.ui.viewmodel.ProductsViewModel;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Products Activity - Products Feature UI
+ * The toolbar search box queries the ViewModel once typing pauses for SEARCH_DEBOUNCE_MS.
+ * The overflow menu sorts the list and filters it by preset price ranges.
+ * The chip bar under the toolbar filters by category; each chip's tag is its category ordinal.
  */
 public class ProductsActivity extends AppCompatActivity {
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private static final int[] SORT_ITEMS = {R.id.sort_default, R.id.sort_price_ascending,
+            R.id.sort_price_descending, R.id.sort_rating, R.id.sort_popularity};
+    private static final ProductCatalog.SortOrder[] SORT_ORDERS = {null, ProductCatalog.SortOrder.PRICE_ASCENDING,
+            ProductCatalog.SortOrder.PRICE_DESCENDING, ProductCatalog.SortOrder.RATING,
+            ProductCatalog.SortOrder.POPULARITY};
+    private static final int[] PRICE_ITEMS = {R.id.price_any, R.id.price_under_25, R.id.price_25_to_100,
+            R.id.price_100_to_500, R.id.price_over_500};
+    private static final double[] PRICE_MIN = {Double.NEGATIVE_INFINITY, 0, 25, 100, 500};
+    private static final double[] PRICE_MAX = {Double.POSITIVE_INFINITY, 25, 100, 500, Double.POSITIVE_INFINITY};
     private RecyclerView rvProducts;
     private ProgressBar progressBar;
     private TextView tvError;
+    private ChipGroup chipGroupCategories;
+    private final Map<Integer, Chip> categoryChips = new HashMap<>();
     private ProductAdapter adapter;
     private ProductsViewModel viewModel;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -62,17 +96,28 @@ public class ProductsActivity extends AppCompatActivity {
         rvProducts = findViewById(R.id.rv_products);
         progressBar = findViewById(R.id.progress_bar);
         tvError = findViewById(R.id.tv_error);
+        chipGroupCategories = findViewById(R.id.chip_group_categories);
         findViewById(R.id.card_error).setVisibility(View.GONE);
     }
 
     private void setupRecyclerView() {
+        App app = (App) getApplication();
         adapter = new ProductAdapter(product -> {
             Intent intent = new Intent(this, ProductDetailActivity.class);
             intent.putExtra("product_id", product.getId());
             startActivity(intent);
-        });
-        rvProducts.setLayoutManager(new LinearLayoutManager(this));
+        }, app.getAppComponent().imageLoader());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvProducts.setLayoutManager(layoutManager);
         rvProducts.setAdapter(adapter);
+        // Drives page prefetch and eviction in ProductsViewModel
+        rvProducts.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                viewModel.onVisibleRange(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
     }
 
     private void setupViewModel() {
@@ -91,7 +136,7 @@ public class ProductsActivity extends AppCompatActivity {
                 findViewById(R.id.card_error).setVisibility(View.GONE);
                 rvProducts.setVisibility(View.VISIBLE);
             } else {
-                tvError.setText(R.string.no_products);
+                tvError.setText(viewModel.isSearchActive() ? R.string.no_search_results : R.string.no_products);
                 findViewById(R.id.card_error).setVisibility(View.VISIBLE);
                 rvProducts.setVisibility(View.GONE);
             }
@@ -108,6 +153,14 @@ public class ProductsActivity extends AppCompatActivity {
             }
         });
 
+        viewModel.getCategories().observe(this, this::showCategories);
+        chipGroupCategories.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            if (!checkedIds.isEmpty()) {
+                Chip chip = group.findViewById(checkedIds.get(0));
+                viewModel.selectCategory((Integer) chip.getTag());
+            }
+        });
+
         viewModel.getLogoutSuccess().observe(this, success -> {
             if (success != null && success) {
                 navigateToLogin();
@@ -115,18 +168,144 @@ public class ProductsActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Update the chips in place: counts change on every loaded batch, so only changed labels
+     * are set, and chips are added, moved or removed only when the categories change
+     */
+    private void showCategories(List<CategoryFacetIndex.Facet> facets) {
+        int selected = viewModel.getSelectedCategory();
+        Set<Integer> ordinals = new HashSet<>();
+        for (CategoryFacetIndex.Facet facet : facets) {
+            ordinals.add(facet.getOrdinal());
+        }
+        Iterator<Map.Entry<Integer, Chip>> chips = categoryChips.entrySet().iterator();
+        while (chips.hasNext()) {
+            Map.Entry<Integer, Chip> entry = chips.next();
+            if (entry.getKey() != CategoryDictionary.NONE && !ordinals.contains(entry.getKey())) {
+                chipGroupCategories.removeView(entry.getValue());
+                chips.remove();
+            }
+        }
+        if (!categoryChips.containsKey(CategoryDictionary.NONE)) {
+            addCategoryChip(CategoryDictionary.NONE, getString(R.string.all_categories), 0, selected);
+        }
+        for (int i = 0; i < facets.size(); i++) {
+            CategoryFacetIndex.Facet facet = facets.get(i);
+            String label = facet.getCount() > 0
+                    ? getString(R.string.category_with_count, facet.getName(), facet.getCount())
+                    : facet.getName();
+            Chip chip = categoryChips.get(facet.getOrdinal());
+            if (chip == null) {
+                addCategoryChip(facet.getOrdinal(), label, i + 1, selected);
+                continue;
+            }
+            if (!label.contentEquals(chip.getText())) {
+                chip.setText(label);
+            }
+            if (chipGroupCategories.indexOfChild(chip) != i + 1) {
+                chipGroupCategories.removeView(chip);
+                chipGroupCategories.addView(chip, i + 1);
+            }
+        }
+    }
+
+    private void addCategoryChip(int ordinal, String label, int index, int selected) {
+        Chip chip = new Chip(this);
+        chip.setId(View.generateViewId());
+        chip.setText(label);
+        chip.setTag(ordinal);
+        chip.setCheckable(true);
+        chipGroupCategories.addView(chip, index);
+        categoryChips.put(ordinal, chip);
+        if (ordinal == selected) {
+            chipGroupCategories.check(chip.getId());
+        }
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.menu_products, menu);
+        SearchView searchView = (SearchView) menu.findItem(R.id.menu_search).getActionView();
+        searchView.setQueryHint(getString(R.string.search_hint));
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchNow(query);
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                scheduleSearch(newText);
+                return true;
+            }
+        });
         return true;
     }
 
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        CatalogQuery query = viewModel.getCatalogQuery();
+        for (int i = 0; i < SORT_ITEMS.length; i++) {
+            if (SORT_ORDERS[i] == query.getSortOrder()) {
+                menu.findItem(SORT_ITEMS[i]).setChecked(true);
+            }
+        }
+        for (int i = 0; i < PRICE_ITEMS.length; i++) {
+            if (PRICE_MIN[i] == query.getMinPrice() && PRICE_MAX[i] == query.getMaxPrice()) {
+                menu.findItem(PRICE_ITEMS[i]).setChecked(true);
+            }
+        }
+        return super.onPrepareOptionsMenu(menu);
+    }
+
+    private void scheduleSearch(String query) {
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+        }
+        pendingSearch = () -> searchNow(query);
+        searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
+    }
+
+    private void searchNow(String query) {
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        viewModel.search(query);
+    }
+
+    @Override
+    protected void onDestroy() {
+        searchHandler.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == R.id.menu_logout) {
             showLogoutDialog();
             return true;
         }
+        for (int i = 0; i < SORT_ITEMS.length; i++) {
+            if (item.getItemId() == SORT_ITEMS[i]) {
+                item.setChecked(true);
+                viewModel.setSortOrder(SORT_ORDERS[i]);
+                return true;
+            }
+        }
+        for (int i = 0; i < PRICE_ITEMS.length; i++) {
+            if (item.getItemId() == PRICE_ITEMS[i]) {
+                item.setChecked(true);
+                if (i == 0) {
+                    viewModel.clearPriceRange();
+                } else {
+                    viewModel.setPriceRange(PRICE_MIN[i], PRICE_MAX[i]);
+                }
+                return true;
+            }
+        }
         return super.onOptionsItemSelected(item);
     }
 
@@ -3,31 +3,43 @@ package com.mustafa.androidtesttaskjava.feature.products.ui.adapter;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.mustafa.androidtesttaskjava.R;
+import com.mustafa.androidtesttaskjava.core.image.ImageLoader;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * RecyclerView adapter for products list.
  * Uses ViewHolder pattern for optimal performance.
+ * New lists are diffed against the current one on a background thread
+ * (AsyncListDiffer, keyed by product id), and item ids are stable, so a
+ * refresh only rebinds rows that changed.
+ * Rows bind precomputed ProductItem strings, so binding does no formatting.
+ * Null items are rows of pages that are not in memory and bind as empty placeholders.
+ * Thumbnails load through ImageLoader and are cancelled when a row is recycled.
  */
 public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ViewHolder> {
-    private List<Product> products = new ArrayList<>();
+    private final AsyncListDiffer<ProductItem> differ = new AsyncListDiffer<>(this, new ProductDiffCallback());
     private OnProductClickListener listener;
+    private final ImageLoader imageLoader;
 
     public interface OnProductClickListener {
         void onProductClick(Product product);
     }
 
-    public ProductAdapter(OnProductClickListener listener) {
+    public ProductAdapter(OnProductClickListener listener, ImageLoader imageLoader) {
         this.listener = listener;
+        this.imageLoader = imageLoader;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -40,43 +52,77 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Product product = products.get(position);
-        holder.bind(product);
+        ProductItem item = differ.getCurrentList().get(position);
+        if (item != null) {
+            holder.bind(item);
+        } else {
+            holder.bindPlaceholder();
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        imageLoader.cancel(holder.ivProductImage);
     }
 
     @Override
     public int getItemCount() {
-        return products.size();
+        return differ.getCurrentList().size();
     }
 
-    public void setProducts(List<Product> products) {
-        this.products = products != null ? products : new ArrayList<>();
-        notifyDataSetChanged();
+    @Override
+    public long getItemId(int position) {
+        ProductItem item = differ.getCurrentList().get(position);
+        // Product ids are positive, so placeholder ids never collide with them
+        return item != null ? item.getId() : -(position + 1L);
+    }
+
+    /**
+     * Submit a new list; pass a new list instance for every update, the same instance is ignored
+     */
+    public void setProducts(List<ProductItem> products) {
+        differ.submitList(products);
     }
 
     class ViewHolder extends RecyclerView.ViewHolder {
         private final TextView tvProductTitle;
         private final TextView tvProductPrice;
         private final TextView tvProductCategory;
+        private final ImageView ivProductImage;
+        private final int thumbnailSize;
 
         ViewHolder(@NonNull View itemView) {
             super(itemView);
             tvProductTitle = itemView.findViewById(R.id.tv_product_title);
             tvProductPrice = itemView.findViewById(R.id.tv_product_price);
             tvProductCategory = itemView.findViewById(R.id.tv_product_category);
+            ivProductImage = itemView.findViewById(R.id.iv_product_image);
+            thumbnailSize = itemView.getResources().getDimensionPixelSize(R.dimen.product_thumbnail_size);
 
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onProductClick(products.get(position));
+                    ProductItem item = differ.getCurrentList().get(position);
+                    if (item != null) {
+                        listener.onProductClick(item.getProduct());
+                    }
                 }
             });
         }
 
-        void bind(Product product) {
-            tvProductTitle.setText(product.getTitle());
-            tvProductPrice.setText(String.format("$%.2f", product.getPrice()));
-            tvProductCategory.setText(product.getCategory());
+        void bind(ProductItem item) {
+            tvProductTitle.setText(item.getTitle());
+            tvProductPrice.setText(item.getPriceText());
+            tvProductCategory.setText(item.getCategoryLabel());
+            imageLoader.load(item.getImageUrl(), ivProductImage, thumbnailSize, thumbnailSize);
+        }
+
+        void bindPlaceholder() {
+            tvProductTitle.setText(null);
+            tvProductPrice.setText(null);
+            tvProductCategory.setText(null);
+            imageLoader.cancel(ivProductImage);
+            ivProductImage.setImageDrawable(null);
         }
     }
 }
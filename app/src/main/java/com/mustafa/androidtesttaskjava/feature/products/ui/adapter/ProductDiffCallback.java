@@ -0,0 +1,43 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+
+import java.util.Objects;
+
+/**
+ * Products are the same item when their ids match and unchanged when every field matches,
+ * so a refresh only rebinds rows whose data actually changed.
+ */
+public class ProductDiffCallback extends DiffUtil.ItemCallback<ProductItem> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull ProductItem oldItem, @NonNull ProductItem newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull ProductItem oldItem, @NonNull ProductItem newItem) {
+        return sameProduct(oldItem.getProduct(), newItem.getProduct());
+    }
+
+    private static boolean sameProduct(Product oldItem, Product newItem) {
+        return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                && Double.compare(oldItem.getPrice(), newItem.getPrice()) == 0
+                && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                && Objects.equals(oldItem.getImage(), newItem.getImage())
+                && sameRating(oldItem.getRating(), newItem.getRating());
+    }
+
+    private static boolean sameRating(Product.Rating oldRating, Product.Rating newRating) {
+        if (oldRating == null || newRating == null) {
+            return oldRating == newRating;
+        }
+        return Double.compare(oldRating.getRate(), newRating.getRate()) == 0
+                && oldRating.getCount() == newRating.getCount();
+    }
+}
@@ -4,6 +4,7 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -16,7 +17,8 @@ import androidx.lifecycle.ViewModelProvider;
 import com.mustafa.androidtesttaskjava.App;
 
 import com.mustafa.androidtesttaskjava.R;
-import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.core.image.ImageLoader;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
 import com.mustafa.androidtesttaskjava.feature.products.ui.viewmodel.ProductDetailViewModel;
 
 /**
@@ -30,6 +32,8 @@ public class ProductDetailFragment extends Fragment {
     private TextView tvProductCategory;
     private TextView tvProductDescription;
     private TextView tvProductRating;
+    private ImageView ivProductImage;
+    private ImageLoader imageLoader;
     private ProgressBar progressBar;
     private ProductDetailViewModel viewModel;
     private int productId;
@@ -69,11 +73,21 @@ public class ProductDetailFragment extends Fragment {
         tvProductCategory = view.findViewById(R.id.tv_product_category);
         tvProductDescription = view.findViewById(R.id.tv_product_description);
         tvProductRating = view.findViewById(R.id.tv_product_rating);
+        ivProductImage = view.findViewById(R.id.iv_product_image);
         progressBar = view.findViewById(R.id.progress_bar);
     }
 
+    @Override
+    public void onDestroyView() {
+        if (imageLoader != null) {
+            imageLoader.cancel(ivProductImage);
+        }
+        super.onDestroyView();
+    }
+
     private void setupViewModel() {
         App app = (App) requireActivity().getApplication();
+        imageLoader = app.getAppComponent().imageLoader();
         ViewModelProvider.Factory factory = app.getAppComponent().viewModelFactory();
         viewModel = new ViewModelProvider(this, factory).get(ProductDetailViewModel.class);
 
@@ -96,17 +110,18 @@ public class ProductDetailFragment extends Fragment {
         viewModel.loadProduct(productId);
     }
 
-    private void displayProduct(Product product) {
+    private void displayProduct(ProductItem product) {
         tvProductTitle.setText(product.getTitle());
-        tvProductPrice.setText(String.format("$%.2f", product.getPrice()));
-        tvProductCategory.setText(product.getCategory());
+        tvProductPrice.setText(product.getPriceText());
+        tvProductCategory.setText(product.getCategoryLabel());
         tvProductDescription.setText(product.getDescription());
+        // Decode for the screen width, the view may not be laid out yet
+        imageLoader.load(product.getImageUrl(), ivProductImage,
+                getResources().getDisplayMetrics().widthPixels,
+                getResources().getDimensionPixelSize(R.dimen.product_image_height));
 
-        if (product.getRating() != null) {
-            String ratingText = String.format("%.1f ⭐ (%d reviews)", 
-                    product.getRating().getRate(), 
-                    product.getRating().getCount());
-            tvProductRating.setText(ratingText);
+        if (product.getRatingText() != null) {
+            tvProductRating.setText(product.getRatingText());
         }
     }
 }
@@ -0,0 +1,56 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.model;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+/**
+ * Product with its display strings already formatted (see ProductItemMapper),
+ * so binding a row or the detail screen only sets text.
+ */
+public class ProductItem {
+    private final Product product;
+    private final String priceText;
+    private final String categoryLabel;
+    private final String ratingText;
+
+    public ProductItem(Product product, String priceText, String categoryLabel, String ratingText) {
+        this.product = product;
+        this.priceText = priceText;
+        this.categoryLabel = categoryLabel;
+        this.ratingText = ratingText;
+    }
+
+    public int getId() {
+        return product.getId();
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public String getTitle() {
+        return product.getTitle();
+    }
+
+    public String getDescription() {
+        return product.getDescription();
+    }
+
+    public String getImageUrl() {
+        return product.getImage();
+    }
+
+    public String getPriceText() {
+        return priceText;
+    }
+
+    public String getCategoryLabel() {
+        return categoryLabel;
+    }
+
+    /**
+     * Rating line such as "4.1 ⭐ (259 reviews)", null if the product has no rating
+     */
+    public String getRatingText() {
+        return ratingText;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.model;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats products into ProductItems once, on the loading thread.
+ * Same text as the previous String.format("$%.2f") and "%.1f ⭐ (%d reviews)"
+ * in the mapper's locale, but without going through Formatter for every row.
+ * Like Formatter, values are rounded HALF_UP from their shortest decimal form
+ * (BigDecimal.valueOf), not from the exact binary double, so 1.005 gives "1.01".
+ */
+public class ProductItemMapper {
+    private final DecimalFormat priceFormat;
+    private final DecimalFormat rateFormat;
+
+    public ProductItemMapper() {
+        this(Locale.getDefault());
+    }
+
+    public ProductItemMapper(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        priceFormat = new DecimalFormat("0.00", symbols);
+        priceFormat.setRoundingMode(RoundingMode.HALF_UP);
+        rateFormat = new DecimalFormat("0.0", symbols);
+        rateFormat.setRoundingMode(RoundingMode.HALF_UP);
+    }
+
+    /**
+     * DecimalFormat is not thread-safe, so calls are serialized
+     */
+    public synchronized ProductItem map(Product product) {
+        return new ProductItem(product,
+                "$" + priceFormat.format(BigDecimal.valueOf(product.getPrice())),
+                product.getCategory() != null ? product.getCategory() : "",
+                formatRating(product.getRating()));
+    }
+
+    public synchronized List<ProductItem> map(List<Product> products) {
+        List<ProductItem> items = new ArrayList<>(products.size());
+        for (Product product : products) {
+            items.add(map(product));
+        }
+        return items;
+    }
+
+    private String formatRating(Product.Rating rating) {
+        if (rating == null) {
+            return null;
+        }
+        return rateFormat.format(BigDecimal.valueOf(rating.getRate())) + " ⭐ (" + rating.getCount() + " reviews)";
+    }
+}
@@ -0,0 +1,272 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.paging;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads the product list page by page as the user scrolls.
+ * The next page is requested once the last visible row is within prefetchDistance
+ * rows of the end of what is loaded. Pages more than retainPages pages away from the
+ * visible ones are evicted and show as null placeholders; they are loaded again when
+ * they come back within prefetchDistance of the visible rows.
+ * The published list keeps one slot per loaded row, so scroll positions stay stable.
+ * Thread-safe; pages load on the given executor and are mapped to ProductItems there.
+ * Pages outside the visible range load on prefetchExecutor, so an executor with
+ * priorities can run them after pages the user is waiting for.
+ */
+public class ProductPager {
+    private final PageLoader loader;
+    private final Executor executor;
+    private final Executor prefetchExecutor;
+    private final ProductItemMapper itemMapper;
+    private final Listener listener;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int retainPages;
+
+    private final List<List<ProductItem>> pages = new ArrayList<>();
+    private final List<Integer> pageSizes = new ArrayList<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private int generation;
+    private boolean endReached;
+    private int lastFirstVisible;
+    private int lastLastVisible = -1;
+
+    /**
+     * @param pageSize         products per request
+     * @param prefetchDistance rows ahead of (and behind) the visible range that should be loaded
+     * @param retainPages      pages kept in memory on each side of the visible pages
+     */
+    public ProductPager(PageLoader loader,
+                        Executor executor,
+                        ProductItemMapper itemMapper,
+                        Listener listener,
+                        int pageSize,
+                        int prefetchDistance,
+                        int retainPages) {
+        this(loader, executor, executor, itemMapper, listener, pageSize, prefetchDistance, retainPages);
+    }
+
+    /**
+     * @param prefetchExecutor runs loads of pages that are not visible yet
+     */
+    public ProductPager(PageLoader loader,
+                        Executor executor,
+                        Executor prefetchExecutor,
+                        ProductItemMapper itemMapper,
+                        Listener listener,
+                        int pageSize,
+                        int prefetchDistance,
+                        int retainPages) {
+        this.loader = loader;
+        this.executor = executor;
+        this.prefetchExecutor = prefetchExecutor;
+        this.itemMapper = itemMapper;
+        this.listener = listener;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.retainPages = retainPages;
+    }
+
+    /**
+     * Drop everything and load the first page
+     */
+    public synchronized void refresh() {
+        generation++;
+        pages.clear();
+        pageSizes.clear();
+        loading.clear();
+        endReached = false;
+        lastFirstVisible = 0;
+        lastLastVisible = -1;
+        load(0);
+    }
+
+    /**
+     * Load the pages held in memory again, e.g. after their source was revalidated.
+     * Each page keeps its slot count, so positions do not shift; evicted pages reload on scroll.
+     */
+    public synchronized void reload() {
+        for (int page = 0; page < pages.size(); page++) {
+            if (pages.get(page) != null) {
+                load(page);
+            }
+        }
+    }
+
+    /**
+     * Report the visible adapter positions; loads, prefetches and evicts pages around them
+     */
+    public synchronized void onVisibleRange(int firstVisible, int lastVisible) {
+        if (lastVisible < firstVisible || firstVisible < 0) {
+            return;
+        }
+        lastFirstVisible = firstVisible;
+        lastLastVisible = lastVisible;
+        int loadedRows = loadedRowCount();
+        if (!endReached && lastVisible + prefetchDistance >= loadedRows) {
+            load(pages.size());
+        }
+
+        int firstWanted = pageOf(Math.max(0, firstVisible - prefetchDistance));
+        int lastWanted = pageOf(Math.min(Math.max(0, loadedRows - 1), lastVisible + prefetchDistance));
+        for (int page = firstWanted; page <= lastWanted && page < pages.size(); page++) {
+            if (pages.get(page) == null) {
+                load(page);
+            }
+        }
+
+        if (evictOutside(pageOf(firstVisible) - retainPages, pageOf(lastVisible) + retainPages)) {
+            publish();
+        }
+    }
+
+    /**
+     * Number of pages whose rows are held in memory
+     */
+    public synchronized int getResidentPageCount() {
+        int resident = 0;
+        for (List<ProductItem> page : pages) {
+            if (page != null) {
+                resident++;
+            }
+        }
+        return resident;
+    }
+
+    /**
+     * Number of row slots loaded so far, including rows of evicted pages
+     */
+    public synchronized int getLoadedRowCount() {
+        return loadedRowCount();
+    }
+
+    public synchronized boolean isEndReached() {
+        return endReached;
+    }
+
+    private void load(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+        int requestGeneration = generation;
+        boolean visible = lastLastVisible < 0
+                || (page >= pageOf(lastFirstVisible) && page <= pageOf(lastLastVisible));
+        (visible ? executor : prefetchExecutor).execute(() -> {
+            ProductRepository.ProductResult<ProductRepository.Page> result = loader.loadPage(page, pageSize);
+            List<ProductItem> items = result.isSuccess()
+                    ? itemMapper.map(result.getData().getProducts())
+                    : null;
+            onPageLoaded(requestGeneration, page, result, items);
+        });
+    }
+
+    private synchronized void onPageLoaded(int requestGeneration,
+                                           int page,
+                                           ProductRepository.ProductResult<ProductRepository.Page> result,
+                                           List<ProductItem> items) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(page);
+        if (!result.isSuccess()) {
+            listener.onError(result.getErrorMessage());
+            return;
+        }
+        if (page == pages.size()) {
+            pages.add(items);
+            pageSizes.add(items.size());
+            endReached = result.getData().isLast();
+        } else if (page < pages.size()) {
+            // Reloaded evicted page; keep its slot count so positions do not shift
+            pages.set(page, fit(items, pageSizes.get(page)));
+        }
+        if (lastLastVisible >= 0) {
+            evictOutside(pageOf(lastFirstVisible) - retainPages, pageOf(lastLastVisible) + retainPages);
+        }
+        publish();
+        if (page == pages.size() - 1 && !endReached
+                && lastLastVisible + prefetchDistance >= loadedRowCount()) {
+            // Fast fling: the newly loaded page is still within prefetch distance
+            load(pages.size());
+        }
+    }
+
+    private boolean evictOutside(int firstRetained, int lastRetained) {
+        boolean evicted = false;
+        for (int page = 0; page < pages.size(); page++) {
+            if ((page < firstRetained || page > lastRetained) && pages.get(page) != null) {
+                pages.set(page, null);
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+
+    private void publish() {
+        List<ProductItem> rows = new ArrayList<>(loadedRowCount());
+        for (int page = 0; page < pages.size(); page++) {
+            List<ProductItem> items = pages.get(page);
+            if (items != null) {
+                rows.addAll(items);
+            } else {
+                rows.addAll(Collections.nCopies(pageSizes.get(page), null));
+            }
+        }
+        listener.onRowsChanged(rows);
+    }
+
+    private int loadedRowCount() {
+        int count = 0;
+        for (int size : pageSizes) {
+            count += size;
+        }
+        return count;
+    }
+
+    private int pageOf(int position) {
+        return position / pageSize;
+    }
+
+    /**
+     * Pad or trim a reloaded page to the slot count it had when first loaded
+     */
+    private static List<ProductItem> fit(List<ProductItem> items, int size) {
+        if (items.size() == size) {
+            return items;
+        }
+        List<ProductItem> fitted = new ArrayList<>(Arrays.asList(new ProductItem[size]));
+        for (int i = 0; i < Math.min(size, items.size()); i++) {
+            fitted.set(i, items.get(i));
+        }
+        return fitted;
+    }
+
+    /**
+     * Source of pages, e.g. ProductRepository::getProductPage; called on the pager's executor
+     */
+    public interface PageLoader {
+        ProductRepository.ProductResult<ProductRepository.Page> loadPage(int page, int pageSize);
+    }
+
+    /**
+     * Called with the lock held on the loading thread or the thread reporting scroll
+     */
+    public interface Listener {
+        /**
+         * Full row list; rows of evicted pages are null
+         */
+        void onRowsChanged(List<ProductItem> rows);
+
+        void onError(String message);
+    }
+}
@@ -7,26 +7,32 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
+import com.mustafa.androidtesttaskjava.core.network.CallHandle;
 import com.mustafa.androidtesttaskjava.feature.auth.data.repository.AuthRepository;
+import com.mustafa.androidtesttaskjava.feature.products.data.cache.ProductMemoryCache;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
 import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
 
 import javax.inject.Inject;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 /**
  * ViewModel for Product Detail feature following MVVM architecture.
  * Uses Dagger 2 for Dependency Injection.
+ * Loads run on the shared IoExecutor through a scope cancelled in onCleared;
+ * revalidating a product already on screen is prefetch work.
+ * Loading another product cancels the previous load's network call, as does onCleared.
  */
-@AppScope
 public class ProductDetailViewModel extends AndroidViewModel {
     private final ProductRepository productRepository;
     private final AuthRepository authRepository;
-    private final ExecutorService executorService;
-    private final MutableLiveData<Product> product = new MutableLiveData<>();
+    private final IoExecutor.Scope ioScope;
+    private final ProductItemMapper itemMapper = new ProductItemMapper();
+    // Handle of the latest loadProduct, main thread only
+    private CallHandle productCall = new CallHandle();
+    private final MutableLiveData<ProductItem> product = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private final MutableLiveData<Boolean> logoutSuccess = new MutableLiveData<>();
@@ -34,30 +40,62 @@ public class ProductDetailViewModel extends AndroidViewModel {
     @Inject
     public ProductDetailViewModel(@NonNull Application application,
                                    AuthRepository authRepository,
-                                   ProductRepository productRepository) {
+                                   ProductRepository productRepository,
+                                   IoExecutor ioExecutor) {
         super(application);
         this.authRepository = authRepository;
         this.productRepository = productRepository;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.ioScope = ioExecutor.newScope();
     }
 
     public void loadProduct(int productId) {
-        isLoading.setValue(true);
+        productCall.cancel();
+        CallHandle call = new CallHandle();
+        productCall = call;
         errorMessage.setValue(null);
 
-        executorService.execute(() -> {
-            ProductRepository.ProductResult<Product> result = productRepository.getProduct(productId);
+        // Render instantly from products the list already loaded
+        ProductMemoryCache.Entry<Product> indexed = productRepository.getIndexedProduct(productId);
+        if (indexed != null) {
+            isLoading.setValue(false);
+            product.setValue(itemMapper.map(indexed.getValue()));
+            if (!indexed.isFresh()) {
+                revalidateProduct(productId, call);
+            }
+            return;
+        }
+
+        isLoading.setValue(true);
+
+        ioScope.execute(() -> {
+            ProductRepository.ProductResult<Product> result = productRepository.getProduct(productId, call);
+            if (result.isCancelled()) {
+                // Superseded or cleared; whoever cancelled owns the loading state
+                return;
+            }
             isLoading.postValue(false);
 
             if (result.isSuccess()) {
-                product.postValue(result.getData());
+                product.postValue(itemMapper.map(result.getData()));
             } else {
                 errorMessage.postValue(result.getErrorMessage());
             }
         });
     }
 
-    public LiveData<Product> getProduct() {
+    /**
+     * Refresh a stale indexed product in background, keeping it on screen if refresh fails
+     */
+    private void revalidateProduct(int productId, CallHandle call) {
+        ioScope.execute(IoExecutor.Lane.PREFETCH, () -> {
+            ProductRepository.ProductResult<Product> result = productRepository.getProduct(productId, call);
+            if (result.isSuccess()) {
+                product.postValue(itemMapper.map(result.getData()));
+            }
+        });
+    }
+
+    public LiveData<ProductItem> getProduct() {
         return product;
     }
 
@@ -76,6 +114,7 @@ public class ProductDetailViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        executorService.shutdown();
+        productCall.cancel();
+        ioScope.cancel();
     }
 }
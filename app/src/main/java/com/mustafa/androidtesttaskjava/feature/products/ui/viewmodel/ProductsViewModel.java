@@ -7,27 +7,94 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.mustafa.androidtesttaskjava.core.di.scope.AppScope;
+import com.mustafa.androidtesttaskjava.core.concurrent.IoExecutor;
+import com.mustafa.androidtesttaskjava.core.network.CallHandle;
 import com.mustafa.androidtesttaskjava.feature.auth.data.repository.AuthRepository;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CatalogQuery;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryFacetIndex;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.ProductCatalog;
 import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
 import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.feature.products.data.search.ProductSearchIndex;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
+import com.mustafa.androidtesttaskjava.feature.products.ui.paging.ProductPager;
 
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ViewModel for Products list feature following MVVM architecture.
  * Uses Dagger 2 for Dependency Injection.
+ * Products are loaded page by page (ProductPager) as the list scrolls and mapped
+ * to ProductItems (formatted display strings) on the loading thread, so the list
+ * binds without formatting. Only the mapped rows of pages near the visible ones are kept;
+ * once the full list was loaded the repository still holds all of its products.
+ * On a cold start only page 0 is fetched (limit=pageSize). The products endpoint has no
+ * offset, so the first later page, search, sort or price filter loads the full list once,
+ * and every following page is cut from it.
+ * Pages cut from a stale cached list are shown at once; the full list is then reloaded
+ * in the background and the shown pages are reloaded from it.
+ * A sort order or price range lists the rows of the repository's ProductCatalog
+ * snapshot instead, still page by page.
+ * Selecting a category alone lists its posting list from CategoryFacetIndex, which
+ * costs the category's size rather than the catalog's; the category is fetched from
+ * products/category/{name} first unless it was already prefetched. Category names come
+ * from products/categories, with counts from the facet index.
+ * A non-empty search query replaces the rows with ranked matches from ProductSearchIndex;
+ * the first search loads the full catalog in the background so it gets indexed, and
+ * the current query is re-run whenever the index grows.
+ * Loads run on the shared IoExecutor through one scope, up to LOAD_PARALLELISM at once,
+ * so the state they share is replaced as immutable snapshots; searches run through another
+ * scope so they never wait behind a page load. Both are cancelled in onCleared, together with
+ * every repository call still in flight (repositoryCalls). Pages the user
+ * is not looking at yet, the full catalog for search and category prefetches go
+ * through the PREFETCH lane.
  */
-@AppScope
 public class ProductsViewModel extends AndroidViewModel {
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 20; // rows
+    private static final int RETAIN_PAGES = 3; // on each side of the visible pages
+    private static final int SEARCH_LIMIT = 100;
+    // Page, category and revalidation loads of ioScope running at once
+    private static final int LOAD_PARALLELISM = 2;
     private final ProductRepository productRepository;
     private final AuthRepository authRepository;
-    private final ExecutorService executorService;
-    private final MutableLiveData<List<Product>> products = new MutableLiveData<>();
+    private final IoExecutor.Scope ioScope;
+    private final ProductPager pager;
+    private final ProductSearchIndex searchIndex;
+    private final IoExecutor.Scope searchScope;
+    private final ProductItemMapper itemMapper = new ProductItemMapper();
+    private final CallHandle repositoryCalls = new CallHandle();
+    private final ProductSearchIndex.Listener indexListener = this::onIndexUpdated;
+    private final CategoryFacetIndex facetIndex;
+    private final CategoryDictionary categoryDictionary;
+    private final CategoryFacetIndex.Listener facetListener = this::publishCategories;
+    // Ordinals whose products/category/{name} call succeeded
+    private final Set<Integer> fetchedCategories = ConcurrentHashMap.newKeySet();
+    private volatile List<String> serverCategories = Collections.emptyList();
+    private final AtomicBoolean catalogRequested = new AtomicBoolean();
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    // Bumped for every search, so only the latest query posts its results
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+    private volatile String searchQuery;
+    private volatile List<ProductItem> pagedRows;
+    private volatile CatalogQuery catalogQuery = CatalogQuery.ALL;
+    // Rows of the last query, reused while paging through it
+    private volatile ListedRows listedRows;
+    // Products of the last listed category
+    private volatile ListedCategory listedCategory;
+    private final MutableLiveData<List<CategoryFacetIndex.Facet>> categories = new MutableLiveData<>();
+    private final MutableLiveData<List<ProductItem>> products = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private final MutableLiveData<Boolean> logoutSuccess = new MutableLiveData<>();
@@ -35,39 +102,289 @@ public class ProductsViewModel extends AndroidViewModel {
     @Inject
     public ProductsViewModel(@NonNull Application application, 
                              AuthRepository authRepository,
-                             ProductRepository productRepository) {
+                             ProductRepository productRepository,
+                             ProductSearchIndex searchIndex,
+                             CategoryFacetIndex facetIndex,
+                             CategoryDictionary categoryDictionary,
+                             IoExecutor ioExecutor) {
         super(application);
         this.authRepository = authRepository;
         this.productRepository = productRepository;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.categoryDictionary = categoryDictionary;
+        this.ioScope = ioExecutor.newScope(LOAD_PARALLELISM);
+        this.searchScope = ioExecutor.newScope();
+        this.pager = new ProductPager(this::loadListingPage, ioScope, ioScope.lane(IoExecutor.Lane.PREFETCH),
+                itemMapper, new ProductPager.Listener() {
+                    @Override
+                    public void onRowsChanged(List<ProductItem> rows) {
+                        isLoading.postValue(false);
+                        pagedRows = rows;
+                        if (searchQuery == null) {
+                            products.postValue(rows);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        isLoading.postValue(false);
+                        // A failed prefetch keeps the loaded rows; the next scroll retries it
+                        if (pager.getLoadedRowCount() == 0) {
+                            errorMessage.postValue(message);
+                        }
+                    }
+                }, PAGE_SIZE, PREFETCH_DISTANCE, RETAIN_PAGES);
+        searchIndex.addListener(indexListener);
+        facetIndex.addListener(facetListener);
+        publishCategories();
         loadProducts();
+        ioScope.execute(IoExecutor.Lane.PREFETCH, this::loadCategories);
     }
 
     public void loadProducts() {
         isLoading.setValue(true);
         errorMessage.setValue(null);
+        pager.refresh();
+    }
+
+    /**
+     * Called by the list on scroll with the visible adapter positions
+     */
+    public void onVisibleRange(int firstVisible, int lastVisible) {
+        if (searchQuery == null) {
+            pager.onVisibleRange(firstVisible, lastVisible);
+        }
+    }
+
+    /**
+     * Sort the list; null restores catalog order
+     */
+    public void setSortOrder(ProductCatalog.SortOrder sortOrder) {
+        setCatalogQuery(catalogQuery.withSortOrder(sortOrder));
+    }
+
+    /**
+     * Only list products priced within [minPrice, maxPrice)
+     */
+    public void setPriceRange(double minPrice, double maxPrice) {
+        setCatalogQuery(catalogQuery.withPriceRange(minPrice, maxPrice));
+    }
+
+    public void clearPriceRange() {
+        setCatalogQuery(catalogQuery.withoutPriceRange());
+    }
+
+    /**
+     * Only list one category; CategoryDictionary.NONE lists all.
+     * Also prefetches the category from the server, so its count is complete even when
+     * a sort or price range lists it from the catalog snapshot.
+     */
+    public void selectCategory(int categoryOrdinal) {
+        if (categoryOrdinal != CategoryDictionary.NONE) {
+            ioScope.execute(IoExecutor.Lane.PREFETCH, () -> prefetchCategory(categoryOrdinal));
+        }
+        setCatalogQuery(catalogQuery.withCategory(categoryOrdinal));
+    }
+
+    public int getSelectedCategory() {
+        return catalogQuery.getCategoryOrdinal();
+    }
+
+    public CatalogQuery getCatalogQuery() {
+        return catalogQuery;
+    }
+
+    private void setCatalogQuery(CatalogQuery query) {
+        if (query.equals(catalogQuery)) {
+            return;
+        }
+        catalogQuery = query;
+        loadProducts();
+    }
+
+    private ProductRepository.ProductResult<ProductRepository.Page> loadListingPage(int page, int pageSize) {
+        CatalogQuery query = catalogQuery;
+        if (query.isIdentity()) {
+            ProductRepository.ProductResult<ProductRepository.Page> result =
+                    productRepository.getProductPage(page, pageSize, repositoryCalls);
+            // A network page 0 is not the full list; load it only when it is needed
+            if (result.isSuccess() && result.isFromCache() && !productRepository.isProductListFresh()) {
+                revalidateProducts();
+            }
+            return result;
+        }
+        if (query.isCategoryOnly()) {
+            return loadCategoryPage(query.getCategoryOrdinal(), page, pageSize);
+        }
+        ProductRepository.ProductResult<ProductCatalog> catalog = productRepository.getCatalog(repositoryCalls);
+        if (!catalog.isSuccess()) {
+            return new ProductRepository.ProductResult<>(false, null, catalog.getErrorMessage());
+        }
+        ListedRows listed = listedRows;
+        if (listed == null || listed.catalog != catalog.getData() || !query.equals(listed.query)) {
+            listed = new ListedRows(catalog.getData(), query, query.apply(catalog.getData()));
+            listedRows = listed;
+        }
+        int from = Math.min(page * pageSize, listed.rows.length);
+        int to = Math.min(from + pageSize, listed.rows.length);
+        return new ProductRepository.ProductResult<>(true, new ProductRepository.Page(page,
+                listed.catalog.getProducts(listed.rows, from, to), to == listed.rows.length), null);
+    }
+
+    private ProductRepository.ProductResult<ProductRepository.Page> loadCategoryPage(int ordinal, int page,
+                                                                                    int pageSize) {
+        String error = prefetchCategory(ordinal);
+        int version = facetIndex.getVersion();
+        ListedCategory listed = listedCategory;
+        if (listed == null || listed.ordinal != ordinal || listed.facetVersion != version) {
+            listed = new ListedCategory(ordinal, version, facetIndex.getProducts(ordinal));
+            listedCategory = listed;
+        }
+        List<Product> all = listed.products;
+        if (error != null && all.isEmpty()) {
+            return new ProductRepository.ProductResult<>(false, null, error);
+        }
+        int from = Math.min(page * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        return new ProductRepository.ProductResult<>(true, new ProductRepository.Page(page,
+                new ArrayList<>(all.subList(from, to)), to == all.size()), null);
+    }
+
+    /**
+     * Fetch the category's products into the facet index once; returns the error if that failed
+     */
+    private String prefetchCategory(int ordinal) {
+        if (fetchedCategories.contains(ordinal)) {
+            return null;
+        }
+        ProductRepository.ProductResult<List<Product>> result =
+                productRepository.getProductsInCategory(categoryDictionary.nameOf(ordinal), repositoryCalls);
+        if (!result.isSuccess()) {
+            return result.getErrorMessage();
+        }
+        fetchedCategories.add(ordinal);
+        return null;
+    }
 
-        executorService.execute(() -> {
-            ProductRepository.ProductResult<List<Product>> result = productRepository.getProducts();
-            isLoading.postValue(false);
+    private void loadCategories() {
+        ProductRepository.ProductResult<List<String>> result = productRepository.getCategories(repositoryCalls);
+        if (result.isSuccess()) {
+            serverCategories = result.getData();
+            publishCategories();
+        }
+    }
 
-            if (result.isSuccess()) {
-                products.postValue(result.getData());
-            } else {
-                errorMessage.postValue(result.getErrorMessage());
+    /**
+     * Server categories in server order, then any others seen only on products, with loaded counts
+     */
+    private void publishCategories() {
+        List<CategoryFacetIndex.Facet> loaded = facetIndex.getFacets();
+        List<String> names = serverCategories;
+        List<CategoryFacetIndex.Facet> facets = new ArrayList<>(names.size() + loaded.size());
+        Set<Integer> listed = new HashSet<>();
+        for (String name : names) {
+            int ordinal = categoryDictionary.ordinalOf(name);
+            if (listed.add(ordinal)) {
+                facets.add(new CategoryFacetIndex.Facet(ordinal, name, facetIndex.getCount(ordinal)));
+            }
+        }
+        for (CategoryFacetIndex.Facet facet : loaded) {
+            if (listed.add(facet.getOrdinal()) && !facet.getName().isEmpty()) {
+                facets.add(facet);
+            }
+        }
+        categories.postValue(facets);
+    }
+
+    /**
+     * Show matches for query instead of the paged list; a blank query shows the list again.
+     * Callers should debounce keystrokes.
+     */
+    public void search(String query) {
+        String trimmed = query != null ? query.trim() : "";
+        if (trimmed.isEmpty()) {
+            searchQuery = null;
+            searchGeneration.incrementAndGet();
+            List<ProductItem> rows = pagedRows;
+            if (rows != null) {
+                products.setValue(rows);
+            }
+            return;
+        }
+        searchQuery = trimmed;
+        requestFullCatalog();
+        runSearch(trimmed);
+    }
+
+    public boolean isSearchActive() {
+        return searchQuery != null;
+    }
+
+    private void runSearch(String query) {
+        int generation = searchGeneration.incrementAndGet();
+        searchScope.execute(() -> {
+            List<ProductItem> results = itemMapper.map(searchIndex.search(query, SEARCH_LIMIT));
+            if (searchGeneration.get() == generation) {
+                products.postValue(results);
             }
         });
     }
 
+    private void onIndexUpdated() {
+        String query = searchQuery;
+        if (query != null) {
+            runSearch(query);
+        }
+    }
+
+    /**
+     * Pages only cover what was scrolled; load the whole catalog once so search sees all of it
+     */
+    private void requestFullCatalog() {
+        if (catalogRequested.compareAndSet(false, true)) {
+            ioScope.execute(IoExecutor.Lane.PREFETCH, () -> productRepository.getProducts(null, result -> {
+                if (!result.isSuccess()) {
+                    catalogRequested.set(false);
+                }
+            }, repositoryCalls));
+        }
+    }
+
+    /**
+     * Pages were cut from a stale list: load the full list in the background, then reload
+     * the shown pages from it
+     */
+    private void revalidateProducts() {
+        if (revalidating.compareAndSet(false, true)) {
+            ioScope.execute(IoExecutor.Lane.PREFETCH, () -> {
+                try {
+                    if (productRepository.getProducts(repositoryCalls).isSuccess()) {
+                        pager.reload();
+                    }
+                } finally {
+                    revalidating.set(false);
+                }
+            });
+        }
+    }
+
     public void logout() {
         authRepository.logout();
         logoutSuccess.postValue(true);
     }
 
-    public LiveData<List<Product>> getProducts() {
+    public LiveData<List<ProductItem>> getProducts() {
         return products;
     }
 
+    /**
+     * Categories for the filter bar, with the number of their products loaded so far
+     */
+    public LiveData<List<CategoryFacetIndex.Facet>> getCategories() {
+        return categories;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -80,9 +397,43 @@ public class ProductsViewModel extends AndroidViewModel {
         return logoutSuccess;
     }
 
+    /**
+     * Rows of one query over one catalog snapshot
+     */
+    private static final class ListedRows {
+        final ProductCatalog catalog;
+        final CatalogQuery query;
+        final int[] rows;
+
+        ListedRows(ProductCatalog catalog, CatalogQuery query, int[] rows) {
+            this.catalog = catalog;
+            this.query = query;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Products of one category and the facet index version they were taken at
+     */
+    private static final class ListedCategory {
+        final int ordinal;
+        final int facetVersion;
+        final List<Product> products;
+
+        ListedCategory(int ordinal, int facetVersion, List<Product> products) {
+            this.ordinal = ordinal;
+            this.facetVersion = facetVersion;
+            this.products = products;
+        }
+    }
+
     @Override
     protected void onCleared() {
         super.onCleared();
-        executorService.shutdown();
+        searchIndex.removeListener(indexListener);
+        facetIndex.removeListener(facetListener);
+        repositoryCalls.cancel();
+        ioScope.cancel();
+        searchScope.cancel();
     }
 }
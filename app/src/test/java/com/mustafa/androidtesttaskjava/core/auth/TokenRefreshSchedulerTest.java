@@ -0,0 +1,123 @@
+package com.mustafa.androidtesttaskjava.core.auth;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies proactive token refresh: scheduling ahead of expiry, pausing in background,
+ * following token changes, and the minimum interval between refreshes.
+ */
+public class TokenRefreshSchedulerTest {
+    private AuthManager authManager;
+    private CountingRefreshHandler refreshHandler;
+    private TokenRefreshScheduler scheduler;
+
+    private void createScheduler(long validityMillis, long marginMillis, long minIntervalMillis) {
+        authManager = new AuthManager(new FakeSharedPreferences(), validityMillis);
+        refreshHandler = new CountingRefreshHandler(authManager);
+        scheduler = new TokenRefreshScheduler(authManager, refreshHandler, marginMillis, minIntervalMillis,
+                Logger.NONE);
+        authManager.addTokenListener(scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.onBackground();
+        }
+    }
+
+    @Test
+    public void foreground_refreshesBeforeTokenExpires() throws InterruptedException {
+        createScheduler(600, 400, 10_000);
+        authManager.saveToken("initial");
+
+        scheduler.onForeground();
+
+        assertTrue(refreshHandler.awaitRefresh(2_000));
+        assertTrue("refresh ran while the old token was still valid", refreshHandler.tokenWasValid);
+        assertEquals("refreshed-1", authManager.getToken());
+    }
+
+    @Test
+    public void background_stopsRefresh_foregroundResumesIt() throws InterruptedException {
+        createScheduler(300, 200, 10_000);
+        authManager.saveToken("initial");
+        scheduler.onForeground();
+        scheduler.onBackground();
+
+        Thread.sleep(400);
+        assertEquals(0, refreshHandler.refreshes.get());
+
+        scheduler.onForeground();
+        assertTrue(refreshHandler.awaitRefresh(2_000));
+    }
+
+    @Test
+    public void tokenChange_reschedulesRefresh() throws InterruptedException {
+        createScheduler(300, 200, 10_000);
+        scheduler.onForeground();
+
+        // Nothing to refresh without a token; a saved token schedules one, clearing cancels it
+        authManager.saveToken("initial");
+        authManager.clearAuth();
+        Thread.sleep(400);
+        assertEquals(0, refreshHandler.refreshes.get());
+
+        authManager.saveToken("second");
+        assertTrue(refreshHandler.awaitRefresh(2_000));
+    }
+
+    @Test
+    public void marginAboveValidity_refreshesAtMostOncePerMinInterval() throws InterruptedException {
+        createScheduler(100, 1_000, 300);
+        authManager.saveToken("initial");
+
+        scheduler.onForeground();
+        Thread.sleep(700);
+        scheduler.onBackground();
+
+        // Every refresh saves a token whose deadline is already inside the margin:
+        // without the minimum interval this would call login in a tight loop
+        int refreshes = refreshHandler.refreshes.get();
+        assertTrue("refreshes: " + refreshes, refreshes >= 1 && refreshes <= 3);
+    }
+
+    private static class CountingRefreshHandler implements TokenRefreshHandler {
+        private final AuthManager authManager;
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final CountDownLatch firstRefresh = new CountDownLatch(1);
+        private volatile boolean tokenWasValid;
+
+        CountingRefreshHandler(AuthManager authManager) {
+            this.authManager = authManager;
+        }
+
+        @Override
+        public boolean refreshToken() {
+            tokenWasValid = authManager.getToken() != null;
+            authManager.saveToken("refreshed-" + refreshes.incrementAndGet());
+            firstRefresh.countDown();
+            return true;
+        }
+
+        @Override
+        public void onRefreshFailed() {
+        }
+
+        boolean awaitRefresh(long timeoutMillis) throws InterruptedException {
+            return firstRefresh.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.mustafa.androidtesttaskjava.core.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies lane priority, serial and parallel scopes, cancellation and metrics of IoExecutor.
+ */
+public class IoExecutorTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Test
+    public void pool_runsUserVisibleWorkBeforeQueuedPrefetches() throws Exception {
+        IoExecutor executor = new IoExecutor("test-io", 1);
+        CountDownLatch release = block(executor);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        executor.execute(IoExecutor.Lane.PREFETCH, record(order, "prefetch 1", done));
+        executor.execute(IoExecutor.Lane.PREFETCH, record(order, "prefetch 2", done));
+        executor.execute(record(order, "visible", done));
+        release.countDown();
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("visible", "prefetch 1", "prefetch 2"), order);
+    }
+
+    @Test
+    public void scope_runsOneTaskAtATimeOnNamedThreads() throws Exception {
+        IoExecutor executor = new IoExecutor("test-io", 4);
+        IoExecutor.Scope scope = executor.newScope();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            scope.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                threads.add(Thread.currentThread().getName());
+                sleep(2);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (String thread : threads) {
+            assertTrue(thread, thread.startsWith("test-io-"));
+        }
+    }
+
+    @Test
+    public void scopeWithParallelism_runsTasksConcurrentlyUpToItsLimit() throws Exception {
+        IoExecutor executor = new IoExecutor("test-io", 4);
+        IoExecutor.Scope scope = executor.newScope(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        // The first two tasks only finish once both are running
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            scope.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                bothStarted.countDown();
+                await(bothStarted);
+                sleep(2);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, bothStarted.getCount());
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void cancel_dropsQueuedAndLaterTasks() throws Exception {
+        IoExecutor executor = new IoExecutor("test-io", 1);
+        IoExecutor.Scope scope = executor.newScope();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+
+        scope.execute(() -> {
+            started.countDown();
+            await(release);
+            ran.incrementAndGet();
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        scope.execute(ran::incrementAndGet);
+        scope.execute(IoExecutor.Lane.PREFETCH, ran::incrementAndGet);
+        assertEquals(1, executor.snapshot(IoExecutor.Lane.PREFETCH).getQueueDepth());
+
+        scope.cancel();
+        scope.execute(ran::incrementAndGet);
+        release.countDown();
+        // A later unscoped task runs after the running one, so the scope had its chance
+        CountDownLatch drained = new CountDownLatch(1);
+        executor.execute(drained::countDown);
+        assertTrue(drained.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertEquals(1, ran.get());
+        IoExecutor.LaneSnapshot visible = executor.snapshot(IoExecutor.Lane.USER_VISIBLE);
+        IoExecutor.LaneSnapshot prefetch = executor.snapshot(IoExecutor.Lane.PREFETCH);
+        assertEquals(2, visible.getCancelledCount());
+        assertEquals(1, prefetch.getCancelledCount());
+        assertEquals(0, visible.getQueueDepth());
+        assertEquals(0, prefetch.getQueueDepth());
+        assertTrue(scope.isCancelled());
+    }
+
+    @Test
+    public void metrics_recordWaitTimeOfQueuedWork() throws Exception {
+        IoExecutor executor = new IoExecutor("test-io", 1);
+        CountDownLatch release = block(executor);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(IoExecutor.Lane.PREFETCH, done::countDown);
+
+        sleep(50);
+        assertEquals(1, executor.snapshot(IoExecutor.Lane.PREFETCH).getQueueDepth());
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        IoExecutor.LaneSnapshot prefetch = executor.snapshot(IoExecutor.Lane.PREFETCH);
+        assertEquals(1, prefetch.getSubmittedCount());
+        assertEquals(1, prefetch.getWait().getCount());
+        assertTrue(prefetch.getWait().getMaxMillis() >= 40);
+    }
+
+    /**
+     * Occupy the executor's only thread until the returned latch is released
+     */
+    private static CountDownLatch block(IoExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static Runnable record(List<String> order, String name, CountDownLatch done) {
+        return () -> {
+            order.add(name);
+            done.countDown();
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
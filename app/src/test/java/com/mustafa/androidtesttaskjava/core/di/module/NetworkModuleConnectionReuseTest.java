@@ -0,0 +1,109 @@
+package com.mustafa.androidtesttaskjava.core.di.module;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.AuthInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.NetworkMetrics;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandlerImpl;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that the refresh client and the main client share one connection pool.
+ * Counts new server-side connections across several token refreshes.
+ */
+public class NetworkModuleConnectionReuseTest {
+    private static final long TOKEN_VALIDITY_MS = 200;
+    private static final int REFRESH_ROUNDS = 3;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/auth/login")) {
+                    return new MockResponse().setBody("{\"token\":\"token\"}");
+                }
+                return new MockResponse().setBody("[]");
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void derivedClients_shareConnectionsAcrossRefreshes() throws Exception {
+        OkHttpClient rootClient = new NetworkModule().provideRootOkHttpClient(null, new NetworkMetrics());
+
+        int newConnections = runRefreshRounds(rootClient.newBuilder().build(), rootClient);
+
+        assertEquals(1, newConnections);
+    }
+
+    @Test
+    public void separateClients_openConnectionPerClient() throws Exception {
+        int newConnections = runRefreshRounds(new OkHttpClient(), new OkHttpClient());
+
+        assertEquals(2, newConnections);
+    }
+
+    private int runRefreshRounds(OkHttpClient refreshClient, OkHttpClient mainBaseClient) throws Exception {
+        AuthManager authManager = new AuthManager(new FakeSharedPreferences(), TOKEN_VALIDITY_MS);
+        authManager.saveCredentials("mor_2314", "83r5^_");
+
+        AuthApiService authApiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(refreshClient)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(AuthApiService.class);
+        TokenRefreshHandler refreshHandler = new TokenRefreshHandlerImpl(authManager, authApiService, Logger.NONE);
+        OkHttpClient mainClient = mainBaseClient.newBuilder()
+                .addInterceptor(new AuthInterceptor(authManager, refreshHandler, Logger.NONE))
+                .build();
+
+        for (int i = 0; i < REFRESH_ROUNDS; i++) {
+            Request request = new Request.Builder().url(server.url("/products")).build();
+            try (Response response = mainClient.newCall(request).execute()) {
+                assertEquals(200, response.code());
+            }
+            Thread.sleep(TOKEN_VALIDITY_MS + 50);
+        }
+
+        // Sequence number 0 means the request was the first on a fresh connection
+        int newConnections = 0;
+        int requestCount = server.getRequestCount();
+        for (int i = 0; i < requestCount; i++) {
+            if (server.takeRequest().getSequenceNumber() == 0) {
+                newConnections++;
+            }
+        }
+        assertEquals(REFRESH_ROUNDS * 2, requestCount);
+        return newConnections;
+    }
+}
@@ -0,0 +1,80 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Verifies LRU trimming, persistence across instances and the downsampling math.
+ */
+public class ImageDiskCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void put_thenGet_returnsSameBytes() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(folder.getRoot(), 1024);
+        byte[] bytes = {1, 2, 3};
+
+        cache.put("https://example.com/a.jpg", bytes);
+
+        assertArrayEquals(bytes, cache.get("https://example.com/a.jpg"));
+        assertNull(cache.get("https://example.com/b.jpg"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void put_overLimit_evictsLeastRecentlyUsed() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(folder.getRoot(), 250);
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+        cache.get("a");
+
+        cache.put("c", new byte[100]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(200, cache.size());
+        assertEquals(2, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void newInstance_indexesExistingFilesAndDropsTempFiles() throws IOException {
+        new ImageDiskCache(folder.getRoot(), 1024).put("a", new byte[10]);
+        new File(folder.getRoot(), "partial.tmp").createNewFile();
+
+        ImageDiskCache reopened = new ImageDiskCache(folder.getRoot(), 1024);
+
+        assertEquals(10, reopened.size());
+        assertNotNull(reopened.get("a"));
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void put_largerThanCache_isNotStored() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(folder.getRoot(), 10);
+
+        cache.put("a", new byte[11]);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void sampleSize_keepsDecodedImageAtLeastTargetSize() {
+        assertEquals(1, ImageDownsampler.sampleSize(100, 100, 72, 72));
+        assertEquals(4, ImageDownsampler.sampleSize(1000, 1000, 200, 200));
+        // Limited by the smaller ratio
+        assertEquals(2, ImageDownsampler.sampleSize(1000, 500, 100, 200));
+        assertEquals(1, ImageDownsampler.sampleSize(1000, 1000, 0, 0));
+    }
+}
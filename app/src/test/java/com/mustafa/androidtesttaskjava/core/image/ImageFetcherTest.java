@@ -0,0 +1,186 @@
+package com.mustafa.androidtesttaskjava.core.image;
+
+import com.mustafa.androidtesttaskjava.testutil.NoDelayServerSocketFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies request deduplication, disk cache hits and cancellation in ImageFetcher.
+ */
+public class ImageFetcherTest {
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4};
+    private static final long SLOW_DELAY_MS = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private ExecutorService executor;
+    private ImageFetcher fetcher;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setBody(new Buffer().write(IMAGE));
+                if (request.getPath().startsWith("/slow")) {
+                    response.setHeadersDelay(SLOW_DELAY_MS, TimeUnit.MILLISECONDS);
+                } else {
+                    response.setHeadersDelay(100, TimeUnit.MILLISECONDS);
+                }
+                return response;
+            }
+        });
+        server.start();
+        executor = Executors.newSingleThreadExecutor();
+        fetcher = newFetcher();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void fetch_sameUrlConcurrently_downloadsOnce() throws InterruptedException {
+        String url = server.url("/img/1.png").toString();
+        Recorder recorder = new Recorder(10);
+
+        for (int i = 0; i < 10; i++) {
+            fetcher.fetch(url, recorder);
+        }
+
+        assertTrue(recorder.await());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, fetcher.getNetworkLoadCount());
+        assertEquals(9, fetcher.getDeduplicatedCount());
+        for (byte[] bytes : recorder.loaded) {
+            assertArrayEquals(IMAGE, bytes);
+        }
+    }
+
+    @Test
+    public void fetch_afterDownload_isServedFromDisk() throws InterruptedException {
+        String url = server.url("/img/1.png").toString();
+        Recorder first = new Recorder(1);
+        fetcher.fetch(url, first);
+        assertTrue(first.await());
+
+        // A new fetcher has no memory of the first load, only the shared disk cache
+        ImageFetcher restarted = newFetcher();
+        Recorder second = new Recorder(1);
+        restarted.fetch(url, second);
+
+        assertTrue(second.await());
+        assertArrayEquals(IMAGE, second.loaded.get(0));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, restarted.getDiskHitCount());
+        assertEquals(0, restarted.getNetworkLoadCount());
+    }
+
+    @Test
+    public void cancel_lastCaller_abortsDownloadAndFreesWorker() throws InterruptedException {
+        Recorder slow = new Recorder(1);
+        ImageFetcher.Handle handle = fetcher.fetch(server.url("/slow/1.png").toString(), slow);
+        server.takeRequest(1, TimeUnit.SECONDS);
+
+        handle.cancel();
+        // The single worker only gets to this fetch once the slow call is aborted
+        Recorder next = new Recorder(1);
+        fetcher.fetch(server.url("/img/2.png").toString(), next);
+
+        assertTrue(next.await(SLOW_DELAY_MS / 2));
+        assertEquals(0, slow.loaded.size() + slow.failures.size());
+    }
+
+    @Test
+    public void cancel_oneOfTwoCallers_keepsLoadForTheOther() throws InterruptedException {
+        String url = server.url("/img/1.png").toString();
+        Recorder cancelled = new Recorder(1);
+        Recorder kept = new Recorder(1);
+
+        ImageFetcher.Handle handle = fetcher.fetch(url, cancelled);
+        fetcher.fetch(url, kept);
+        handle.cancel();
+
+        assertTrue(kept.await());
+        assertEquals(1, kept.loaded.size());
+        assertEquals(0, cancelled.loaded.size());
+    }
+
+    @Test
+    public void cancel_beforeStart_neverHitsNetwork() throws InterruptedException {
+        Recorder blocker = new Recorder(1);
+        fetcher.fetch(server.url("/img/1.png").toString(), blocker);
+        ImageFetcher.Handle queued = fetcher.fetch(server.url("/img/2.png").toString(), new Recorder(1));
+
+        queued.cancel();
+
+        assertTrue(blocker.await());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private ImageFetcher newFetcher() {
+        return new ImageFetcher(new OkHttpClient(),
+                new ImageDiskCache(folder.getRoot(), 1024 * 1024), executor);
+    }
+
+    private static class Recorder implements ImageFetcher.Callback {
+        final List<byte[]> loaded = new CopyOnWriteArrayList<>();
+        final List<IOException> failures = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        Recorder(int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onLoaded(byte[] bytes) {
+            loaded.add(bytes);
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailed(IOException error) {
+            failures.add(error);
+            latch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return await(2000);
+        }
+
+        boolean await(long timeoutMs) throws InterruptedException {
+            return latch.await(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mustafa.androidtesttaskjava.core.logging;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+import com.mustafa.androidtesttaskjava.testutil.NoDelayServerSocketFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that release builds install no HTTP logging and that debug builds
+ * log full bodies only for the sampled calls.
+ */
+public class SampledHttpLoggingInterceptorTest {
+    private static final int PRODUCT_COUNT = 20;
+
+    private MockWebServer server;
+    private String payload;
+
+    @Before
+    public void setUp() throws Exception {
+        payload = new Gson().toJson(FakeProductApiService.generateProducts(PRODUCT_COUNT));
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(okhttp3.mockwebserver.RecordedRequest request) {
+                return new MockResponse().setBody(payload);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void releaseLogger_dropsDebugAndDisablesHttpLogging() {
+        Logger release = new AndroidLogger(false);
+        assertFalse(release.isDebugEnabled());
+        assertFalse(new SampledHttpLoggingInterceptor(release, 1).isEnabled());
+        assertTrue(new SampledHttpLoggingInterceptor(new AndroidLogger(true), 0).isEnabled());
+    }
+
+    @Test
+    public void sampledBodyLogging_logsBodyForOneInN() throws IOException {
+        List<String> lines = new ArrayList<>();
+        Logger debug = new RecordingLogger(lines);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new SampledHttpLoggingInterceptor(debug, 3))
+                .build();
+
+        int bodyLines = 0;
+        for (int i = 0; i < 6; i++) {
+            execute(client);
+        }
+        for (String line : lines) {
+            if (line.equals(payload)) {
+                bodyLines++;
+            }
+        }
+        assertEquals(2, bodyLines);
+    }
+
+    private void execute(OkHttpClient client) throws IOException {
+        Request request = new Request.Builder().url(server.url("/products")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            response.body().string();
+        }
+    }
+
+    /**
+     * Debug logger that keeps debug lines
+     */
+    private static class RecordingLogger implements Logger {
+        private final List<String> lines;
+
+        RecordingLogger(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public void d(String tag, String message) {
+            lines.add(message);
+        }
+
+        @Override
+        public void w(String tag, String message) {
+        }
+
+        @Override
+        public void w(String tag, String message, Throwable throwable) {
+        }
+
+        @Override
+        public void e(String tag, String message) {
+        }
+
+        @Override
+        public void e(String tag, String message, Throwable throwable) {
+        }
+    }
+}
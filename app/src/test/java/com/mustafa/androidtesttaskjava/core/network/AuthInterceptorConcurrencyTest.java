@@ -0,0 +1,126 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Stress test for single-flight token refresh.
+ * Hundreds of concurrent requests hitting an expired token must trigger exactly one login call.
+ */
+public class AuthInterceptorConcurrencyTest {
+    private static final int CONCURRENT_REQUESTS = 300;
+    private static final long TOKEN_VALIDITY_MS = 3000;
+
+    private MockWebServer server;
+    private final AtomicInteger loginCalls = new AtomicInteger();
+    private final AtomicInteger unauthorizedCalls = new AtomicInteger();
+    private OkHttpClient client;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/auth/login")) {
+                    int call = loginCalls.incrementAndGet();
+                    return new MockResponse()
+                            .setBody("{\"token\":\"token-" + call + "\"}")
+                            .setBodyDelay(100, TimeUnit.MILLISECONDS);
+                }
+                if (request.getHeader("Authorization") == null) {
+                    unauthorizedCalls.incrementAndGet();
+                    return new MockResponse().setResponseCode(401);
+                }
+                return new MockResponse().setBody("[]");
+            }
+        });
+        server.start();
+
+        AuthManager authManager = new AuthManager(new FakeSharedPreferences(), TOKEN_VALIDITY_MS);
+        authManager.saveCredentials("mor_2314", "83r5^_");
+
+        AuthApiService authApiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(AuthApiService.class);
+        TokenRefreshHandler refreshHandler = new TokenRefreshHandlerImpl(authManager, authApiService, Logger.NONE);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(CONCURRENT_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(CONCURRENT_REQUESTS);
+        client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(new AuthInterceptor(authManager, refreshHandler, Logger.NONE))
+                .authenticator(new TokenAuthenticator(authManager, refreshHandler, Logger.NONE))
+                .build();
+        executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentRequests_singleLoginPerExpiry() throws Exception {
+        runConcurrentRequests();
+        assertEquals(1, loginCalls.get());
+
+        // Let the refreshed token expire and hammer again
+        Thread.sleep(TOKEN_VALIDITY_MS + 200);
+        runConcurrentRequests();
+        assertEquals(2, loginCalls.get());
+
+        assertEquals(0, unauthorizedCalls.get());
+    }
+
+    private void runConcurrentRequests() throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                Request request = new Request.Builder().url(server.url("/products")).build();
+                try (Response response = client.newCall(request).execute()) {
+                    return response.code();
+                }
+            }));
+        }
+        startGate.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(200, (int) result.get(30, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.testutil.FakeChain;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies the header AuthInterceptor adds from the in-memory token snapshot.
+ */
+public class AuthInterceptorTest {
+    private AuthManager authManager;
+    private Request request;
+
+    @Before
+    public void setUp() {
+        authManager = new AuthManager(new FakeSharedPreferences());
+        authManager.saveToken("test-token");
+        request = new Request.Builder().url("https://fakestoreapi.com/products").build();
+    }
+
+    @Test
+    public void snapshotInterceptor_addsHeader() throws IOException {
+        AuthInterceptor interceptor = new AuthInterceptor(authManager, new NoOpRefreshHandler(), Logger.NONE);
+        FakeChain chain = new FakeChain(request);
+
+        interceptor.intercept(chain);
+
+        assertEquals("Bearer test-token", chain.getProceededRequest().header("Authorization"));
+    }
+
+    private static class NoOpRefreshHandler implements TokenRefreshHandler {
+        @Override
+        public boolean refreshToken() {
+            return false;
+        }
+
+        @Override
+        public void onRefreshFailed() {
+        }
+    }
+}
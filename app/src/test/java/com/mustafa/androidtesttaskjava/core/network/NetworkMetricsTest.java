@@ -0,0 +1,148 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequest;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies endpoint templating, phase histograms and connection reuse counters
+ * recorded by NetworkEventListener.
+ */
+public class NetworkMetricsTest {
+    private static final long SERVER_DELAY_MS = 20;
+
+    private MockWebServer server;
+    private NetworkMetrics metrics;
+    private ProductApiService productApi;
+    private AuthApiService authApi;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                MockResponse response;
+                if (path.startsWith("/auth/login")) {
+                    response = new MockResponse().setBody("{\"token\":\"token\"}");
+                } else if (path.equals("/products")) {
+                    response = new MockResponse().setBody("[]");
+                } else {
+                    response = new MockResponse().setBody("{\"id\":1}");
+                }
+                return response.setHeadersDelay(SERVER_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        metrics = new NetworkMetrics();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .eventListenerFactory(new NetworkEventListener.Factory(metrics))
+                .build();
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(NetworkModule.createGson()))
+                .build();
+        productApi = retrofit.create(ProductApiService.class);
+        authApi = retrofit.create(AuthApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void snapshot_groupsCallsByEndpointTemplate() throws IOException {
+        authApi.login(new LoginRequest("user", "pass")).execute();
+        productApi.getProducts().execute();
+        for (int id = 1; id <= 5; id++) {
+            productApi.getProduct(id).execute();
+        }
+
+        assertEquals(3, metrics.snapshot().size());
+        assertEquals(1, metrics.snapshot("auth/login").getCallCount());
+        assertEquals(1, metrics.snapshot("products").getCallCount());
+
+        NetworkMetrics.EndpointSnapshot detail = metrics.snapshot("products/{id}");
+        assertEquals(5, detail.getCallCount());
+        assertEquals(0, detail.getFailureCount());
+        // The first call opened the only connection, every later call reused it
+        assertEquals(5, detail.getReusedConnectionCount());
+        assertEquals(1, metrics.snapshot("auth/login").getNewConnectionCount());
+
+        LatencyHistogram.Snapshot ttfb = detail.getPhase(NetworkMetrics.Phase.TTFB);
+        assertEquals(5, ttfb.getCount());
+        assertTrue(ttfb.getPercentileMillis(50) >= SERVER_DELAY_MS * 0.875);
+        assertTrue(detail.getPhase(NetworkMetrics.Phase.TOTAL).getPercentileMillis(99)
+                >= ttfb.getPercentileMillis(50));
+        assertEquals(5, detail.getPhase(NetworkMetrics.Phase.RESPONSE_BODY).getCount());
+    }
+
+    @Test
+    public void callsOutsideRetrofit_shareKnownOrFixedEndpoints() throws IOException {
+        productApi.getProduct(1).execute();
+        OkHttpClient plain = new OkHttpClient.Builder()
+                .eventListenerFactory(new NetworkEventListener.Factory(metrics))
+                .build();
+        OkHttpClient images = new OkHttpClient.Builder()
+                .eventListenerFactory(new NetworkEventListener.Factory(metrics, "image"))
+                .build();
+
+        execute(plain, "/products/7");
+        execute(plain, "/img/81fPKd-2AYL._AC_SL1500_.jpg");
+        execute(plain, "/img/71li-ujtlUL._AC_UX679_.jpg");
+        execute(images, "/img/81fPKd-2AYL._AC_SL1500_.jpg");
+        execute(images, "/img/71li-ujtlUL._AC_UX679_.jpg");
+
+        assertEquals(3, metrics.snapshot().size());
+        assertEquals(2, metrics.snapshot("products/{id}").getCallCount());
+        assertEquals(2, metrics.snapshot(NetworkEventListener.OTHER_ENDPOINT).getCallCount());
+        assertEquals(2, metrics.snapshot("image").getCallCount());
+    }
+
+    @Test
+    public void histogram_percentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500.5, snapshot.getMeanMillis(), 0.01);
+        assertEquals(1000, snapshot.getMaxMillis(), 0.0);
+        assertEquals(500, snapshot.getPercentileMillis(50), 500 * 0.125);
+        assertEquals(990, snapshot.getPercentileMillis(99), 990 * 0.125);
+        for (long micros = 1; micros < 1L << 30; micros = micros * 3 + 1) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= micros);
+            assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < micros);
+        }
+    }
+
+    private void execute(OkHttpClient client, String path) throws IOException {
+        client.newCall(new Request.Builder().url(server.url(path)).build()).execute().close();
+    }
+}
@@ -0,0 +1,190 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that concurrent identical calls share one network call and its parsed result,
+ * and that cancelling callers only aborts the call once none of them is left.
+ */
+public class RequestCoalescerTest {
+    private static final int CALLERS = 16;
+    private static final String KEY = "products";
+    private static final List<String> CANCELLED = Collections.singletonList("cancelled");
+
+    private final Gson gson = new Gson();
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalCalls_shareOneNetworkCallAndResult() throws Exception {
+        server.enqueue(new MockResponse().setBody("[\"a\",\"b\",\"c\"]"));
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(KEY, new CallHandle(), shared -> {
+                // Hold the load until every other caller has joined it
+                awaitCount(coalescer::getCoalescedCount, CALLERS - 1);
+                return fetch(shared);
+            }, () -> CANCELLED)));
+        }
+
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), first);
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, coalescer.getExecutedCount());
+        assertEquals(CALLERS - 1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void oneCallerCancels_othersStillGetResult() throws Exception {
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        CallHandle cancelling = new CallHandle();
+
+        Future<List<String>> owner = executor.submit(() -> coalescer.execute(KEY, new CallHandle(),
+                this::fetch, () -> CANCELLED));
+        awaitCount(() -> server.getRequestCount(), 1);
+        Future<List<String>> joiner = executor.submit(() -> coalescer.execute(KEY, cancelling,
+                this::fetch, () -> CANCELLED));
+        Future<List<String>> other = executor.submit(() -> coalescer.execute(KEY, new CallHandle(),
+                this::fetch, () -> CANCELLED));
+        awaitCount(coalescer::getCoalescedCount, 2);
+        cancelling.cancel();
+
+        assertSame(CANCELLED, joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("a"), owner.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("a"), other.get(5, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.getCancelledCount());
+        assertEquals(0, coalescer.getAbortedCount());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void ownerCancels_finishesLoadForCallersStillWaiting() throws Exception {
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        CallHandle ownerHandle = new CallHandle();
+
+        Future<List<String>> owner = executor.submit(() -> coalescer.execute(KEY, ownerHandle,
+                this::fetch, () -> CANCELLED));
+        awaitCount(() -> server.getRequestCount(), 1);
+        Future<List<String>> joiner = executor.submit(() -> coalescer.execute(KEY, new CallHandle(),
+                this::fetch, () -> CANCELLED));
+        awaitCount(coalescer::getCoalescedCount, 1);
+        ownerHandle.cancel();
+
+        // The owner's thread runs the load, so it returns only once the joiner has its result
+        assertFalse(owner.isDone());
+        assertEquals(Collections.singletonList("a"), joiner.get(5, TimeUnit.SECONDS));
+        assertSame(CANCELLED, owner.get(5, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.getCancelledCount());
+        assertEquals(0, coalescer.getAbortedCount());
+    }
+
+    @Test
+    public void allCallersCancel_abortsNetworkCall() throws Exception {
+        server.enqueue(new MockResponse().setBody("[\"slow\"]").setBodyDelay(2, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("[\"next\"]"));
+        CallHandle ownerHandle = new CallHandle();
+        CallHandle joinerHandle = new CallHandle();
+        List<CallHandle> sharedHandles = Collections.synchronizedList(new ArrayList<>());
+
+        Future<List<String>> owner = executor.submit(() -> coalescer.execute(KEY, ownerHandle, shared -> {
+            sharedHandles.add(shared);
+            return fetch(shared);
+        }, () -> CANCELLED));
+        awaitCount(() -> server.getRequestCount(), 1);
+        Future<List<String>> joiner = executor.submit(() -> coalescer.execute(KEY, joinerHandle,
+                this::fetch, () -> CANCELLED));
+        awaitCount(coalescer::getCoalescedCount, 1);
+
+        ownerHandle.cancel();
+        assertFalse("load keeps running while a caller is left", sharedHandles.get(0).isCancelled());
+        joinerHandle.cancel();
+
+        assertSame(CANCELLED, owner.get(5, TimeUnit.SECONDS));
+        assertSame(CANCELLED, joiner.get(5, TimeUnit.SECONDS));
+        assertTrue(sharedHandles.get(0).isCancelled());
+        assertEquals(1, coalescer.getAbortedCount());
+        assertEquals(2, coalescer.getCancelledCount());
+
+        // The aborted load is gone; the next caller starts a new one
+        assertEquals(Collections.singletonList("next"),
+                coalescer.execute(KEY, new CallHandle(), this::fetch, () -> CANCELLED));
+        assertEquals(2, coalescer.getExecutedCount());
+    }
+
+    @Test
+    public void cancelledCaller_neverStartsLoad() {
+        CallHandle handle = new CallHandle();
+        handle.cancel();
+
+        assertSame(CANCELLED, coalescer.execute(KEY, handle, this::fetch, () -> CANCELLED));
+        assertEquals(0, coalescer.getExecutedCount());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private List<String> fetch(CallHandle shared) {
+        Call call = client.newCall(new Request.Builder().url(server.url("/products")).build());
+        shared.onCancel(call::cancel);
+        try (Response response = call.execute()) {
+            String body = response.body().string();
+            return gson.fromJson(body, new TypeToken<List<String>>() { }.getType());
+        } catch (IOException e) {
+            return CANCELLED;
+        }
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+}
@@ -0,0 +1,254 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the product HTTP cache stack as installed by NetworkModule and RetrofitClient:
+ * CachePolicyInterceptor on the network side, StaleWhileRevalidateInterceptor ahead of
+ * AuthInterceptor, and the counters reported to HttpCacheMetrics.
+ */
+public class StaleWhileRevalidateInterceptorTest {
+    private static final String ETAG = "\"v1\"";
+    private static final String BODY = "[{\"id\":1}]";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private Cache cache;
+    private HttpCacheMetrics metrics;
+    private AuthManager authManager;
+    private CountingRefreshHandler refreshHandler;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", ETAG);
+                }
+                return new MockResponse().setHeader("ETag", ETAG).setBody(BODY);
+            }
+        });
+        server.start();
+        cache = new Cache(temporaryFolder.newFolder("http_cache"), 1024 * 1024);
+        metrics = new HttpCacheMetrics();
+        authManager = new AuthManager(new FakeSharedPreferences(), 60_000);
+        authManager.saveToken("test-token");
+        refreshHandler = new CountingRefreshHandler();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+        server.shutdown();
+    }
+
+    private OkHttpClient createClient(int maxAgeSeconds, int staleWhileRevalidateSeconds) {
+        return new OkHttpClient.Builder()
+                .cache(cache)
+                .addNetworkInterceptor(new CachePolicyInterceptor(maxAgeSeconds, staleWhileRevalidateSeconds))
+                .addInterceptor(new StaleWhileRevalidateInterceptor(staleWhileRevalidateSeconds, metrics,
+                        Logger.NONE))
+                .addInterceptor(new AuthInterceptor(authManager, refreshHandler, Logger.NONE))
+                .build();
+    }
+
+    @Test
+    public void freshHit_servedFromCacheWithoutNetwork() throws Exception {
+        OkHttpClient client = createClient(60, 600);
+
+        assertEquals(BODY, fetch(client));
+        try (Response response = client.newCall(productsRequest()).execute()) {
+            assertEquals(BODY, response.body().string());
+            assertNotNull(response.cacheResponse());
+            assertNull(response.networkResponse());
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(1, metrics.getHitCount());
+        assertEquals(0, metrics.getStaleHitCount());
+        assertEquals(BODY.length(), metrics.getBytesSaved());
+    }
+
+    @Test
+    public void staleHit_servedImmediatelyAndRevalidatedInBackground() throws Exception {
+        OkHttpClient client = createClient(0, 600);
+        assertEquals(BODY, fetch(client));
+
+        try (Response response = client.newCall(productsRequest()).execute()) {
+            assertEquals(BODY, response.body().string());
+            assertNull(response.networkResponse());
+        }
+        assertEquals(1, metrics.getHitCount());
+        assertEquals(1, metrics.getStaleHitCount());
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(revalidation);
+        assertEquals(ETAG, revalidation.getHeader("If-None-Match"));
+        assertEquals("Bearer test-token", revalidation.getHeader("Authorization"));
+        awaitNotModified(1);
+        assertEquals(1, metrics.getRevalidationCount());
+    }
+
+    @Test
+    public void staleHit_otherCallersStillServedFromCacheDuringRevalidation() throws Exception {
+        CountDownLatch releaseRevalidation = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                    releaseRevalidation.await(5, TimeUnit.SECONDS);
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", ETAG);
+                }
+                return new MockResponse().setHeader("ETag", ETAG).setBody(BODY);
+            }
+        });
+        OkHttpClient client = createClient(0, 600);
+        assertEquals(BODY, fetch(client));
+        assertEquals(BODY, fetch(client));
+        server.takeRequest();
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+
+        // The revalidation is still held by the server
+        try (Response response = client.newCall(productsRequest()).execute()) {
+            assertEquals(BODY, response.body().string());
+            assertNull(response.networkResponse());
+        }
+        releaseRevalidation.countDown();
+
+        awaitNotModified(1);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, metrics.getStaleHitCount());
+    }
+
+    @Test
+    public void baseUrlWithPathPrefix_stillCached() throws Exception {
+        OkHttpClient client = createClient(60, 600);
+        Request request = new Request.Builder().url(server.url("/api/v1/products/1")).build();
+
+        for (int i = 0; i < 2; i++) {
+            try (Response response = client.newCall(request).execute()) {
+                assertEquals(BODY, response.body().string());
+            }
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(1, metrics.getHitCount());
+    }
+
+    @Test
+    public void notModified_countsRevalidationAndBytesSaved() throws Exception {
+        // No stale window: an expired entry is revalidated in the foreground
+        OkHttpClient client = createClient(0, 0);
+        assertEquals(BODY, fetch(client));
+
+        assertEquals(BODY, fetch(client));
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(0, metrics.getHitCount());
+        assertEquals(1, metrics.getRevalidationCount());
+        assertEquals(1, metrics.getNotModifiedCount());
+        assertEquals(BODY.length(), metrics.getBytesSaved());
+    }
+
+    @Test
+    public void explicitNoStore_isKeptByCachePolicy() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setHeader("Cache-Control", "no-store").setBody(BODY);
+            }
+        });
+        OkHttpClient client = createClient(60, 600);
+
+        fetch(client);
+        fetch(client);
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, metrics.getMissCount());
+        assertEquals(0, metrics.getHitCount());
+    }
+
+    @Test
+    public void cacheHit_doesNotWaitForTokenRefresh() throws Exception {
+        authManager = new AuthManager(new FakeSharedPreferences(), 200);
+        authManager.saveToken("short-lived");
+        OkHttpClient client = createClient(60, 600);
+        assertEquals(BODY, fetch(client));
+
+        Thread.sleep(300);
+        assertTrue(authManager.isTokenExpired());
+        assertEquals(BODY, fetch(client));
+
+        assertEquals(0, refreshHandler.refreshes.get());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getHitCount());
+    }
+
+    private Request productsRequest() {
+        return new Request.Builder().url(server.url("/products")).build();
+    }
+
+    private String fetch(OkHttpClient client) throws IOException {
+        try (Response response = client.newCall(productsRequest()).execute()) {
+            assertEquals(200, response.code());
+            return response.body().string();
+        }
+    }
+
+    private void awaitNotModified(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metrics.getNotModifiedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, metrics.getNotModifiedCount());
+    }
+
+    private static class CountingRefreshHandler implements TokenRefreshHandler {
+        private final AtomicInteger refreshes = new AtomicInteger();
+
+        @Override
+        public boolean refreshToken() {
+            refreshes.incrementAndGet();
+            return false;
+        }
+
+        @Override
+        public void onRefreshFailed() {
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.mustafa.androidtesttaskjava.core.network;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies 401 handling with AuthInterceptor and TokenAuthenticator installed as in RetrofitClient:
+ * a server 401 is replayed once with a refreshed token, login is never replayed, and a request
+ * without a usable token gets a local 401 without touching the network.
+ */
+public class TokenAuthenticatorTest {
+    private MockWebServer server;
+    private AuthManager authManager;
+    private OkHttpClient client;
+    private final AtomicInteger loginCalls = new AtomicInteger();
+    private final AtomicInteger productCalls = new AtomicInteger();
+    private volatile boolean rejectLogin;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/auth/login")) {
+                    int call = loginCalls.incrementAndGet();
+                    if (rejectLogin) {
+                        return new MockResponse().setResponseCode(401);
+                    }
+                    return new MockResponse().setBody("{\"token\":\"token-" + call + "\"}");
+                }
+                productCalls.incrementAndGet();
+                String authorization = request.getHeader("Authorization");
+                if (authorization == null || authorization.equals("Bearer revoked")) {
+                    return new MockResponse().setResponseCode(401);
+                }
+                return new MockResponse().setBody("[]");
+            }
+        });
+        server.start();
+
+        authManager = new AuthManager(new FakeSharedPreferences());
+        AuthApiService authApiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(AuthApiService.class);
+        TokenRefreshHandler refreshHandler = new TokenRefreshHandlerImpl(authManager, authApiService, Logger.NONE);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(authManager, refreshHandler, Logger.NONE))
+                .authenticator(new TokenAuthenticator(authManager, refreshHandler, Logger.NONE))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void server401_replaysOnceWithRefreshedToken() throws Exception {
+        authManager.saveCredentials("mor_2314", "83r5^_");
+        authManager.saveToken("revoked");
+
+        try (Response response = execute(get("/products"))) {
+            assertEquals(200, response.code());
+            assertEquals(401, response.priorResponse().code());
+        }
+        assertEquals(1, loginCalls.get());
+        assertEquals(2, productCalls.get());
+        assertEquals("token-1", authManager.getToken());
+    }
+
+    @Test
+    public void server401_isReplayedAtMostOnce() throws Exception {
+        authManager.saveCredentials("mor_2314", "83r5^_");
+        authManager.saveToken("revoked");
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/auth/login")) {
+                    return new MockResponse().setBody("{\"token\":\"token-" + loginCalls.incrementAndGet() + "\"}");
+                }
+                productCalls.incrementAndGet();
+                return new MockResponse().setResponseCode(401);
+            }
+        });
+
+        try (Response response = execute(get("/products"))) {
+            assertEquals(401, response.code());
+        }
+        assertEquals(1, loginCalls.get());
+        assertEquals(2, productCalls.get());
+    }
+
+    @Test
+    public void login401_isNotReplayed() throws Exception {
+        rejectLogin = true;
+        Request login = new Request.Builder()
+                .url(server.url("/auth/login"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+
+        try (Response response = execute(login)) {
+            assertEquals(401, response.code());
+        }
+        assertEquals(1, loginCalls.get());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void noToken_returnsLocal401WithoutNetworkCall() throws Exception {
+        // Not logged in: no token and no credentials to refresh with
+        try (Response response = execute(get("/products"))) {
+            assertEquals(401, response.code());
+            assertEquals("Unauthenticated", response.message());
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    private Response execute(Request request) throws IOException {
+        return client.newCall(request).execute();
+    }
+}
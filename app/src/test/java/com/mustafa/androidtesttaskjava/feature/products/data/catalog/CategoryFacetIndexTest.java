@@ -0,0 +1,126 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies category interning, incremental facet counts and category listing.
+ */
+public class CategoryFacetIndexTest {
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Test
+    public void dictionary_assignsStableOrdinalsAndSharesNames() {
+        CategoryDictionary dictionary = new CategoryDictionary();
+
+        int electronics = dictionary.ordinalOf("electronics");
+        int jewelery = dictionary.ordinalOf("jewelery");
+
+        assertEquals(electronics, dictionary.ordinalOf(new String("electronics")));
+        assertTrue(electronics != jewelery);
+        assertSame(dictionary.nameOf(electronics), dictionary.intern(new String("electronics")));
+        assertEquals(CategoryDictionary.NONE, dictionary.find("books"));
+        assertEquals(null, dictionary.intern(null));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    public void parsing_internsCategories() {
+        CategoryDictionary dictionary = new CategoryDictionary();
+        Gson gson = NetworkModule.createGson(dictionary);
+        Product[] parsed = gson.fromJson(
+                "[{\"id\":1,\"category\":\"electronics\"},{\"id\":2,\"category\":\"electronics\"}]",
+                Product[].class);
+
+        assertSame(parsed[0].getCategory(), parsed[1].getCategory());
+        assertSame(dictionary.nameOf(dictionary.find("electronics")), parsed[0].getCategory());
+    }
+
+    @Test
+    public void addAll_countsIncrementallyAndMovesRecategorizedProducts() {
+        CategoryDictionary dictionary = new CategoryDictionary();
+        CategoryFacetIndex index = new CategoryFacetIndex(dictionary);
+
+        index.addAll(Arrays.asList(product(1, "a"), product(2, "b"), product(3, "a")));
+        index.addAll(Arrays.asList(product(4, "b"), product(3, "b"), product(1, "a")));
+
+        int a = dictionary.find("a");
+        int b = dictionary.find("b");
+        assertEquals(1, index.getCount(a));
+        assertEquals(3, index.getCount(b));
+        assertEquals(Collections.singletonList(1), ids(index.getProducts(a)));
+        assertEquals(Arrays.asList(2, 4, 3), ids(index.getProducts(b)));
+        assertEquals(2, index.getFacets().size());
+        assertEquals("b", index.getFacets().get(1).getName());
+        assertEquals(0, index.getCount(CategoryDictionary.NONE));
+        assertTrue(index.getProducts(42).isEmpty());
+    }
+
+    @Test
+    public void onProductsLoaded_updatesVersionAndNotifiesListeners() {
+        CategoryFacetIndex index = new CategoryFacetIndex(new CategoryDictionary());
+        AtomicInteger updates = new AtomicInteger();
+        index.addListener(updates::incrementAndGet);
+        int version = index.getVersion();
+
+        index.onProductsLoaded(Collections.singletonList(product(1, "a")));
+
+        assertEquals(1, updates.get());
+        assertTrue(index.getVersion() != version);
+    }
+
+    @Test
+    public void getProducts_matchesListScan() {
+        List<Product> products = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        // One product in a thousand is in the rare category
+        for (int i = 0; i < products.size(); i += 1000) {
+            products.get(i).setCategory("rare");
+        }
+        CategoryDictionary dictionary = new CategoryDictionary();
+        CategoryFacetIndex index = new CategoryFacetIndex(dictionary);
+        index.addAll(products);
+        int rare = dictionary.find("rare");
+
+        assertEquals(ids(scan(products, "rare")), ids(index.getProducts(rare)));
+        assertEquals(CATALOG_SIZE / 1000, index.getCount(rare));
+    }
+
+    private static List<Product> scan(List<Product> products, String category) {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (category.equals(product.getCategory())) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    private static Product product(int id, String category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCategory(category);
+        return product;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
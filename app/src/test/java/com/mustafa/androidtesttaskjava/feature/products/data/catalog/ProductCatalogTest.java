@@ -0,0 +1,136 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.catalog;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies ProductCatalog columns, filters and sort orders against the same operations
+ * over List&lt;Product&gt;.
+ */
+public class ProductCatalogTest {
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Test
+    public void of_buildsColumnsAndCategoryDictionary() {
+        CategoryDictionary dictionary = new CategoryDictionary();
+        ProductCatalog catalog = ProductCatalog.of(Arrays.asList(
+                product(7, 10.0, 4.5, 100, "electronics"),
+                product(8, 5.0, 0, 0, "jewelery"),
+                product(9, 20.0, 3.0, 50, "electronics")), dictionary);
+        Product unrated = new Product();
+        unrated.setId(10);
+
+        assertEquals(3, catalog.size());
+        assertEquals(8, catalog.getId(1));
+        assertEquals(20.0, catalog.getPrice(2), 0);
+        assertEquals(4.5f, catalog.getRate(0), 0);
+        assertEquals(50, catalog.getRatingCount(2));
+        assertEquals(2, dictionary.size());
+        assertEquals(catalog.getCategoryOrdinal(0), catalog.getCategoryOrdinal(2));
+        assertEquals("jewelery", catalog.getCategory(catalog.getCategoryOrdinal(1)));
+        assertEquals(2, catalog.getCategorySize(dictionary.find("electronics")));
+        assertArrayEquals(new int[]{0, 2}, catalog.rowsInCategory(dictionary.find("electronics")));
+
+        ProductCatalog withUnrated = ProductCatalog.of(Arrays.asList(unrated), dictionary);
+        assertEquals(0f, withUnrated.getRate(0), 0);
+        assertEquals("", withUnrated.getCategory(withUnrated.getCategoryOrdinal(0)));
+    }
+
+    @Test
+    public void sort_ordersRowsAndKeepsSourceOrderOnTies() {
+        ProductCatalog catalog = ProductCatalog.of(Arrays.asList(
+                product(1, 30.0, 4.0, 10, "a"),
+                product(2, 10.0, 4.8, 300, "a"),
+                product(3, 20.0, 4.0, 300, "b"),
+                product(4, 10.0, 2.5, 5, "b")));
+        int[] all = catalog.allRows();
+
+        assertArrayEquals(new int[]{1, 3, 2, 0}, catalog.sort(all, ProductCatalog.SortOrder.PRICE_ASCENDING));
+        assertArrayEquals(new int[]{0, 2, 1, 3}, catalog.sort(all, ProductCatalog.SortOrder.PRICE_DESCENDING));
+        assertArrayEquals(new int[]{1, 0, 2, 3}, catalog.sort(all, ProductCatalog.SortOrder.RATING));
+        assertArrayEquals(new int[]{1, 2, 0, 3}, catalog.sort(all, ProductCatalog.SortOrder.POPULARITY));
+        // Only the given rows are sorted
+        assertArrayEquals(new int[]{3, 0}, catalog.sort(new int[]{0, 3}, ProductCatalog.SortOrder.PRICE_ASCENDING));
+    }
+
+    @Test
+    public void query_filtersByPriceThenSorts() {
+        ProductCatalog catalog = ProductCatalog.of(Arrays.asList(
+                product(1, 30.0, 4.0, 10, "a"),
+                product(2, 10.0, 4.8, 300, "a"),
+                product(3, 20.0, 4.0, 300, "b"),
+                product(4, 99.0, 2.5, 5, "b")));
+
+        CatalogQuery query = CatalogQuery.ALL.withPriceRange(10, 99)
+                .withSortOrder(ProductCatalog.SortOrder.PRICE_DESCENDING);
+
+        // The maximum is exclusive: the product priced 99 is left out
+        assertArrayEquals(new int[]{0, 2, 1}, query.apply(catalog));
+        assertArrayEquals(new int[]{1, 2}, catalog.filterByPrice(catalog.allRows(), 10, 30));
+        assertEquals(Arrays.asList(3, 2), ids(catalog.getProducts(query.apply(catalog), 1, 3)));
+        assertArrayEquals(new int[]{2, 3}, catalog.filterByCategory(catalog.allRows(), catalog.getCategoryOrdinal(2)));
+        int categoryB = catalog.getCategoryOrdinal(2);
+        assertArrayEquals(new int[]{2}, query.withCategory(categoryB).apply(catalog));
+        assertTrue(CatalogQuery.ALL.isIdentity());
+        assertTrue(query.withoutPriceRange().withSortOrder(null).isIdentity());
+        assertTrue(CatalogQuery.ALL.withCategory(categoryB).isCategoryOnly());
+    }
+
+    @Test
+    public void query_matchesFilteringAndSortingTheList() {
+        List<Product> products = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        ProductCatalog catalog = ProductCatalog.of(products);
+        CatalogQuery query = CatalogQuery.ALL.withPriceRange(1_000, 10_000)
+                .withSortOrder(ProductCatalog.SortOrder.RATING);
+        Comparator<Product> byRating = Comparator.comparingDouble(
+                (Product product) -> product.getRating().getRate()).reversed();
+
+        List<Product> listResult = filterAndSortList(products, byRating);
+        int[] rows = query.apply(catalog);
+
+        assertEquals(listResult.size(), rows.length);
+        assertEquals(ids(listResult), ids(catalog.getProducts(rows, 0, rows.length)));
+    }
+
+    private static List<Product> filterAndSortList(List<Product> products, Comparator<Product> order) {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getPrice() >= 1_000 && product.getPrice() < 10_000) {
+                matches.add(product);
+            }
+        }
+        matches.sort(order);
+        return matches;
+    }
+
+    private static Product product(int id, double price, double rate, int count, String category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        product.setCategory(category);
+        Product.Rating rating = new Product.Rating();
+        rating.setRate(rate);
+        rating.setCount(count);
+        product.setRating(rating);
+        return product;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.local;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies incremental sync of the persistent product store and cold starts served from it.
+ */
+public class ProductDiskStoreTest {
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void sync_writesOnlyChangedRows() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), "products.bin");
+        List<Product> catalog = FakeProductApiService.generateProducts(CATALOG_SIZE);
+
+        assertEquals(CATALOG_SIZE, new ProductDiskStore(file, Logger.NONE).sync(catalog));
+
+        catalog.get(10).setPrice(999.99);
+        catalog.get(20).getRating().setCount(1);
+        catalog.remove(30);
+        ProductDiskStore reopened = new ProductDiskStore(file, Logger.NONE);
+        assertEquals(3, reopened.sync(catalog));
+        assertEquals(0, reopened.sync(catalog));
+
+        List<Product> restored = new ProductDiskStore(file, Logger.NONE).load();
+        assertEquals(CATALOG_SIZE - 1, restored.size());
+        assertEquals(999.99, restored.get(10).getPrice(), 0.0);
+        assertEquals(1, restored.get(20).getRating().getCount());
+        assertEquals(catalog.get(30).getId(), restored.get(30).getId());
+    }
+
+    @Test
+    public void load_internsCategoriesInGivenDictionary() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), "products.bin");
+        new ProductDiskStore(file, Logger.NONE).sync(FakeProductApiService.generateProducts(10));
+        CategoryDictionary dictionary = new CategoryDictionary();
+
+        List<Product> restored = new ProductDiskStore(file, dictionary, Logger.NONE).load();
+
+        String category = restored.get(0).getCategory();
+        assertSame(dictionary.nameOf(dictionary.find(category)), category);
+    }
+
+    @Test
+    public void coldStart_deliversStoredListBeforeNetwork() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), "products.bin");
+        FakeProductApiService apiService = new FakeProductApiService(CATALOG_SIZE, 0);
+        load(new ProductRepository(apiService, new ProductDiskStore(file, Logger.NONE), 60_000, 8, Logger.NONE));
+
+        List<ProductRepository.ProductResult<List<Product>>> results =
+                load(new ProductRepository(apiService, new ProductDiskStore(file, Logger.NONE), 60_000, 8, Logger.NONE));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isFromCache());
+        assertEquals(CATALOG_SIZE, results.get(0).getData().size());
+        assertFalse(results.get(1).isFromCache());
+        assertEquals(2, apiService.getProductsCallCount());
+    }
+
+    private static List<ProductRepository.ProductResult<List<Product>>> load(ProductRepository repository) {
+        List<ProductRepository.ProductResult<List<Product>>> results = new ArrayList<>();
+        repository.getProducts(results::add);
+        return results;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.model;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginRequest;
+import com.mustafa.androidtesttaskjava.feature.auth.data.model.LoginResponse;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Verifies that the hand-written model adapters read and write the same JSON as
+ * Gson's reflective adapters.
+ */
+public class ProductTypeAdapterTest {
+    private static final Type PRODUCT_LIST = new TypeToken<List<Product>>() { }.getType();
+
+    private final Gson reflective = new Gson();
+    private final Gson generated = NetworkModule.createGson();
+
+    @Test
+    public void adapters_matchReflectiveJson() {
+        List<Product> products = FakeProductApiService.generateProducts(50);
+        products.get(3).setRating(null);
+        products.get(4).setTitle(null);
+        String json = reflective.toJson(products);
+
+        assertEquals(json, generated.toJson(products));
+        List<Product> parsed = generated.fromJson(json, PRODUCT_LIST);
+        assertEquals(json, reflective.toJson(parsed));
+
+        String unknownFields = "{\"id\":7,\"extra\":{\"a\":[1,2]},\"price\":\"9.5\",\"title\":null,"
+                + "\"rating\":{\"rate\":4.1,\"count\":3,\"x\":true}}";
+        Product product = generated.fromJson(unknownFields, Product.class);
+        assertEquals(7, product.getId());
+        assertEquals(9.5, product.getPrice(), 0.0);
+        assertNull(product.getTitle());
+        assertEquals(3, product.getRating().getCount());
+
+        LoginRequest request = new LoginRequest("mor_2314", "83r5^_");
+        assertEquals(reflective.toJson(request), generated.toJson(request));
+        assertEquals("abc", generated.fromJson("{\"token\":\"abc\"}", LoginResponse.class).getToken());
+    }
+}
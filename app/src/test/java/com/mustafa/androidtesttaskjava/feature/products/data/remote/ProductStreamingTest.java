@@ -0,0 +1,163 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.remote;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
+import com.mustafa.androidtesttaskjava.core.network.JsonStreamConverterFactory;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the streamed product list parse yields the same products as the
+ * buffered List&lt;Product&gt; parse, and that the repository delivers chunks before the full list
+ * to every caller sharing the load.
+ */
+public class ProductStreamingTest {
+    private static final int CATALOG_SIZE = 2_000;
+    private static final int CHUNK_SIZE = 50;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static String payload;
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        if (payload == null) {
+            payload = new Gson().toJson(FakeProductApiService.generateProducts(CATALOG_SIZE));
+        }
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void streamedParse_matchesBufferedParseInChunks() throws Exception {
+        enqueuePayload();
+        enqueuePayload();
+        ProductApiService service = createService(new OkHttpClient());
+
+        List<Product> buffered = service.getProducts().execute().body();
+        List<Product> streamed = new ArrayList<>();
+        try (JsonStream<Product> stream = service.streamProducts().execute().body()) {
+            while (!stream.isFinished()) {
+                List<Product> chunk = stream.nextChunk(CHUNK_SIZE);
+                assertTrue(chunk.size() <= CHUNK_SIZE);
+                streamed.addAll(chunk);
+            }
+        }
+
+        assertEquals(CATALOG_SIZE, buffered.size());
+        assertEquals(ids(buffered), ids(streamed));
+        assertEquals(buffered.get(CATALOG_SIZE - 1).getTitle(), streamed.get(CATALOG_SIZE - 1).getTitle());
+    }
+
+    @Test
+    public void repository_deliversChunksBeforeFullList() throws Exception {
+        ProductRepository repository = new ProductRepository(
+                new FakeProductApiService(1_000, 0),
+                new ProductDiskStore(new File(temporaryFolder.getRoot(), "products.bin"), Logger.NONE),
+                60_000, 8, Logger.NONE);
+
+        List<Product> streamed = new ArrayList<>();
+        List<ProductRepository.ProductResult<List<Product>>> results = new ArrayList<>();
+        repository.getProducts(chunk -> {
+            assertTrue(results.isEmpty());
+            streamed.addAll(chunk);
+        }, results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(1_000, streamed.size());
+        assertEquals(streamed, results.get(0).getData());
+    }
+
+    @Test
+    public void callerJoiningMidStream_receivesEveryChunk() throws Exception {
+        ProductRepository repository = new ProductRepository(
+                new FakeProductApiService(1_000, 0),
+                new ProductDiskStore(new File(temporaryFolder.getRoot(), "products.bin"), Logger.NONE),
+                60_000, 8, Logger.NONE);
+        List<Product> joinerChunks = Collections.synchronizedList(new ArrayList<>());
+        List<ProductRepository.ProductResult<List<Product>>> joinerResults =
+                Collections.synchronizedList(new ArrayList<>());
+        Thread joiner = new Thread(() -> repository.getProducts(joinerChunks::addAll, joinerResults::add));
+
+        List<Product> ownerChunks = new ArrayList<>();
+        List<ProductRepository.ProductResult<List<Product>>> ownerResults = new ArrayList<>();
+        repository.getProducts(chunk -> {
+            if (ownerChunks.isEmpty()) {
+                // Second caller joins the load after the first chunk was parsed
+                joiner.start();
+                awaitCoalesced(repository);
+            }
+            ownerChunks.addAll(chunk);
+        }, ownerResults::add);
+        joiner.join(5_000);
+
+        assertEquals(1, repository.getExecutedCallCount());
+        assertEquals(1, joinerResults.size());
+        assertEquals(ids(ownerResults.get(0).getData()), ids(joinerChunks));
+        assertEquals(ids(ownerChunks), ids(joinerChunks));
+    }
+
+    private static void awaitCoalesced(ProductRepository repository) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getCoalescedCallCount() == 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(1, repository.getCoalescedCallCount());
+    }
+
+    private void enqueuePayload() {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(payload));
+    }
+
+    private ProductApiService createService(OkHttpClient client) {
+        Gson gson = new Gson();
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(JsonStreamConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ProductApiService.class);
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
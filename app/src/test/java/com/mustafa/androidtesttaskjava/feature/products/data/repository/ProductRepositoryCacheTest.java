@@ -0,0 +1,215 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.repository;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryFacetIndex;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.ProductCatalog;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.search.ProductSearchIndex;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the repository's memory cache, id index and catalog against a fake API.
+ */
+public class ProductRepositoryCacheTest {
+    private static final long NETWORK_LATENCY_MS = 20;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void warmStart_deliversCachedListBeforeNetwork() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, NETWORK_LATENCY_MS);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+
+        List<ProductRepository.ProductResult<List<Product>>> cold = load(repository);
+        List<ProductRepository.ProductResult<List<Product>>> warm = load(repository);
+
+        assertEquals(1, cold.size());
+        assertFalse(cold.get(0).isFromCache());
+        assertEquals(1, warm.size());
+        assertTrue(warm.get(0).isFromCache());
+        assertEquals(1, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void staleEntry_deliversCachedThenFreshList() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, NETWORK_LATENCY_MS);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 10, 8, Logger.NONE);
+
+        load(repository);
+        Thread.sleep(20);
+        List<ProductRepository.ProductResult<List<Product>>> stale = load(repository);
+
+        assertEquals(2, stale.size());
+        assertTrue(stale.get(0).isFromCache());
+        assertFalse(stale.get(1).isFromCache());
+        assertEquals(2, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void pages_firstPageAloneThenFullListIndexedAndPersisted() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+
+        repository.getProductPage(0, 5);
+        assertNotNull(repository.getIndexedProduct(5));
+        assertNull(repository.getIndexedProduct(6));
+        assertFalse(repository.isProductListFresh());
+
+        repository.getProductPage(1, 5);
+        repository.getProductPage(2, 5);
+
+        assertNotNull(repository.getIndexedProduct(20));
+        assertTrue(repository.isProductListFresh());
+        assertEquals(2, apiService.getProductsCallCount());
+        assertEquals(20, newDiskStore().load().size());
+    }
+
+    @Test
+    public void pages_servedFromStaleListOrDiskWithoutNetwork() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 10, 8, Logger.NONE);
+        repository.getProducts();
+        Thread.sleep(20);
+
+        ProductRepository.ProductResult<ProductRepository.Page> stale = repository.getProductPage(1, 5);
+        ProductRepository coldStart = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+        ProductRepository.ProductResult<ProductRepository.Page> stored = coldStart.getProductPage(3, 5);
+
+        assertTrue(stale.isFromCache());
+        assertFalse(repository.isProductListFresh());
+        assertEquals(6, stale.getData().getProducts().get(0).getId());
+        assertTrue(stored.isFromCache());
+        assertTrue(stored.getData().isLast());
+        assertEquals(16, stored.getData().getProducts().get(0).getId());
+        assertNotNull(coldStart.getIndexedProduct(20));
+        assertEquals(1, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void detailLookup_survivesLaterListLoads() throws Exception {
+        // A previous session stored a shorter list on disk
+        new ProductRepository(new FakeProductApiService(5, 0), newDiskStore(), 60_000, 8, Logger.NONE)
+                .getProducts();
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+
+        repository.getProduct(12);
+        repository.getProduct(1);
+        repository.getCatalog();
+
+        assertNotNull(repository.getIndexedProduct(12));
+        assertTrue(repository.getIndexedProduct(1).isFresh());
+        assertFalse(repository.getIndexedProduct(3).isFresh());
+
+        repository.getProductsInCategory("category 1");
+        assertNotNull(repository.getIndexedProduct(12));
+        assertNotNull(repository.getIndexedProduct(3));
+    }
+
+    @Test
+    public void loadedProducts_listOrderThenProductsLoadedElsewhere() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+        assertTrue(repository.getLoadedProducts().isEmpty());
+
+        repository.getProduct(12);
+        repository.getProductPage(0, 5);
+        List<Product> beforeList = repository.getLoadedProducts();
+        repository.getProducts();
+        List<Product> afterList = repository.getLoadedProducts();
+
+        assertEquals(6, beforeList.size());
+        assertEquals(20, afterList.size());
+        for (int i = 0; i < afterList.size(); i++) {
+            assertEquals(i + 1, afterList.get(i).getId());
+        }
+    }
+
+    @Test
+    public void catalog_isReusedUntilANewListIsLoaded() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), 60_000, 8, Logger.NONE);
+
+        ProductCatalog first = repository.getCatalog().getData();
+        ProductCatalog second = repository.getCatalog().getData();
+        repository.getProducts();
+        ProductCatalog refreshed = repository.getCatalog().getData();
+
+        assertEquals(20, first.size());
+        assertSame(first, second);
+        assertNotSame(first, refreshed);
+        assertEquals(2, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void categoryEndpoints_feedFacetIndexAndIdIndex() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        CategoryDictionary dictionary = new CategoryDictionary();
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), dictionary, 60_000, 8,
+                Logger.NONE);
+        CategoryFacetIndex facetIndex = new CategoryFacetIndex(dictionary);
+        repository.addProductsListener(facetIndex);
+
+        List<String> categories = repository.getCategories().getData();
+        List<Product> inCategory = repository.getProductsInCategory("category 1").getData();
+
+        assertEquals(4, categories.size());
+        assertSame(dictionary.intern("category 1"), categories.get(0));
+        assertEquals(5, inCategory.size());
+        assertEquals(5, facetIndex.getCount(dictionary.find("category 1")));
+        assertNotNull(repository.getIndexedProduct(1));
+        assertNull(repository.getIndexedProduct(2));
+        assertEquals(0, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void fullListReload_dropsProductsNoLongerReturned() throws Exception {
+        FakeProductApiService apiService = new FakeProductApiService(20, 0);
+        CategoryDictionary dictionary = new CategoryDictionary();
+        ProductRepository repository = new ProductRepository(apiService, newDiskStore(), dictionary, 60_000, 8,
+                Logger.NONE);
+        CategoryFacetIndex facetIndex = new CategoryFacetIndex(dictionary);
+        ProductSearchIndex searchIndex = new ProductSearchIndex(Runnable::run);
+        repository.addProductsListener(facetIndex);
+        repository.addProductsListener(searchIndex);
+
+        repository.getProducts();
+        apiService.removeProduct(5);
+        repository.getProducts();
+
+        assertNull(repository.getIndexedProduct(5));
+        assertEquals(19, repository.getLoadedProducts().size());
+        assertEquals(4, facetIndex.getCount(dictionary.find("category 1")));
+        assertTrue(searchIndex.search("5", 10).isEmpty());
+        assertEquals(19, searchIndex.size());
+    }
+
+    private ProductDiskStore newDiskStore() throws Exception {
+        return new ProductDiskStore(new File(temporaryFolder.getRoot(), "products.bin"), Logger.NONE);
+    }
+
+    private static List<ProductRepository.ProductResult<List<Product>>> load(ProductRepository repository) {
+        List<ProductRepository.ProductResult<List<Product>>> results = new ArrayList<>();
+        repository.getProducts(results::add);
+        return results;
+    }
+}
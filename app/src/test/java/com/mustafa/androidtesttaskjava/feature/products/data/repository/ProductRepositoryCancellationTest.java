@@ -0,0 +1,170 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.repository;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.CallHandle;
+import com.mustafa.androidtesttaskjava.core.network.JsonStreamConverterFactory;
+import com.mustafa.androidtesttaskjava.core.network.NetworkEventListener;
+import com.mustafa.androidtesttaskjava.core.network.NetworkMetrics;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cancelling repository calls through CallHandle against MockWebServer: slow calls are
+ * aborted on the wire, shared calls survive until their last caller cancels, and every
+ * cancellation is counted by the repository and NetworkMetrics.
+ */
+public class ProductRepositoryCancellationTest {
+    private static final long SLOW_RESPONSE_MS = 5_000;
+    private static final long CANCEL_AFTER_MS = 100;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private NetworkMetrics networkMetrics;
+    private ProductRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        networkMetrics = new NetworkMetrics();
+        Gson gson = NetworkModule.createGson();
+        ProductApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient.Builder()
+                        .eventListenerFactory(new NetworkEventListener.Factory(networkMetrics))
+                        .build())
+                .addConverterFactory(JsonStreamConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ProductApiService.class);
+        repository = new ProductRepository(apiService,
+                new ProductDiskStore(new File(temporaryFolder.getRoot(), "products.bin"), Logger.NONE),
+                60_000, 8, Logger.NONE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void cancel_abortsSlowProductCall() throws Exception {
+        server.enqueue(productResponse().setHeadersDelay(SLOW_RESPONSE_MS, TimeUnit.MILLISECONDS));
+        CallHandle handle = new CallHandle();
+
+        CompletableFuture<ProductRepository.ProductResult<Product>> result =
+                CompletableFuture.supplyAsync(() -> repository.getProduct(1, handle));
+        Thread.sleep(CANCEL_AFTER_MS);
+        handle.cancel();
+        ProductRepository.ProductResult<Product> cancelled = result.get(SLOW_RESPONSE_MS / 2, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.isSuccess());
+        assertNull(repository.getIndexedProduct(1));
+        assertEquals(1, repository.getCancelledCallCount());
+        assertEquals(1, repository.getAbortedCallCount());
+        assertEquals(1, networkMetrics.snapshot("products/{id}").getCancelledCount());
+    }
+
+    @Test
+    public void cancel_keepsSharedCallWhileAnotherCallerWaits() throws Exception {
+        server.enqueue(productResponse().setHeadersDelay(4 * CANCEL_AFTER_MS, TimeUnit.MILLISECONDS));
+        CallHandle first = new CallHandle();
+        CallHandle second = new CallHandle();
+
+        CompletableFuture<ProductRepository.ProductResult<Product>> firstResult =
+                CompletableFuture.supplyAsync(() -> repository.getProduct(1, first));
+        Thread.sleep(CANCEL_AFTER_MS / 2);
+        CompletableFuture<ProductRepository.ProductResult<Product>> secondResult =
+                CompletableFuture.supplyAsync(() -> repository.getProduct(1, second));
+        Thread.sleep(CANCEL_AFTER_MS);
+        first.cancel();
+
+        assertTrue(firstResult.get(SLOW_RESPONSE_MS, TimeUnit.MILLISECONDS).isCancelled());
+        ProductRepository.ProductResult<Product> shared = secondResult.get(SLOW_RESPONSE_MS, TimeUnit.MILLISECONDS);
+        assertTrue(shared.isSuccess());
+        assertEquals(1, shared.getData().getId());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, repository.getCoalescedCallCount());
+        assertEquals(1, repository.getCancelledCallCount());
+        assertEquals(0, repository.getAbortedCallCount());
+    }
+
+    @Test
+    public void cancel_stopsStreamingListWithoutCachingIt() throws Exception {
+        List<Product> products = FakeProductApiService.generateProducts(5_000);
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(NetworkModule.createGson().toJson(products))
+                .throttleBody(16 * 1024, 50, TimeUnit.MILLISECONDS));
+        CallHandle handle = new CallHandle();
+
+        CompletableFuture<ProductRepository.ProductResult<List<Product>>> result =
+                CompletableFuture.supplyAsync(() -> repository.getProducts(handle));
+        Thread.sleep(CANCEL_AFTER_MS);
+        handle.cancel();
+
+        assertTrue(result.get(SLOW_RESPONSE_MS, TimeUnit.MILLISECONDS).isCancelled());
+        assertNull(repository.getIndexedProduct(1));
+        assertEquals(1, networkMetrics.snapshot("products").getCancelledCount());
+
+        // A cancelled handle gives up before sending anything
+        assertTrue(repository.getProduct(2, handle).isCancelled());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancel_firstPageIsNotIndexed() throws Exception {
+        List<Product> page = FakeProductApiService.generateProducts(50);
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(NetworkModule.createGson().toJson(page))
+                .throttleBody(1024, 50, TimeUnit.MILLISECONDS));
+        CallHandle handle = new CallHandle();
+
+        CompletableFuture<ProductRepository.ProductResult<ProductRepository.Page>> result =
+                CompletableFuture.supplyAsync(() -> repository.getProductPage(0, 50, handle));
+        Thread.sleep(CANCEL_AFTER_MS);
+        handle.cancel();
+
+        assertTrue(result.get(SLOW_RESPONSE_MS, TimeUnit.MILLISECONDS).isCancelled());
+        assertNull(repository.getIndexedProduct(1));
+        assertEquals("/products?limit=50", server.takeRequest().getPath());
+    }
+
+    private static MockResponse productResponse() {
+        Product product = FakeProductApiService.generateProducts(1).get(0);
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(NetworkModule.createGson().toJson(product));
+    }
+}
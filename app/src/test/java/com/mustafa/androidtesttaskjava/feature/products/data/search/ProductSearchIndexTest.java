@@ -0,0 +1,114 @@
+package com.mustafa.androidtesttaskjava.feature.products.data.search;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies tokenization, prefix matching, ranking and incremental updates of ProductSearchIndex.
+ */
+public class ProductSearchIndexTest {
+
+    @Test
+    public void tokenize_lowercasesStripsAccentsAndSplits() {
+        assertEquals(Arrays.asList("men", "s", "cotton", "jacket", "cafe", "2024"),
+                ProductSearchIndex.tokenize("Men's  COTTON-Jacket, Café 2024!"));
+        assertTrue(ProductSearchIndex.tokenize("  ,. ").isEmpty());
+    }
+
+    @Test
+    public void search_lastTokenMatchesAsPrefix() {
+        ProductSearchIndex index = newIndex(
+                product(1, "Cotton Jacket", "men's clothing", "Warm jacket"),
+                product(2, "Gold Ring", "jewelery", "Solid gold"),
+                product(3, "Rain Jacket", "women's clothing", "Light and waterproof"));
+
+        assertEquals(Arrays.asList(1, 3), ids(index.search("jack", 10)));
+        assertEquals(Collections.singletonList(3), ids(index.search("jacket wat", 10)));
+        // Only the last token is a prefix
+        assertTrue(index.search("jack rain", 10).isEmpty());
+        assertTrue(index.search("laptop", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    public void search_ranksTitleMatchesAboveDescriptionMatches() {
+        ProductSearchIndex index = newIndex(
+                product(1, "Travel Backpack", "bags", "Fits a laptop up to 15 inches"),
+                product(2, "Laptop Sleeve", "bags", "Padded sleeve"),
+                product(3, "Desk Lamp", "home", "Bright light"));
+
+        assertEquals(Arrays.asList(2, 1), ids(index.search("laptop", 10)));
+    }
+
+    @Test
+    public void search_limitKeepsBestResultsInOrder() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            // Every product mentions "shirt" in the description; every tenth also in the title
+            String title = i % 10 == 0 ? "Shirt " + i : "Item " + i;
+            products.add(product(i, title, "clothing", "A shirt"));
+        }
+        ProductSearchIndex index = newIndex(products.toArray(new Product[0]));
+
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50, 1, 2), ids(index.search("shirt", 7)));
+    }
+
+    @Test
+    public void addAll_redeliveredProductReplacesPreviousText() {
+        ProductSearchIndex index = newIndex(product(1, "Red Shirt", "clothing", ""));
+
+        index.addAll(Collections.singletonList(product(1, "Blue Shirt", "clothing", "")));
+
+        assertTrue(index.search("red", 10).isEmpty());
+        assertEquals(Collections.singletonList(1), ids(index.search("blue", 10)));
+        assertEquals(Collections.singletonList(1), ids(index.search("shirt", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void onProductsLoaded_indexesOnExecutorAndNotifiesListeners() {
+        List<Runnable> queued = new ArrayList<>();
+        ProductSearchIndex index = new ProductSearchIndex(queued::add);
+        int[] updates = new int[1];
+        index.addListener(() -> updates[0]++);
+
+        index.onProductsLoaded(Collections.singletonList(product(1, "Desk Lamp", "home", "")));
+
+        assertEquals(0, index.size());
+        queued.get(0).run();
+        assertEquals(1, index.size());
+        assertEquals(1, updates[0]);
+    }
+
+    private static ProductSearchIndex newIndex(Product... products) {
+        ProductSearchIndex index = new ProductSearchIndex(Runnable::run);
+        index.addAll(Arrays.asList(products));
+        return index;
+    }
+
+    static Product product(int id, String title, String category, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setCategory(category);
+        product.setDescription(description);
+        return product;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
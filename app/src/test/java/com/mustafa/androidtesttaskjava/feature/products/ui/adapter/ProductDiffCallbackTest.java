@@ -0,0 +1,147 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.adapter;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts the rows a refresh rebinds when the adapter diffs with ProductDiffCallback,
+ * the same computation AsyncListDiffer runs off the main thread.
+ * Before, every refresh rebound every row (notifyDataSetChanged).
+ */
+public class ProductDiffCallbackTest {
+    private static final int CATALOG_SIZE = 100;
+    private static final ProductItemMapper MAPPER = new ProductItemMapper();
+
+    @Test
+    public void identicalReload_bindsNothing() {
+        List<Product> current = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        List<Product> reloaded = FakeProductApiService.generateProducts(CATALOG_SIZE);
+
+        BindCounter counter = diff(current, reloaded);
+
+        assertEquals(0, counter.binds);
+        assertEquals(0, counter.removed);
+    }
+
+    @Test
+    public void changedPrice_bindsOnlyThatRow() {
+        List<Product> current = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        List<Product> reloaded = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        reloaded.get(42).setPrice(reloaded.get(42).getPrice() + 1);
+
+        BindCounter counter = diff(current, reloaded);
+
+        assertEquals(1, counter.binds);
+        assertEquals(1, counter.changed);
+    }
+
+    @Test
+    public void changedRating_bindsOnlyThatRow() {
+        List<Product> current = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        List<Product> reloaded = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        Product.Rating rating = new Product.Rating();
+        rating.setRate(1.5);
+        rating.setCount(3);
+        reloaded.get(7).setRating(rating);
+
+        assertEquals(1, diff(current, reloaded).binds);
+    }
+
+    @Test
+    public void insertedAndRemovedRows_bindOnlyInsertedRows() {
+        List<Product> current = FakeProductApiService.generateProducts(CATALOG_SIZE);
+        List<Product> reloaded = new ArrayList<>(FakeProductApiService.generateProducts(CATALOG_SIZE));
+        reloaded.remove(10);
+        Product added = FakeProductApiService.generateProducts(CATALOG_SIZE + 1).get(CATALOG_SIZE);
+        reloaded.add(0, added);
+
+        BindCounter counter = diff(current, reloaded);
+
+        assertEquals(1, counter.binds);
+        assertEquals(1, counter.inserted);
+        assertEquals(1, counter.removed);
+    }
+
+    @Test
+    public void streamedChunks_bindOnlyAppendedRows() {
+        List<Product> catalog = FakeProductApiService.generateProducts(CATALOG_SIZE);
+
+        BindCounter counter = diff(new ArrayList<>(catalog.subList(0, 50)), catalog);
+
+        assertEquals(50, counter.binds);
+        assertEquals(50, counter.inserted);
+    }
+
+    private static BindCounter diff(List<Product> oldProducts, List<Product> newProducts) {
+        List<ProductItem> oldList = MAPPER.map(oldProducts);
+        List<ProductItem> newList = MAPPER.map(newProducts);
+        ProductDiffCallback itemCallback = new ProductDiffCallback();
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return itemCallback.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return itemCallback.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+        });
+        BindCounter counter = new BindCounter();
+        result.dispatchUpdatesTo(counter);
+        return counter;
+    }
+
+    /**
+     * Inserted and changed rows are the ones RecyclerView binds again
+     */
+    private static class BindCounter implements ListUpdateCallback {
+        int inserted;
+        int removed;
+        int changed;
+        int binds;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+            binds += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            changed += count;
+            binds += count;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.model;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Verifies the display strings ProductItemMapper precomputes for product rows.
+ */
+public class ProductItemMapperTest {
+    @Test
+    public void mapper_matchesPreviousFormatting() {
+        for (Locale locale : new Locale[]{Locale.US, Locale.GERMANY, Locale.FRANCE}) {
+            ProductItemMapper mapper = new ProductItemMapper(locale);
+            for (Product product : FakeProductApiService.generateProducts(2_000)) {
+                product.setPrice(product.getId() * 0.37);
+                ProductItem item = mapper.map(product);
+                assertEquals(String.format(locale, "$%.2f", product.getPrice()), item.getPriceText());
+                assertEquals(String.format(locale, "%.1f ⭐ (%d reviews)",
+                        product.getRating().getRate(), product.getRating().getCount()), item.getRatingText());
+                assertEquals(product.getCategory(), item.getCategoryLabel());
+            }
+        }
+    }
+
+    @Test
+    public void mapper_roundsHalfwayValuesLikeStringFormat() {
+        ProductItemMapper mapper = new ProductItemMapper(Locale.US);
+        double[] prices = {1.005, 2.675, 0.125, 1.115, 10.005, 99.995};
+        double[] rates = {0.05, 0.15, 2.25, 4.35, 4.95};
+        for (int i = 0; i < prices.length; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setPrice(prices[i]);
+            Product.Rating rating = new Product.Rating();
+            rating.setRate(rates[i % rates.length]);
+            product.setRating(rating);
+
+            ProductItem item = mapper.map(product);
+
+            assertEquals(String.format(Locale.US, "$%.2f", prices[i]), item.getPriceText());
+            assertEquals(String.format(Locale.US, "%.1f ⭐ (0 reviews)", rating.getRate()), item.getRatingText());
+        }
+        assertEquals("$1.01", mapper.map(productWithPrice(1.005)).getPriceText());
+    }
+
+    @Test
+    public void mapper_handlesMissingRatingAndCategory() {
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(9.5);
+
+        ProductItem item = new ProductItemMapper(Locale.US).map(product);
+
+        assertEquals("$9.50", item.getPriceText());
+        assertEquals("", item.getCategoryLabel());
+        assertNull(item.getRatingText());
+    }
+
+    private static Product productWithPrice(double price) {
+        Product product = new Product();
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mustafa.androidtesttaskjava.feature.products.ui.paging;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Paged loading through ProductRepository.getProductPage against a 10k-product catalog,
+ * with pages loaded synchronously on the calling thread.
+ */
+public class ProductPagerTest {
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 20;
+    private static final int RETAIN_PAGES = 2;
+    private static final int VISIBLE_ROWS = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FakeProductApiService apiService;
+    private ProductRepository repository;
+    private ProductPager pager;
+    private List<ProductItem> rows = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        apiService = new FakeProductApiService(CATALOG_SIZE, 0);
+        repository = new ProductRepository(apiService,
+                new ProductDiskStore(new File(temporaryFolder.getRoot(), "products.bin"), Logger.NONE),
+                60_000, 8, Logger.NONE);
+        pager = new ProductPager(repository::getProductPage, Runnable::run, new ProductItemMapper(),
+                new ProductPager.Listener() {
+                    @Override
+                    public void onRowsChanged(List<ProductItem> changed) {
+                        rows = changed;
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        errors.add(message);
+                    }
+                }, PAGE_SIZE, PREFETCH_DISTANCE, RETAIN_PAGES);
+    }
+
+    @Test
+    public void repositoryPage_laterPagesAreCutFromOneListLoad() {
+        for (int page = 1; page <= 3; page++) {
+            ProductRepository.ProductResult<ProductRepository.Page> result =
+                    repository.getProductPage(page, PAGE_SIZE);
+
+            assertTrue(result.isSuccess());
+            assertEquals(PAGE_SIZE, result.getData().getProducts().size());
+            assertEquals(page * PAGE_SIZE + 1, result.getData().getProducts().get(0).getId());
+            assertFalse(result.getData().isLast());
+        }
+
+        assertEquals(1, apiService.getProductsCallCount());
+        assertNotNull(repository.getIndexedProduct(CATALOG_SIZE));
+    }
+
+    @Test
+    public void repositoryPage_lastPageIsShortOrEmpty() {
+        int lastPage = CATALOG_SIZE / PAGE_SIZE;
+
+        ProductRepository.ProductResult<ProductRepository.Page> result = repository.getProductPage(lastPage, PAGE_SIZE);
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.getData().getProducts().isEmpty());
+        assertTrue(result.getData().isLast());
+    }
+
+    @Test
+    public void refresh_loadsOnlyFirstPage() {
+        pager.refresh();
+
+        assertEquals(PAGE_SIZE, rows.size());
+        assertEquals(1, rows.get(0).getId());
+        assertEquals(1, apiService.getProductsCallCount());
+    }
+
+    @Test
+    public void scrollNearEnd_prefetchesNextPage() {
+        pager.refresh();
+
+        pager.onVisibleRange(0, PAGE_SIZE - PREFETCH_DISTANCE - 2);
+        assertEquals(PAGE_SIZE, rows.size());
+
+        pager.onVisibleRange(10, PAGE_SIZE - PREFETCH_DISTANCE);
+        assertEquals(2 * PAGE_SIZE, rows.size());
+        assertEquals(PAGE_SIZE + 1, rows.get(PAGE_SIZE).getId());
+    }
+
+    @Test
+    public void pagesNotVisibleYet_loadOnPrefetchExecutor() {
+        List<String> lanes = new ArrayList<>();
+        ProductPager lanedPager = new ProductPager(repository::getProductPage,
+                command -> {
+                    lanes.add("visible");
+                    command.run();
+                },
+                command -> {
+                    lanes.add("prefetch");
+                    command.run();
+                }, new ProductItemMapper(), new ProductPager.Listener() {
+                    @Override
+                    public void onRowsChanged(List<ProductItem> changed) {
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                    }
+                }, PAGE_SIZE, PREFETCH_DISTANCE, RETAIN_PAGES);
+
+        lanedPager.refresh();
+        lanedPager.onVisibleRange(10, PAGE_SIZE - PREFETCH_DISTANCE);
+
+        assertEquals(2, lanes.size());
+        assertEquals("visible", lanes.get(0));
+        assertEquals("prefetch", lanes.get(1));
+    }
+
+    @Test
+    public void scrollThroughCatalog_keepsBoundedPagesInMemory() {
+        pager.refresh();
+        int maxResident = 0;
+        for (int first = 0; first + VISIBLE_ROWS <= rows.size(); first += VISIBLE_ROWS) {
+            pager.onVisibleRange(first, first + VISIBLE_ROWS - 1);
+            maxResident = Math.max(maxResident, pager.getResidentPageCount());
+            assertNotNull(rows.get(first));
+            assertNotNull(rows.get(first + VISIBLE_ROWS - 1));
+        }
+
+        assertTrue(pager.isEndReached());
+        assertEquals(CATALOG_SIZE, rows.size());
+        assertEquals(CATALOG_SIZE, rows.get(CATALOG_SIZE - 1).getId());
+        assertTrue("resident pages " + maxResident, maxResident <= 2 * RETAIN_PAGES + 2);
+        assertNull(rows.get(0));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void reload_keepsSlotsAndReloadsResidentPagesOnly() {
+        pager.refresh();
+        for (int first = 0; first < 10 * PAGE_SIZE; first += VISIBLE_ROWS) {
+            pager.onVisibleRange(first, first + VISIBLE_ROWS - 1);
+        }
+        int sizeBefore = rows.size();
+        int residentBefore = pager.getResidentPageCount();
+        List<ProductItem> before = rows;
+
+        pager.reload();
+
+        assertEquals(sizeBefore, rows.size());
+        assertEquals(residentBefore, pager.getResidentPageCount());
+        assertNotSame(before, rows);
+        assertNull(rows.get(0));
+        assertNotNull(rows.get(sizeBefore - 1));
+    }
+
+    @Test
+    public void scrollBack_reloadsEvictedPage() {
+        pager.refresh();
+        for (int first = 0; first < 20 * PAGE_SIZE; first += VISIBLE_ROWS) {
+            pager.onVisibleRange(first, first + VISIBLE_ROWS - 1);
+        }
+        assertNull(rows.get(0));
+        int sizeBefore = rows.size();
+
+        pager.onVisibleRange(0, VISIBLE_ROWS - 1);
+
+        assertEquals(sizeBefore, rows.size());
+        assertEquals(1, rows.get(0).getId());
+        assertNull(rows.get(sizeBefore - 1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.mustafa.androidtesttaskjava.testutil;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit Call that returns a canned body after a simulated network latency.
+ */
+public class FakeCall<T> implements Call<T> {
+    private final T body;
+    private final long latencyMillis;
+    private volatile boolean executed;
+    private volatile boolean canceled;
+
+    public FakeCall(T body, long latencyMillis) {
+        this.body = body;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        executed = true;
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Canceled", e);
+            }
+        }
+        if (canceled) {
+            throw new IOException("Canceled");
+        }
+        return Response.success(body);
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        new Thread(() -> {
+            try {
+                callback.onResponse(this, execute());
+            } catch (IOException e) {
+                callback.onFailure(this, e);
+            }
+        }).start();
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new FakeCall<>(body, latencyMillis);
+    }
+
+    @Override
+    public Request request() {
+        return new Request.Builder().url("https://fakestoreapi.com/").build();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return Timeout.NONE;
+    }
+}
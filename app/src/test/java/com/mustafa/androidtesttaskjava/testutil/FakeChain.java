@@ -0,0 +1,89 @@
+package com.mustafa.androidtesttaskjava.testutil;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Interceptor chain that answers every request locally with 200 OK.
+ * Keeps the last proceeded request for assertions.
+ */
+public class FakeChain implements Interceptor.Chain {
+    private final Request request;
+    private Request proceededRequest;
+    private int proceedCount;
+
+    public FakeChain(Request request) {
+        this.request = request;
+    }
+
+    public Request getProceededRequest() {
+        return proceededRequest;
+    }
+
+    public int getProceedCount() {
+        return proceedCount;
+    }
+
+    @Override
+    public Request request() {
+        return request;
+    }
+
+    @Override
+    public Response proceed(Request request) {
+        proceededRequest = request;
+        proceedCount++;
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .build();
+    }
+
+    @Override
+    public Connection connection() {
+        return null;
+    }
+
+    @Override
+    public Call call() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int connectTimeoutMillis() {
+        return 0;
+    }
+
+    @Override
+    public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+        return this;
+    }
+
+    @Override
+    public int readTimeoutMillis() {
+        return 0;
+    }
+
+    @Override
+    public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+        return this;
+    }
+
+    @Override
+    public int writeTimeoutMillis() {
+        return 0;
+    }
+
+    @Override
+    public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+        return this;
+    }
+}
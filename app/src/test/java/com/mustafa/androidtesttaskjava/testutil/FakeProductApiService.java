@@ -0,0 +1,143 @@
+package com.mustafa.androidtesttaskjava.testutil;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * ProductApiService backed by generated products with a fixed simulated latency.
+ */
+public class FakeProductApiService implements ProductApiService {
+    private static final Gson GSON = NetworkModule.createGson();
+    private final List<Product> products;
+    private final long latencyMillis;
+    private final AtomicInteger productsCalls = new AtomicInteger();
+    private final AtomicInteger productCalls = new AtomicInteger();
+    private final AtomicInteger categoryCalls = new AtomicInteger();
+    private String productsJson;
+
+    public FakeProductApiService(int productCount, long latencyMillis) {
+        this.products = generateProducts(productCount);
+        this.latencyMillis = latencyMillis;
+    }
+
+    public static List<Product> generateProducts(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setTitle("Product " + i);
+            product.setPrice(i * 1.25);
+            product.setDescription("Description of product " + i);
+            product.setCategory("category " + (i % 4));
+            product.setImage("https://fakestoreapi.com/img/" + i + ".jpg");
+            Product.Rating rating = new Product.Rating();
+            rating.setRate((i % 50) / 10.0);
+            rating.setCount(i % 500);
+            product.setRating(rating);
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Stop returning a product, as if it was deleted on the server
+     */
+    public synchronized void removeProduct(int id) {
+        products.removeIf(product -> product.getId() == id);
+        productsJson = null;
+    }
+
+    public int getProductsCallCount() {
+        return productsCalls.get();
+    }
+
+    public int getProductCallCount() {
+        return productCalls.get();
+    }
+
+    public int getCategoryCallCount() {
+        return categoryCalls.get();
+    }
+
+    @Override
+    public Call<List<Product>> getProducts() {
+        productsCalls.incrementAndGet();
+        return new FakeCall<>(products, latencyMillis);
+    }
+
+    @Override
+    public Call<JsonStream<Product>> streamProducts() {
+        productsCalls.incrementAndGet();
+        ResponseBody body = ResponseBody.create(getProductsJson(), MediaType.get("application/json"));
+        JsonStream<Product> stream = new JsonStream<>(
+                body, GSON.newJsonReader(body.charStream()), GSON.getAdapter(Product.class));
+        return new FakeCall<>(stream, latencyMillis);
+    }
+
+    @Override
+    public Call<JsonStream<Product>> streamProducts(int limit) {
+        productsCalls.incrementAndGet();
+        String json = GSON.toJson(products.subList(0, Math.min(limit, products.size())));
+        ResponseBody body = ResponseBody.create(json, MediaType.get("application/json"));
+        JsonStream<Product> stream = new JsonStream<>(
+                body, GSON.newJsonReader(body.charStream()), GSON.getAdapter(Product.class));
+        return new FakeCall<>(stream, latencyMillis);
+    }
+
+    private synchronized String getProductsJson() {
+        if (productsJson == null) {
+            productsJson = GSON.toJson(products);
+        }
+        return productsJson;
+    }
+
+    @Override
+    public Call<Product> getProduct(int id) {
+        productCalls.incrementAndGet();
+        Product found = null;
+        for (Product product : products) {
+            if (product.getId() == id) {
+                found = product;
+            }
+        }
+        return new FakeCall<>(found, latencyMillis);
+    }
+
+    @Override
+    public Call<List<String>> getCategories() {
+        categoryCalls.incrementAndGet();
+        Set<String> categories = new LinkedHashSet<>();
+        for (Product product : products) {
+            categories.add(product.getCategory());
+        }
+        return new FakeCall<>(new ArrayList<>(categories), latencyMillis);
+    }
+
+    @Override
+    public Call<JsonStream<Product>> streamProductsInCategory(String category) {
+        categoryCalls.incrementAndGet();
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (category.equals(product.getCategory())) {
+                matches.add(product);
+            }
+        }
+        ResponseBody body = ResponseBody.create(GSON.toJson(matches), MediaType.get("application/json"));
+        JsonStream<Product> stream = new JsonStream<>(
+                body, GSON.newJsonReader(body.charStream()), GSON.getAdapter(Product.class));
+        return new FakeCall<>(stream, latencyMillis);
+    }
+}
@@ -0,0 +1,146 @@
+package com.mustafa.androidtesttaskjava.testutil;
+
+import android.content.SharedPreferences;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory SharedPreferences for local unit tests and the benchmark module.
+ * Reads take the same object lock the platform implementation does.
+ */
+public class FakeSharedPreferences implements SharedPreferences {
+    private final Map<String, Object> values = new HashMap<>();
+
+    @Override
+    public synchronized String getString(String key, String defValue) {
+        Object value = values.get(key);
+        return value != null ? (String) value : defValue;
+    }
+
+    @Override
+    public synchronized long getLong(String key, long defValue) {
+        Object value = values.get(key);
+        return value != null ? (Long) value : defValue;
+    }
+
+    @Override
+    public synchronized int getInt(String key, int defValue) {
+        Object value = values.get(key);
+        return value != null ? (Integer) value : defValue;
+    }
+
+    @Override
+    public synchronized boolean getBoolean(String key, boolean defValue) {
+        Object value = values.get(key);
+        return value != null ? (Boolean) value : defValue;
+    }
+
+    @Override
+    public synchronized float getFloat(String key, float defValue) {
+        Object value = values.get(key);
+        return value != null ? (Float) value : defValue;
+    }
+
+    @Override
+    public synchronized java.util.Set<String> getStringSet(String key, java.util.Set<String> defValues) {
+        return defValues;
+    }
+
+    @Override
+    public synchronized Map<String, ?> getAll() {
+        return new HashMap<>(values);
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Editor edit() {
+        return new FakeEditor();
+    }
+
+    @Override
+    public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+    }
+
+    @Override
+    public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+    }
+
+    private class FakeEditor implements Editor {
+        private final Map<String, Object> pending = new HashMap<>();
+        private boolean clear;
+
+        @Override
+        public Editor putString(String key, String value) {
+            pending.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putStringSet(String key, java.util.Set<String> values) {
+            return this;
+        }
+
+        @Override
+        public Editor putInt(String key, int value) {
+            pending.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putLong(String key, long value) {
+            pending.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putFloat(String key, float value) {
+            pending.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putBoolean(String key, boolean value) {
+            pending.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor remove(String key) {
+            pending.put(key, null);
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            apply();
+            return true;
+        }
+
+        @Override
+        public void apply() {
+            synchronized (FakeSharedPreferences.this) {
+                if (clear) {
+                    values.clear();
+                }
+                for (Map.Entry<String, Object> entry : pending.entrySet()) {
+                    if (entry.getValue() == null) {
+                        values.remove(entry.getKey());
+                    } else {
+                        values.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+plugins {
+    java
+}
+
+// Pure JVM module: compiles the Android-free app sources (auth, network, data layers, UI models)
+// and the app's test utilities (fakes, fixtures) against the android.* shadows in src/main/java
+// and runs JMH suites over them.
+val appSources = "../app/src/main/java"
+val appTestSources = "../app/src/test/java"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            srcDir(appSources)
+            srcDir(appTestSources)
+            include(
+                "android/**",
+                "androidx/**",
+                "com/mustafa/androidtesttaskjava/benchmark/**",
+                "com/mustafa/androidtesttaskjava/core/auth/**",
+                "com/mustafa/androidtesttaskjava/core/network/**",
+                "com/mustafa/androidtesttaskjava/core/di/module/NetworkModule.java",
+                "com/mustafa/androidtesttaskjava/core/logging/**",
+                "com/mustafa/androidtesttaskjava/core/di/scope/**",
+                "com/mustafa/androidtesttaskjava/feature/*/data/**",
+                "com/mustafa/androidtesttaskjava/feature/*/ui/model/**",
+                "com/mustafa/androidtesttaskjava/testutil/**"
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.retrofit)
+    implementation(libs.retrofit.gson)
+    implementation(libs.okhttp)
+    implementation(libs.okhttp.logging)
+    implementation(libs.okhttp.mockwebserver)
+    implementation(libs.gson)
+    implementation(libs.dagger)
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator.annprocess)
+}
+
+fun argsProperty(name: String): List<String> =
+    (findProperty(name) as String?)?.split(" ")?.filter { it.isNotBlank() }.orEmpty()
+
+// Results are written as JSON named after the current commit, so runs can be diffed across commits.
+// Extra JMH options: ./gradlew :benchmark:jmh -PjmhArgs="ProductParsing -p size=1000"
+val gitRevision = providers.exec {
+    commandLine("git", "rev-parse", "--short", "HEAD")
+    isIgnoreExitValue = true
+}.standardOutput.asText.map { it.trim().ifEmpty { "local" } }
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and writes machine-readable JSON results"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val resultsDir = layout.buildDirectory.dir("results/jmh")
+    val resultFile = resultsDir.map { it.file("jmh-${gitRevision.get()}.json").asFile }
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-rf", "json", "-rff", resultFile.get().path) + argsProperty("jmhArgs")
+    })
+    doFirst {
+        resultsDir.get().asFile.mkdirs()
+    }
+}
+
+// Load test against a local FakeStore stand-in (or --base-url), JSON report next to the JMH results.
+// ./gradlew :benchmark:loadTest -PloadTestArgs="--sessions 32 --duration 60 --latency 50 --error-rate 0.02"
+tasks.register<JavaExec>("loadTest") {
+    group = "benchmark"
+    description = "Runs concurrent sessions through the real auth/product stack and reports latency percentiles"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.mustafa.androidtesttaskjava.benchmark.loadtest.LoadDriver")
+    val resultFile = layout.buildDirectory.file("results/loadtest/loadtest-${gitRevision.get()}.json")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("--out", resultFile.get().asFile.path) + argsProperty("loadTestArgs")
+    })
+}
+
+// Standalone FakeStore stand-in, e.g. for the app built with -PfakestoreBaseUrl=http://10.0.2.2:8080/
+tasks.register<JavaExec>("fakeStoreServer") {
+    group = "benchmark"
+    description = "Starts the local FakeStore-compatible server"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.mustafa.androidtesttaskjava.benchmark.loadtest.FakeStoreServer")
+    argumentProviders.add(CommandLineArgumentProvider { argsProperty("fakeStoreArgs") })
+}
@@ -0,0 +1,18 @@
+package android.content;
+
+import java.io.File;
+
+/**
+ * JVM shadow of android.content.Context with the members used by the shared sources
+ */
+public abstract class Context {
+    public static final int MODE_PRIVATE = 0;
+
+    public abstract Context getApplicationContext();
+
+    public abstract SharedPreferences getSharedPreferences(String name, int mode);
+
+    public abstract File getCacheDir();
+
+    public abstract File getFilesDir();
+}
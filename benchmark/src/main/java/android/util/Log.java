@@ -0,0 +1,38 @@
+package android.util;
+
+/**
+ * JVM shadow of android.util.Log for the benchmark module; discards all output
+ * so logging does not distort measurements.
+ */
+public final class Log {
+    private Log() {
+    }
+
+    public static int v(String tag, String msg) {
+        return 0;
+    }
+
+    public static int d(String tag, String msg) {
+        return 0;
+    }
+
+    public static int i(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+}
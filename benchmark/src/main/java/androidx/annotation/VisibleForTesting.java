@@ -0,0 +1,11 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * JVM shadow of androidx.annotation.VisibleForTesting
+ */
+@Retention(RetentionPolicy.CLASS)
+public @interface VisibleForTesting {
+}
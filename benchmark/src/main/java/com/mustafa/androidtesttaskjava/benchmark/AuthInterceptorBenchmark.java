@@ -0,0 +1,108 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import android.content.SharedPreferences;
+
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.AuthInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.testutil.FakeChain;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Per-request cost of AuthInterceptor.intercept with a valid token,
+ * single-threaded and with concurrent callers, and of the previous
+ * preferences-backed token lookup as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthInterceptorBenchmark {
+    private AuthInterceptor interceptor;
+    private Interceptor preferencesInterceptor;
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        SharedPreferences preferences = new FakeSharedPreferences();
+        AuthManager authManager = new AuthManager(preferences);
+        authManager.saveToken("benchmark-token");
+        preferencesInterceptor = new PreferencesInterceptor(preferences);
+        interceptor = new AuthInterceptor(authManager, new TokenRefreshHandler() {
+            @Override
+            public boolean refreshToken() {
+                return true;
+            }
+
+            @Override
+            public void onRefreshFailed() {
+            }
+        }, Logger.NONE);
+        request = new Request.Builder().url("https://fakestoreapi.com/products").build();
+    }
+
+    @Benchmark
+    public Response intercept() throws IOException {
+        return interceptor.intercept(new FakeChain(request));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Response interceptContended() throws IOException {
+        return interceptor.intercept(new FakeChain(request));
+    }
+
+    @Benchmark
+    public Response interceptPreferences() throws IOException {
+        return preferencesInterceptor.intercept(new FakeChain(request));
+    }
+
+    /**
+     * Previous hot path: expiry check and token read both go through preferences
+     */
+    private static class PreferencesInterceptor implements Interceptor {
+        private final SharedPreferences preferences;
+
+        PreferencesInterceptor(SharedPreferences preferences) {
+            this.preferences = preferences;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request originalRequest = chain.request();
+            long savedAt = preferences.getLong("token_saved_at", 0);
+            if (savedAt == 0 || System.currentTimeMillis() - savedAt >= 60_000) {
+                return chain.proceed(originalRequest);
+            }
+            String token = preferences.getString("token", null);
+            if (token != null && preferences.getLong("token_saved_at", 0) != 0) {
+                return chain.proceed(originalRequest.newBuilder()
+                        .header("Authorization", "Bearer " + token)
+                        .build());
+            }
+            return chain.proceed(originalRequest);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.mustafa.androidtesttaskjava.benchmark.support.ProductFixtures;
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.logging.AndroidLogger;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.logging.SampledHttpLoggingInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.AuthInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+import com.mustafa.androidtesttaskjava.testutil.NoDelayServerSocketFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Product list call (20 products) against MockWebServer with BODY logging always
+ * installed, as before, against the release setup (no HTTP logging interceptor) and
+ * the debug setup (headers only). Run with -prof gc for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpLoggingBenchmark {
+    private static final int PRODUCT_COUNT = 20;
+
+    private MockWebServer server;
+    private OkHttpClient bodyLogging;
+    private OkHttpClient release;
+    private OkHttpClient debug;
+    private Request request;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(ProductFixtures.productsDispatcher(PRODUCT_COUNT));
+        server.start();
+        request = new Request.Builder().url(server.url("/products")).build();
+
+        AuthManager authManager = new AuthManager(new FakeSharedPreferences(), 60 * 60_000);
+        authManager.saveToken("benchmark-token");
+        HttpLoggingInterceptor body = new HttpLoggingInterceptor(message -> { });
+        body.setLevel(HttpLoggingInterceptor.Level.BODY);
+        bodyLogging = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(authManager, new NoOpRefreshHandler(), Logger.NONE))
+                .addInterceptor(body)
+                .build();
+        release = createClient(authManager, new AndroidLogger(false));
+        debug = createClient(authManager, new AndroidLogger(true));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (OkHttpClient client : new OkHttpClient[]{bodyLogging, release, debug}) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+        server.shutdown();
+    }
+
+    @Benchmark
+    public String bodyLogging() throws IOException {
+        return execute(bodyLogging);
+    }
+
+    @Benchmark
+    public String release() throws IOException {
+        return execute(release);
+    }
+
+    @Benchmark
+    public String debugHeaders() throws IOException {
+        return execute(debug);
+    }
+
+    private String execute(OkHttpClient client) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private static OkHttpClient createClient(AuthManager authManager, Logger logger) {
+        SampledHttpLoggingInterceptor logging = new SampledHttpLoggingInterceptor(logger, 0);
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(authManager, new NoOpRefreshHandler(), logger));
+        if (logging.isEnabled()) {
+            builder.addInterceptor(logging);
+        }
+        return builder.build();
+    }
+
+    private static class NoOpRefreshHandler implements TokenRefreshHandler {
+        @Override
+        public boolean refreshToken() {
+            return false;
+        }
+
+        @Override
+        public void onRefreshFailed() {
+        }
+    }
+}
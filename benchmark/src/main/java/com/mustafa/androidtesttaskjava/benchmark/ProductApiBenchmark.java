@@ -0,0 +1,154 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.benchmark.support.ProductFixtures;
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.AuthInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
+import com.mustafa.androidtesttaskjava.core.network.JsonStreamConverterFactory;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandler;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+import com.mustafa.androidtesttaskjava.testutil.NoDelayServerSocketFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * End-to-end product calls against a local MockWebServer through AuthInterceptor:
+ * single product, full list (buffered, streamed, and the first streamed chunk), and ProductRepository
+ * including result wrapping, caching and the disk store sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductApiBenchmark {
+    private static final int CHUNK_SIZE = 50;
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ProductApiService apiService;
+    private ProductRepository repository;
+    private File storeDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(ProductFixtures.productsDispatcher(size));
+        server.start();
+
+        AuthManager authManager = new AuthManager(new FakeSharedPreferences());
+        authManager.saveToken("benchmark-token");
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(authManager, new TokenRefreshHandler() {
+                    @Override
+                    public boolean refreshToken() {
+                        return true;
+                    }
+
+                    @Override
+                    public void onRefreshFailed() {
+                    }
+                }, Logger.NONE))
+                .build();
+        Gson gson = NetworkModule.createGson();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(JsonStreamConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ProductApiService.class);
+
+        storeDir = Files.createTempDirectory("product-store").toFile();
+        repository = new ProductRepository(apiService,
+                new ProductDiskStore(new File(storeDir, "products.bin"), Logger.NONE), 10 * 60_000, 8, Logger.NONE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+        File[] files = storeDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        storeDir.delete();
+    }
+
+    @Benchmark
+    public Product getProduct() throws IOException {
+        return apiService.getProduct(1).execute().body();
+    }
+
+    @Benchmark
+    public List<Product> getProductsBuffered() throws IOException {
+        return apiService.getProducts().execute().body();
+    }
+
+    @Benchmark
+    public void getProductsStreamed(Blackhole blackhole) throws IOException {
+        try (JsonStream<Product> stream = apiService.streamProducts().execute().body()) {
+            while (!stream.isFinished()) {
+                blackhole.consume(stream.nextChunk(CHUNK_SIZE));
+            }
+        }
+    }
+
+    /**
+     * Time to the first chunk of the streamed list, what the list screen waits for
+     */
+    @Benchmark
+    public List<Product> getProductsFirstChunk() throws IOException {
+        try (JsonStream<Product> stream = apiService.streamProducts().execute().body()) {
+            return stream.nextChunk(CHUNK_SIZE);
+        }
+    }
+
+    @Benchmark
+    public ProductRepository.ProductResult<List<Product>> repositoryNetwork() {
+        return repository.getProducts();
+    }
+
+    @Benchmark
+    public void repositoryCached(Blackhole blackhole) {
+        repository.getProducts(blackhole::consume);
+    }
+}
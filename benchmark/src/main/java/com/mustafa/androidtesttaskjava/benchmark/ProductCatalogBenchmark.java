@@ -0,0 +1,101 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CatalogQuery;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryDictionary;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.CategoryFacetIndex;
+import com.mustafa.androidtesttaskjava.feature.products.data.catalog.ProductCatalog;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering and sorting the catalog: CatalogQuery over ProductCatalog columns against the
+ * same filter and sort over List&lt;Product&gt;, and listing one category (one product in a
+ * thousand) from CategoryFacetIndex against scanning the list. Run with -prof gc for allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductCatalogBenchmark {
+    private static final double MIN_PRICE = 1_000;
+    private static final double MAX_PRICE = 100_000;
+    private static final String RARE_CATEGORY = "rare";
+    private static final Comparator<Product> BY_RATING = Comparator.comparingDouble(
+            (Product product) -> product.getRating().getRate()).reversed();
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Product> products;
+    private ProductCatalog catalog;
+    private CatalogQuery query;
+    private CategoryFacetIndex facetIndex;
+    private int rareOrdinal;
+
+    @Setup
+    public void setUp() {
+        products = FakeProductApiService.generateProducts(size);
+        for (int i = 0; i < products.size(); i += 1000) {
+            products.get(i).setCategory(RARE_CATEGORY);
+        }
+        CategoryDictionary dictionary = new CategoryDictionary();
+        catalog = ProductCatalog.of(products, dictionary);
+        query = CatalogQuery.ALL.withPriceRange(MIN_PRICE, MAX_PRICE)
+                .withSortOrder(ProductCatalog.SortOrder.RATING);
+        facetIndex = new CategoryFacetIndex(dictionary);
+        facetIndex.addAll(products);
+        rareOrdinal = dictionary.find(RARE_CATEGORY);
+    }
+
+    @Benchmark
+    public int[] catalogQuery() {
+        return query.apply(catalog);
+    }
+
+    @Benchmark
+    public List<Product> listFilterAndSort() {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getPrice() >= MIN_PRICE && product.getPrice() < MAX_PRICE) {
+                matches.add(product);
+            }
+        }
+        matches.sort(BY_RATING);
+        return matches;
+    }
+
+    @Benchmark
+    public List<Product> facetIndexCategory() {
+        return facetIndex.getProducts(rareOrdinal);
+    }
+
+    @Benchmark
+    public List<Product> listScanCategory() {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (RARE_CATEGORY.equals(product.getCategory())) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent product store: a cold start reading the whole catalog from disk (compare with
+ * ProductApiBenchmark.repositoryNetwork), and a sync in which one product changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductDiskStoreBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private File storeDir;
+    private File file;
+    private List<Product> products;
+    private ProductDiskStore store;
+    private int syncs;
+
+    @Setup
+    public void setUp() throws IOException {
+        storeDir = Files.createTempDirectory("product-store").toFile();
+        file = new File(storeDir, "products.bin");
+        products = FakeProductApiService.generateProducts(size);
+        store = new ProductDiskStore(file, Logger.NONE);
+        store.sync(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = storeDir.listFiles();
+        if (files != null) {
+            for (File stored : files) {
+                stored.delete();
+            }
+        }
+        storeDir.delete();
+    }
+
+    @Benchmark
+    public List<Product> coldLoad() {
+        return new ProductDiskStore(file, Logger.NONE).load();
+    }
+
+    @Benchmark
+    public int syncOneChange() throws IOException {
+        products.get(0).setPrice(++syncs);
+        return store.sync(products);
+    }
+}
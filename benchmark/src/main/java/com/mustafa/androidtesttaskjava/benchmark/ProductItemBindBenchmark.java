@@ -0,0 +1,66 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItem;
+import com.mustafa.androidtesttaskjava.feature.products.ui.model.ProductItemMapper;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row bind during a fling through the product list, per row: the previous
+ * String.format bind against the precomputed ProductItem strings.
+ * Run with -prof gc for allocation per bind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductItemBindBenchmark {
+    private static final int ROWS = 10_000;
+
+    private List<Product> products;
+    private List<ProductItem> items;
+
+    @Setup
+    public void setUp() {
+        products = FakeProductApiService.generateProducts(ROWS);
+        items = new ProductItemMapper().map(products);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void formatted(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(product.getTitle());
+            blackhole.consume(String.format("$%.2f", product.getPrice()));
+            blackhole.consume(product.getCategory());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void precomputed(Blackhole blackhole) {
+        for (ProductItem item : items) {
+            blackhole.consume(item.getTitle());
+            blackhole.consume(item.getPriceText());
+            blackhole.consume(item.getCategoryLabel());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.mustafa.androidtesttaskjava.benchmark.support.ProductFixtures;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.core.network.JsonStream;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+/**
+ * Product list parsing from generated fixtures: reflective Gson, the shared
+ * Gson with hand-written adapters, and the chunked JsonStream path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductParsingBenchmark {
+    private static final Type PRODUCT_LIST = new TypeToken<List<Product>>() { }.getType();
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final int CHUNK_SIZE = 50;
+
+    @Param({"20", "1000", "100000"})
+    public int size;
+
+    private final Gson reflective = new Gson();
+    private final Gson generated = NetworkModule.createGson();
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        json = ProductFixtures.productsJson(size);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Product> reflectiveGson() {
+        return reflective.fromJson(json, PRODUCT_LIST);
+    }
+
+    @Benchmark
+    public List<Product> generatedAdapters() {
+        return generated.fromJson(json, PRODUCT_LIST);
+    }
+
+    @Benchmark
+    public void streamedChunks(Blackhole blackhole) throws IOException {
+        ResponseBody body = ResponseBody.create(jsonBytes, JSON);
+        try (JsonStream<Product> stream = new JsonStream<>(
+                body, generated.newJsonReader(body.charStream()), generated.getAdapter(Product.class))) {
+            while (!stream.isFinished()) {
+                blackhole.consume(stream.nextChunk(CHUNK_SIZE));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mustafa.androidtesttaskjava.benchmark;
+
+import com.mustafa.androidtesttaskjava.benchmark.support.ProductFixtures;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.feature.products.data.search.ProductSearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search query latency over the product catalog: ProductSearchIndex, and the
+ * per-keystroke list scan it replaces (matching only, without ranking). Queries go from a single letter (widest
+ * prefix expansion) to several whole terms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+    private static final int LIMIT = 100;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"c", "cott", "cotton jacket", "slim fit wat"})
+    public String query;
+
+    private List<Product> products;
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        products = ProductFixtures.generateSearchableProducts(size);
+        index = new ProductSearchIndex(Runnable::run);
+        index.addAll(products);
+    }
+
+    @Benchmark
+    public List<Product> index() {
+        return index.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public int listScan() {
+        String[] tokens = query.split(" ");
+        int matches = 0;
+        for (Product product : products) {
+            String text = (product.getTitle() + " " + product.getCategory() + " " + product.getDescription())
+                    .toLowerCase();
+            boolean all = true;
+            for (String token : tokens) {
+                all &= text.contains(token);
+            }
+            // Ranking needs every match, so the scan cannot stop at LIMIT
+            if (all) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,170 @@
+package com.mustafa.androidtesttaskjava.benchmark.loadtest;
+
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+import com.mustafa.androidtesttaskjava.testutil.NoDelayServerSocketFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Local FakeStore-compatible server for load tests.
+ * Serves POST /auth/login, GET /products (with optional ?limit=) and GET /products/{id} with a configurable
+ * response latency, error rate (HTTP 500) and catalog size.
+ * Product endpoints answer 401 without a Bearer token, like the real API behind AuthInterceptor.
+ * Run standalone with: ./gradlew :benchmark:fakeStoreServer -PfakeStoreArgs="--port 8080"
+ */
+public class FakeStoreServer implements Closeable {
+    private final MockWebServer server = new MockWebServer();
+    private final Config config;
+    private final AtomicLong tokenCounter = new AtomicLong();
+    private final List<Product> products;
+    private final byte[] productsJson;
+    private final String[] productJson;
+    private final Map<Integer, byte[]> limitedJson = new ConcurrentHashMap<>();
+
+    public FakeStoreServer(Config config) {
+        this.config = config;
+        products = FakeProductApiService.generateProducts(config.productCount);
+        productsJson = NetworkModule.createGson().toJson(products).getBytes(StandardCharsets.UTF_8);
+        productJson = new String[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            productJson[i] = NetworkModule.createGson().toJson(products.get(i));
+        }
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new FakeStoreDispatcher());
+    }
+
+    public void start(int port) throws IOException {
+        server.start(port);
+    }
+
+    /**
+     * Base URL for Retrofit / NetworkModule, ending with '/'
+     */
+    public HttpUrl url() {
+        return server.url("/");
+    }
+
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private class FakeStoreDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            MockResponse response = route(request);
+            if (config.latencyMillis > 0) {
+                response.setHeadersDelay(config.latencyMillis, TimeUnit.MILLISECONDS);
+            }
+            return response;
+        }
+
+        private MockResponse route(RecordedRequest request) {
+            if (config.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < config.errorRate) {
+                return new MockResponse().setResponseCode(500);
+            }
+            String path = request.getRequestUrl() != null ? request.getRequestUrl().encodedPath() : "";
+            if ("/auth/login".equals(path) && "POST".equals(request.getMethod())) {
+                return json("{\"token\":\"load-token-" + tokenCounter.incrementAndGet() + "\"}");
+            }
+            String authorization = request.getHeader("Authorization");
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                return new MockResponse().setResponseCode(401);
+            }
+            if ("/products".equals(path)) {
+                String limit = request.getRequestUrl().queryParameter("limit");
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(new Buffer().write(limit != null ? limitedJson(limit) : productsJson));
+            }
+            if (path.startsWith("/products/")) {
+                try {
+                    int id = Integer.parseInt(path.substring("/products/".length()));
+                    if (id >= 1 && id <= productJson.length) {
+                        return json(productJson[id - 1]);
+                    }
+                } catch (NumberFormatException ignored) {
+                    // Falls through to 404
+                }
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+
+        /**
+         * First limit products, like FakeStore's ?limit=; invalid values serve the whole catalog
+         */
+        private byte[] limitedJson(String limit) {
+            int count;
+            try {
+                count = Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                return productsJson;
+            }
+            if (count <= 0 || count >= products.size()) {
+                return productsJson;
+            }
+            return limitedJson.computeIfAbsent(count, c -> NetworkModule.createGson()
+                    .toJson(products.subList(0, c)).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private MockResponse json(String body) {
+            return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+        }
+    }
+
+    /**
+     * Server behaviour; defaults match the real catalog size with no injected latency or errors
+     */
+    public static class Config {
+        long latencyMillis;
+        double errorRate;
+        int productCount = 20;
+
+        public Config latencyMillis(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+            return this;
+        }
+
+        public Config errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Config productCount(int productCount) {
+            this.productCount = productCount;
+            return this;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        FakeStoreServer server = new FakeStoreServer(new Config()
+                .latencyMillis(options.getLong("latency", 0))
+                .errorRate(options.getDouble("error-rate", 0))
+                .productCount(options.getInt("products", 20)));
+        server.start(options.getInt("port", 8080));
+        System.out.println("FakeStore stand-in listening on " + server.url());
+        Thread.currentThread().join();
+    }
+}
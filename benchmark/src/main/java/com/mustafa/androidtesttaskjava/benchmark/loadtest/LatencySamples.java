@@ -0,0 +1,56 @@
+package com.mustafa.androidtesttaskjava.benchmark.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latency samples in nanoseconds.
+ * Not thread-safe: each session records into its own instance, merged after the run.
+ */
+class LatencySamples {
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        sorted = false;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, 0 if empty
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return samples[Math.max(0, Math.min(size - 1, rank - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,280 @@
+package com.mustafa.androidtesttaskjava.benchmark.loadtest;
+
+import com.google.gson.Gson;
+import com.mustafa.androidtesttaskjava.core.auth.AuthManager;
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.core.logging.Logger;
+import com.mustafa.androidtesttaskjava.core.network.AuthInterceptor;
+import com.mustafa.androidtesttaskjava.core.network.JsonStreamConverterFactory;
+import com.mustafa.androidtesttaskjava.core.network.TokenAuthenticator;
+import com.mustafa.androidtesttaskjava.core.network.TokenRefreshHandlerImpl;
+import com.mustafa.androidtesttaskjava.feature.auth.data.remote.AuthApiService;
+import com.mustafa.androidtesttaskjava.feature.products.data.local.ProductDiskStore;
+import com.mustafa.androidtesttaskjava.feature.products.data.remote.ProductApiService;
+import com.mustafa.androidtesttaskjava.feature.products.data.repository.ProductRepository;
+import com.mustafa.androidtesttaskjava.testutil.FakeSharedPreferences;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Headless load driver.
+ * Runs N concurrent sessions, each with its own AuthManager and ProductRepository on the
+ * real AuthInterceptor / TokenAuthenticator / Retrofit stack, sharing one root OkHttpClient
+ * as the app does. Sessions log in, then mix product list and product detail calls until the
+ * duration ends. Reports p50/p95/p99 latency and throughput per operation.
+ *
+ * Options (all optional): --sessions 16 --duration 30 (seconds) --list-ratio 0.2
+ * --token-validity 30000 (ms) --base-url URL (otherwise a local FakeStoreServer is started
+ * with --latency ms, --error-rate 0..1, --products N) --out results.json
+ */
+public class LoadDriver {
+    private static final String USERNAME = "mor_2314";
+    private static final String PASSWORD = "83r5^_";
+
+    private final String baseUrl;
+    private final int sessions;
+    private final long durationMillis;
+    private final double listRatio;
+    private final long tokenValidityMillis;
+    private final int productCount;
+
+    LoadDriver(String baseUrl, int sessions, long durationMillis, double listRatio,
+               long tokenValidityMillis, int productCount) {
+        this.baseUrl = baseUrl;
+        this.sessions = sessions;
+        this.durationMillis = durationMillis;
+        this.listRatio = listRatio;
+        this.tokenValidityMillis = tokenValidityMillis;
+        this.productCount = productCount;
+    }
+
+    Report run() throws Exception {
+        Gson gson = NetworkModule.createGson();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(64, sessions));
+        dispatcher.setMaxRequestsPerHost(Math.max(64, sessions));
+        OkHttpClient rootClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(sessions, 5, TimeUnit.MINUTES))
+                .build();
+        File storeDir = Files.createTempDirectory("load-test-store").toFile();
+
+        List<Session> running = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            running.add(new Session(rootClient, gson, new File(storeDir, "products-" + i + ".bin")));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            Session session = running.get(i);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    session.run(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "load-session-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        Report report = new Report(sessions, elapsedNanos);
+        for (Session session : running) {
+            report.login.addAll(session.login);
+            report.list.addAll(session.list);
+            report.detail.addAll(session.detail);
+        }
+
+        rootClient.dispatcher().executorService().shutdown();
+        rootClient.connectionPool().evictAll();
+        File[] files = storeDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        storeDir.delete();
+        return report;
+    }
+
+    /**
+     * One simulated user with its own token and repository
+     */
+    private class Session {
+        final LatencySamples login = new LatencySamples();
+        final LatencySamples list = new LatencySamples();
+        final LatencySamples detail = new LatencySamples();
+        private final AuthManager authManager;
+        private final TokenRefreshHandlerImpl refreshHandler;
+        private final ProductRepository repository;
+
+        Session(OkHttpClient rootClient, Gson gson, File storeFile) {
+            authManager = new AuthManager(new FakeSharedPreferences(), tokenValidityMillis);
+            AuthApiService authApi = retrofit(rootClient, gson).create(AuthApiService.class);
+            refreshHandler = new TokenRefreshHandlerImpl(authManager, authApi, Logger.NONE);
+
+            // Same interceptor order as RetrofitClient, without logging
+            OkHttpClient client = rootClient.newBuilder()
+                    .addInterceptor(new AuthInterceptor(authManager, refreshHandler, Logger.NONE))
+                    .authenticator(new TokenAuthenticator(authManager, refreshHandler, Logger.NONE))
+                    .build();
+            ProductApiService productApi = retrofit(client, gson).create(ProductApiService.class);
+            repository = new ProductRepository(productApi, new ProductDiskStore(storeFile, Logger.NONE), 60_000, 8, Logger.NONE);
+        }
+
+        void run(long deadlineNanos) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadlineNanos) {
+                if (!authManager.isLoggedIn()) {
+                    // A failed refresh clears credentials too, so log in again from scratch
+                    authManager.saveCredentials(USERNAME, PASSWORD);
+                    long start = System.nanoTime();
+                    if (refreshHandler.refreshToken()) {
+                        login.record(System.nanoTime() - start);
+                    } else {
+                        login.recordError();
+                    }
+                    continue;
+                }
+                long start = System.nanoTime();
+                if (random.nextDouble() < listRatio) {
+                    boolean success = repository.getProducts().isSuccess();
+                    record(list, start, success);
+                } else {
+                    boolean success = repository.getProduct(1 + random.nextInt(productCount)).isSuccess();
+                    record(detail, start, success);
+                }
+            }
+        }
+
+        private void record(LatencySamples samples, long startNanos, boolean success) {
+            if (success) {
+                samples.record(System.nanoTime() - startNanos);
+            } else {
+                samples.recordError();
+            }
+        }
+    }
+
+    private Retrofit retrofit(OkHttpClient client, Gson gson) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(JsonStreamConverterFactory.create(gson))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
+    }
+
+    /**
+     * Aggregated run results
+     */
+    static class Report {
+        final LatencySamples login = new LatencySamples();
+        final LatencySamples list = new LatencySamples();
+        final LatencySamples detail = new LatencySamples();
+        final int sessions;
+        final long elapsedNanos;
+
+        Report(int sessions, long elapsedNanos) {
+            this.sessions = sessions;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void print() {
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf(Locale.US, "%d sessions, %.1f s%n", sessions, seconds);
+            System.out.printf(Locale.US, "%-8s %8s %7s %10s %9s %9s %9s%n",
+                    "op", "ok", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms");
+            printRow("login", login, seconds);
+            printRow("list", list, seconds);
+            printRow("detail", detail, seconds);
+        }
+
+        private static void printRow(String name, LatencySamples samples, double seconds) {
+            System.out.printf(Locale.US, "%-8s %8d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    name, samples.count(), samples.errors(), samples.count() / seconds,
+                    samples.percentileMillis(50), samples.percentileMillis(95), samples.percentileMillis(99));
+        }
+
+        void writeJson(File file) throws IOException {
+            double seconds = elapsedNanos / 1e9;
+            try (Writer writer = new FileWriter(file)) {
+                writer.write(String.format(Locale.US, "{\"sessions\":%d,\"seconds\":%.3f,\"operations\":{", sessions, seconds));
+                writer.write(jsonRow("login", login, seconds) + ",");
+                writer.write(jsonRow("list", list, seconds) + ",");
+                writer.write(jsonRow("detail", detail, seconds));
+                writer.write("}}\n");
+            }
+        }
+
+        private static String jsonRow(String name, LatencySamples samples, double seconds) {
+            return String.format(Locale.US,
+                    "\"%s\":{\"ok\":%d,\"errors\":%d,\"opsPerSecond\":%.2f,\"p50Ms\":%.3f,\"p95Ms\":%.3f,\"p99Ms\":%.3f}",
+                    name, samples.count(), samples.errors(), samples.count() / seconds,
+                    samples.percentileMillis(50), samples.percentileMillis(95), samples.percentileMillis(99));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        int productCount = options.getInt("products", 20);
+        String baseUrl = options.getString("base-url", null);
+        FakeStoreServer server = null;
+        if (baseUrl == null) {
+            server = new FakeStoreServer(new FakeStoreServer.Config()
+                    .latencyMillis(options.getLong("latency", 20))
+                    .errorRate(options.getDouble("error-rate", 0.01))
+                    .productCount(productCount));
+            server.start(0);
+            baseUrl = server.url().toString();
+        }
+        try {
+            Report report = new LoadDriver(baseUrl,
+                    options.getInt("sessions", 16),
+                    TimeUnit.SECONDS.toMillis(options.getLong("duration", 30)),
+                    options.getDouble("list-ratio", 0.2),
+                    options.getLong("token-validity", 30_000),
+                    productCount).run();
+            report.print();
+            String out = options.getString("out", null);
+            if (out != null) {
+                File file = new File(out);
+                File parent = file.getAbsoluteFile().getParentFile();
+                if (parent != null) {
+                    parent.mkdirs();
+                }
+                report.writeJson(file);
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mustafa.androidtesttaskjava.benchmark.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal "--name value" command line parser for the load-test entry points
+ */
+class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+    }
+
+    String getString(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mustafa.androidtesttaskjava.benchmark.support;
+
+import com.mustafa.androidtesttaskjava.core.di.module.NetworkModule;
+import com.mustafa.androidtesttaskjava.feature.products.data.model.Product;
+import com.mustafa.androidtesttaskjava.testutil.FakeProductApiService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Deterministic product catalogs (on top of FakeProductApiService.generateProducts from the
+ * app's test utilities) and a MockWebServer dispatcher serving them
+ */
+public final class ProductFixtures {
+
+    private ProductFixtures() {
+    }
+
+    /**
+     * Products with titles and descriptions drawn from a fixed vocabulary with a skewed
+     * (Zipf-like) word distribution, for search benchmarks
+     */
+    public static List<Product> generateSearchableProducts(int count) {
+        String[] common = {"cotton", "jacket", "slim", "fit", "waterproof", "backpack", "laptop", "gold",
+                "silver", "ring", "women", "men", "casual", "shirt", "solid", "state", "drive", "monitor",
+                "bracelet", "rain", "winter", "short", "sleeve", "boat", "neck", "wireless", "portable"};
+        Random random = new Random(42);
+        String[] vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = i < common.length ? common[i] : randomWord(random);
+        }
+        List<Product> products = FakeProductApiService.generateProducts(count);
+        for (Product product : products) {
+            product.setTitle(randomText(random, vocabulary, 5));
+            product.setDescription(randomText(random, vocabulary, 25));
+        }
+        return products;
+    }
+
+    private static String randomText(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double u = random.nextDouble();
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[(int) (vocabulary.length * u * u * u)]);
+        }
+        return text.toString();
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    public static String productsJson(int count) {
+        return NetworkModule.createGson().toJson(FakeProductApiService.generateProducts(count));
+    }
+
+    /**
+     * Serves /products with count generated products and /products/{id} with a single product
+     */
+    public static Dispatcher productsDispatcher(int count) {
+        byte[] list = productsJson(count).getBytes(StandardCharsets.UTF_8);
+        String single = NetworkModule.createGson().toJson(FakeProductApiService.generateProducts(1).get(0));
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if ("/products".equals(path)) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody(new Buffer().write(list));
+                }
+                if (path != null && path.startsWith("/products/")) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody(single);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        };
+    }
+}
@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "Android(Test Task Java"
 include(":app")
+include(":benchmark")